@@ -0,0 +1,154 @@
+package io.github.biologyiswell.scaler.attach;
+
+import com.sun.tools.attach.AgentInitializationException;
+import com.sun.tools.attach.AgentLoadException;
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+import io.github.biologyiswell.scaler.ScalerAgent;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * This class represents the command line tool that calculates the deep size from a static root of a running virtual
+ * machine, without a heap dump. The tool attaches the Scaler jar as agent to the virtual machine by the process id, the
+ * agent calculates the root in a thread of low priority with a limit of bytes and a timeout, and the tool prints the
+ * report from the agent.
+ *
+ * <pre>
+ * java -cp scaler.jar:scaler-attach.jar io.github.biologyiswell.scaler.attach.ScalerAttach 1234 com.acme.Cache#INSTANCE
+ * </pre>
+ *
+ * @author biologyiswell (19/10/2026 08:10)
+ * @since 1.3
+ */
+public final class ScalerAttach {
+
+    /**
+     * The time that the tool waits for the report more than the timeout from the calculation, because the breakdown
+     * is calculated after the deep size. The agent do not writes the report after a shorter margin, then the report is
+     * never written after the tool gives up.
+     * @since 1.3
+     */
+    private static final long REPORT_MARGIN_MILLIS = 30_000;
+
+    // non-instantiate.
+    private ScalerAttach() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ScalerAttach <pid> <class#field[.field...]> [--limit <bytes>] [--timeout <seconds>] [--agent <scaler.jar>]");
+            System.exit(2);
+            return;
+        }
+        final String pid = args[0];
+        final String root = args[1];
+        long limit = Long.MAX_VALUE;
+        long timeout = 10;
+        Path agent = null;
+        for (int i = 2; i < args.length; i++) {
+            final String option = args[i];
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Option (" + option + ") requires a value.");
+            }
+            final String value = args[++i];
+            switch (option) {
+                case "--limit": limit = Long.parseLong(value);
+                    break;
+                case "--timeout": timeout = Long.parseLong(value);
+                    break;
+                case "--agent": agent = Paths.get(value);
+                    break;
+                default: throw new IllegalArgumentException("Option (" + option + ") is not supported.");
+            }
+        }
+        System.out.print(attach(pid, root, limit, Duration.ofSeconds(timeout), agent == null ? agentJar() : agent));
+    }
+
+    /**
+     * This method attaches the agent to the virtual machine and waits for the report from the root.
+     *
+     * @param pid the process id from the virtual machine.
+     * @param root the root, like "com.acme.Cache#INSTANCE".
+     * @param limitBytes the maximum size that is calculated.
+     * @param timeout the maximum time from the calculation.
+     * @param agent the Scaler jar, that is loaded as agent.
+     * @return the report from the agent.
+     * @throws IOException when the agent can not be attached or the report has not been written.
+     * @throws InterruptedException when the thread is interrupted while waits for the report.
+     * @since 1.3
+     */
+    public static String attach(final String pid, final String root, final long limitBytes, final Duration timeout,
+                                final Path agent) throws IOException, InterruptedException {
+        final Path output = Files.createTempFile("scaler-attach-", ".txt");
+        // @Note The agent writes the report to the file, then the file must not exists while the report is calculated.
+        Files.delete(output);
+        try {
+            final VirtualMachine machine = VirtualMachine.attach(pid);
+            try {
+                machine.loadAgent(agent.toAbsolutePath().toString(), ScalerAgent.arguments(root, limitBytes, timeout, output));
+            } finally {
+                machine.detach();
+            }
+        } catch (AttachNotSupportedException | AgentLoadException | AgentInitializationException e) {
+            throw new IOException("The agent (" + agent + ") can not be attached to the process (" + pid + ").", e);
+        }
+        final long deadline = System.nanoTime() + wait(timeout);
+        final Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+        while (!Files.exists(output)) {
+            if (System.nanoTime() - deadline > 0) {
+                // @Note The agent do not writes the report after the wait, and the files from a write that has been
+                // started before the wait are deleted.
+                Files.deleteIfExists(temporary);
+                Files.deleteIfExists(output);
+                throw new IOException("The report from the process (" + pid + ") has not been written to (" + output + ").");
+            }
+            Thread.sleep(100);
+        }
+        try {
+            return new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * This method calculates the time that the tool waits for the report, the time that overflows a long is saturated
+     * to "Long.MAX_VALUE", like the timeout from the Scaler.
+     *
+     * @param timeout the maximum time from the calculation.
+     * @return the time in nanoseconds.
+     * @since 1.3
+     */
+    private static long wait(final Duration timeout) {
+        final long margin = REPORT_MARGIN_MILLIS * 1_000_000;
+        try {
+            final long nanos = timeout.toNanos();
+            return nanos > Long.MAX_VALUE - margin ? Long.MAX_VALUE : Math.max(nanos, 0) + margin;
+        } catch (ArithmeticException e) {
+            return timeout.isNegative() ? margin : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return the jar that contains the agent from the Scaler.
+     * @since 1.3
+     */
+    private static Path agentJar() {
+        try {
+            final Path jar = Paths.get(ScalerAgent.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isRegularFile(jar)) {
+                return jar;
+            }
+        } catch (URISyntaxException | RuntimeException e) {
+            // @Note The location from the classes is not a jar, then the jar must be given by the option "--agent".
+        }
+        throw new IllegalStateException("The Scaler jar has not been found, use the option \"--agent\".");
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.biologyiswell.scaler.benchmark;
+
+import io.github.biologyiswell.scaler.Scaler;
+import io.github.biologyiswell.scaler.SizeEstimate;
+import io.github.biologyiswell.scaler.SizingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the benchmark from the calculations of the lists and the maps, from one thousand to ten millions
+ * of elements. Each calculation is measured with each engine, and the largest collections requires a great heap, then
+ * the forks are started with four gigabytes of heap.
+ *
+ * @author biologyiswell (18/10/2026 22:10)
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CollectionBenchmark {
+
+    @Param({"REFLECTION", "METHOD_HANDLE"})
+    public SizingEngine engine;
+
+    @Param({"list", "map"})
+    public String collection;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private Object object;
+
+    @Setup
+    public void setup() {
+        Scaler.engine(this.engine);
+        if ("list".equals(this.collection)) {
+            final List<Integer> list = new ArrayList<>(this.size);
+            for (int i = 0; i < this.size; i++) {
+                list.add(i);
+            }
+            this.object = list;
+        } else if ("map".equals(this.collection)) {
+            final Map<Integer, Integer> map = new HashMap<>();
+            for (int i = 0; i < this.size; i++) {
+                map.put(i, i);
+            }
+            this.object = map;
+        } else {
+            throw new IllegalArgumentException("Collection (" + this.collection + ") has not found.");
+        }
+    }
+
+    @Benchmark
+    public int sizeof() {
+        return Scaler.sizeof(this.object);
+    }
+
+    @Benchmark
+    public long deepSizeof() {
+        return Scaler.deepSizeof(this.object);
+    }
+
+    @Benchmark
+    public long deepSizeofParallel() {
+        return Scaler.deepSizeofParallel(this.object);
+    }
+
+    @Benchmark
+    public SizeEstimate estimate() {
+        return Scaler.estimate(this.object);
+    }
+}
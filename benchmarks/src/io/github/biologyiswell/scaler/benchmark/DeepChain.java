@@ -0,0 +1,33 @@
+package io.github.biologyiswell.scaler.benchmark;
+
+/**
+ * This class represents a node from a deep chain, that each node references the next node.
+ *
+ * @author biologyiswell (18/10/2026 22:10)
+ * @since 1.3
+ */
+public class DeepChain {
+
+    private final int index;
+    private final DeepChain next;
+
+    private DeepChain(final int index, final DeepChain next) {
+        this.index = index;
+        this.next = next;
+    }
+
+    /**
+     * This method creates a chain with the quantity of nodes.
+     *
+     * @param length the quantity of nodes.
+     * @return the first node from the chain.
+     * @since 1.3
+     */
+    public static DeepChain of(final int length) {
+        DeepChain chain = null;
+        for (int i = length - 1; i >= 0; i--) {
+            chain = new DeepChain(i, chain);
+        }
+        return chain;
+    }
+}
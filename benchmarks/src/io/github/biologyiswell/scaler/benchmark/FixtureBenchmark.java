@@ -0,0 +1,86 @@
+package io.github.biologyiswell.scaler.benchmark;
+
+import io.github.biologyiswell.scaler.Scaler;
+import io.github.biologyiswell.scaler.SizingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.io.github.biologyiswell.scaler.component.ArrayVariable;
+import test.io.github.biologyiswell.scaler.component.DataTypeVariable;
+import test.io.github.biologyiswell.scaler.component.Engineer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the benchmark from the calculations of the objects, that are the fixtures from the prototypes,
+ * the engineer with the generated sizer, a wide object and a deep chain. Each calculation is measured with each engine.
+ *
+ * @author biologyiswell (18/10/2026 22:10)
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureBenchmark {
+
+    @Param({"REFLECTION", "METHOD_HANDLE"})
+    public SizingEngine engine;
+
+    @Param({"engineer", "sizedEngineer", "dataTypeVariable", "arrayVariable", "wide", "deep"})
+    public String fixture;
+
+    /**
+     * The quantity of nodes from the deep chain.
+     * @since 1.3
+     */
+    @Param("1000")
+    public int depth;
+
+    private Object object;
+
+    @Setup
+    public void setup() {
+        Scaler.engine(this.engine);
+        switch (this.fixture) {
+            case "engineer": this.object = Engineer.builder().name("Foo").age(20).city("Sao Paulo").phone("000 0001").address("St. View 1").build();
+                break;
+            case "sizedEngineer": this.object = new SizedEngineer("Foo", 20, "Sao Paulo", "000 0001", "St. View 1");
+                break;
+            case "dataTypeVariable": this.object = new DataTypeVariable();
+                break;
+            case "arrayVariable": this.object = new ArrayVariable();
+                break;
+            case "wide": this.object = new WideObject();
+                break;
+            case "deep": this.object = DeepChain.of(this.depth);
+                break;
+            default: throw new IllegalArgumentException("Fixture (" + this.fixture + ") has not found.");
+        }
+    }
+
+    @Benchmark
+    public int sizeof() {
+        return Scaler.sizeof(this.object);
+    }
+
+    @Benchmark
+    public long deepSizeof() {
+        return Scaler.deepSizeof(this.object);
+    }
+
+    @Benchmark
+    public int sizeofClass() {
+        return Scaler.sizeofClass(this.object.getClass());
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.biologyiswell.scaler.benchmark;
+
+import io.github.biologyiswell.scaler.Sized;
+
+/**
+ * This class represents the engineer from the prototypes with the sizer that is generated by the annotation processor,
+ * the fields are read by the accessors, that returns the fields itself, then the fields can be private.
+ *
+ * @author biologyiswell (18/10/2026 23:40)
+ * @since 1.3
+ */
+@Sized(accessors = true)
+public class SizedEngineer {
+
+    private final String name;
+    private final int age;
+
+    private final String city;
+    private final String phone;
+    private final String address;
+
+    public SizedEngineer(final String name, final int age, final String city, final String phone, final String address) {
+        this.name = name;
+        this.age = age;
+        this.city = city;
+        this.phone = phone;
+        this.address = address;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getAge() {
+        return this.age;
+    }
+
+    public String getCity() {
+        return this.city;
+    }
+
+    public String getPhone() {
+        return this.phone;
+    }
+
+    public String getAddress() {
+        return this.address;
+    }
+}
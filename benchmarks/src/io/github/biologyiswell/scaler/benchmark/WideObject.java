@@ -0,0 +1,77 @@
+package io.github.biologyiswell.scaler.benchmark;
+
+/**
+ * This class represents a wide object, that contains many fields from each kind and do not contains nested objects
+ * besides the strings and the plain objects.
+ *
+ * @author biologyiswell (18/10/2026 22:10)
+ * @since 1.3
+ */
+@SuppressWarnings("unused")
+public class WideObject {
+
+    private long longValue0 = 0;
+    private long longValue1 = 1;
+    private long longValue2 = 2;
+    private long longValue3 = 3;
+    private long longValue4 = 4;
+    private long longValue5 = 5;
+    private long longValue6 = 6;
+    private long longValue7 = 7;
+    private long longValue8 = 8;
+    private long longValue9 = 9;
+    private long longValue10 = 10;
+    private long longValue11 = 11;
+    private long longValue12 = 12;
+    private long longValue13 = 13;
+    private long longValue14 = 14;
+    private long longValue15 = 15;
+    private int intValue0 = 0;
+    private int intValue1 = 1;
+    private int intValue2 = 2;
+    private int intValue3 = 3;
+    private int intValue4 = 4;
+    private int intValue5 = 5;
+    private int intValue6 = 6;
+    private int intValue7 = 7;
+    private int intValue8 = 8;
+    private int intValue9 = 9;
+    private int intValue10 = 10;
+    private int intValue11 = 11;
+    private int intValue12 = 12;
+    private int intValue13 = 13;
+    private int intValue14 = 14;
+    private int intValue15 = 15;
+    private String stringValue0 = "value-0";
+    private String stringValue1 = "value-1";
+    private String stringValue2 = "value-2";
+    private String stringValue3 = "value-3";
+    private String stringValue4 = "value-4";
+    private String stringValue5 = "value-5";
+    private String stringValue6 = "value-6";
+    private String stringValue7 = "value-7";
+    private String stringValue8 = "value-8";
+    private String stringValue9 = "value-9";
+    private String stringValue10 = "value-10";
+    private String stringValue11 = "value-11";
+    private String stringValue12 = "value-12";
+    private String stringValue13 = "value-13";
+    private String stringValue14 = "value-14";
+    private String stringValue15 = "value-15";
+    private Object objectValue0 = new Object();
+    private Object objectValue1 = new Object();
+    private Object objectValue2 = new Object();
+    private Object objectValue3 = new Object();
+    private Object objectValue4 = new Object();
+    private Object objectValue5 = new Object();
+    private Object objectValue6 = new Object();
+    private Object objectValue7 = new Object();
+    private Object objectValue8 = new Object();
+    private Object objectValue9 = new Object();
+    private Object objectValue10 = new Object();
+    private Object objectValue11 = new Object();
+    private Object objectValue12 = new Object();
+    private Object objectValue13 = new Object();
+    private Object objectValue14 = new Object();
+    private Object objectValue15 = new Object();
+}
@@ -0,0 +1,869 @@
+package io.github.biologyiswell.scaler.hprof;
+
+import io.github.biologyiswell.scaler.VmLayout;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class represents a heap dump in the HPROF format, like the dumps from the "jmap" and from the
+ * "HotSpotDiagnosticMXBean#dumpHeap". The file is mapped in the memory and the records are streamed from the file,
+ * then the object graph is not built in the heap: only the classes, the GC roots and the positions from the strings
+ * are kept, and the index from the objects is built only when the retained sizes are calculated.
+ *
+ * <p>The shallow sizes are calculated by the same model from the Scaler, that is the layout from the virtual machine,
+ * then the sizes are the sizes that the objects occupies in the virtual machine with the layout, and not the sizes from
+ * the records. The layout from the current virtual machine is used by default, and must be equals the layout from the
+ * virtual machine that has written the dump, like the compressed references.
+ *
+ * @author biologyiswell (19/10/2026 07:00)
+ * @since 1.3
+ */
+public final class HeapDump implements AutoCloseable {
+
+    /**
+     * The tags from the records.
+     * @since 1.3
+     */
+    private static final int UTF8 = 0x01;
+    private static final int LOAD_CLASS = 0x02;
+    private static final int HEAP_DUMP = 0x0C;
+    private static final int HEAP_DUMP_SEGMENT = 0x1C;
+
+    /**
+     * The tags from the sub-records of the heap dump.
+     * @since 1.3
+     */
+    private static final int ROOT_UNKNOWN = 0xFF;
+    private static final int ROOT_JNI_GLOBAL = 0x01;
+    private static final int ROOT_JNI_LOCAL = 0x02;
+    private static final int ROOT_JAVA_FRAME = 0x03;
+    private static final int ROOT_NATIVE_STACK = 0x04;
+    private static final int ROOT_STICKY_CLASS = 0x05;
+    private static final int ROOT_THREAD_BLOCK = 0x06;
+    private static final int ROOT_MONITOR_USED = 0x07;
+    private static final int ROOT_THREAD_OBJECT = 0x08;
+    private static final int CLASS_DUMP = 0x20;
+    private static final int INSTANCE_DUMP = 0x21;
+    private static final int OBJECT_ARRAY_DUMP = 0x22;
+    private static final int PRIMITIVE_ARRAY_DUMP = 0x23;
+
+    /**
+     * The basic type from the references, the other basic types are the primitive types.
+     * @since 1.3
+     */
+    private static final int OBJECT = 2;
+
+    /**
+     * The sizes and the names from the primitive basic types, indexed by the basic type.
+     * @since 1.3
+     */
+    private static final int[] PRIMITIVE_SIZES = {0, 0, 0, 0, 1, 2, 4, 8, 1, 2, 4, 8};
+    private static final String[] PRIMITIVE_NAMES = {null, null, null, null, "boolean", "char", "float", "double",
+            "byte", "short", "int", "long"};
+
+    private final HprofBuffer buffer;
+    private final VmLayout layout;
+
+    /**
+     * The position from the first record, after the header.
+     * @since 1.3
+     */
+    private final long records;
+
+    /**
+     * The positions from the string records, keyed by the identifier of the string.
+     * @since 1.3
+     */
+    private final LongMap strings = new LongMap(1 << 12);
+
+    /**
+     * The identifiers from the names of the classes, keyed by the identifier of the class.
+     * @since 1.3
+     */
+    private final LongMap classNames = new LongMap(1 << 10);
+
+    /**
+     * The indexes from the classes, keyed by the identifier of the class. The primitive arrays are keyed by the basic
+     * type from the elements, because the primitive arrays do not refers a class.
+     * @since 1.3
+     */
+    private final LongMap classIndexes = new LongMap(1 << 10);
+    private final List<ClassInfo> classes = new ArrayList<>();
+
+    private long[] roots = new long[64];
+    private int rootCount;
+
+    /**
+     * The positions from the objects, keyed by the identifier of the object, or null when the index has not been built.
+     * @since 1.3
+     */
+    private LongMap objects;
+    private long objectCount;
+
+    private HeapDump(final HprofBuffer buffer, final VmLayout layout) {
+        this.buffer = buffer;
+        this.layout = layout;
+        this.records = this.readHeader();
+        this.scan(false);
+    }
+
+    /**
+     * This method opens the heap dump with the layout from the current virtual machine, and calculates the histogram
+     * from the classes.
+     *
+     * @param path the path from the dump.
+     * @return the heap dump.
+     * @throws IOException when the file can not be read or is not a heap dump.
+     * @since 1.3
+     */
+    public static HeapDump open(final Path path) throws IOException {
+        return open(path, VmLayout.current());
+    }
+
+    /**
+     * This method opens the heap dump, and calculates the histogram from the classes.
+     *
+     * @param path the path from the dump.
+     * @param layout the layout from the virtual machine that has written the dump.
+     * @return the heap dump.
+     * @throws IOException when the file can not be read or is not a heap dump.
+     * @since 1.3
+     */
+    public static HeapDump open(final Path path, final VmLayout layout) throws IOException {
+        if (path == null) {
+            throw new NullPointerException("path");
+        }
+        if (layout == null) {
+            throw new NullPointerException("layout");
+        }
+        final HprofBuffer buffer = new HprofBuffer(path);
+        try {
+            return new HeapDump(buffer, layout);
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            buffer.close();
+            throw new IOException("The file (" + path + ") is not a valid heap dump.", e);
+        }
+    }
+
+    /**
+     * @return the quantity of objects from the dump, including the arrays.
+     * @since 1.3
+     */
+    public long objects() {
+        return this.objectCount;
+    }
+
+    /**
+     * @return the sum from the shallow sizes of the all objects.
+     * @since 1.3
+     */
+    public long shallowBytes() {
+        long bytes = 0;
+        for (final ClassInfo info : this.classes) {
+            bytes += this.shallowBytes(info);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the classes that contains instances, ordered by the shallow size.
+     * @since 1.3
+     */
+    public List<ClassSize> histogram() {
+        final List<ClassSize> histogram = new ArrayList<>();
+        for (final ClassInfo info : this.classes) {
+            if (info.instances > 0) {
+                histogram.add(new ClassSize(this.name(info), info.instances, this.shallowBytes(info)));
+            }
+        }
+        histogram.sort(Comparator.comparingLong(ClassSize::shallowBytes).reversed());
+        return Collections.unmodifiableList(histogram);
+    }
+
+    /**
+     * This method finds the identifiers from the instances of the class, the instances from the subclasses are not
+     * included. The index from the objects is built by the first call.
+     *
+     * @param className the name from the class, like "java.util.HashMap" or "java.lang.String[]".
+     * @return the identifiers from the instances.
+     * @since 1.3
+     */
+    public long[] instancesOf(final String className) {
+        if (className == null) {
+            throw new NullPointerException("className");
+        }
+        final LongMap objects = this.index();
+        long[] instances = new long[16];
+        int count = 0;
+        for (int slot = 0; slot < objects.capacity(); slot++) {
+            if (objects.keyAt(slot) == 0) {
+                continue;
+            }
+            final ClassInfo info = this.classOf(objects.valueAt(slot));
+            if (info != null && className.equals(this.name(info))) {
+                if (count == instances.length) {
+                    final long[] grown = new long[count << 1];
+                    System.arraycopy(instances, 0, grown, 0, count);
+                    instances = grown;
+                }
+                instances[count++] = objects.keyAt(slot);
+            }
+        }
+        final long[] trimmed = new long[count];
+        System.arraycopy(instances, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * This method calculates the retained size from the object, that is the sum from the shallow sizes of the objects
+     * that are reachable from the object and that are not reachable from the GC roots without pass by the object, then
+     * the objects that are released when the object is collected. The static fields from the all classes are
+     * considered GC roots. The index from the objects is built by the first call.
+     *
+     * @param objectId the identifier from the object.
+     * @return the retained size from the object.
+     * @since 1.3
+     */
+    public long retainedSize(final long objectId) {
+        final LongMap objects = this.index();
+        final int root = objects.slot(objectId);
+        if (root < 0) {
+            throw new IllegalArgumentException("Object (0x" + Long.toHexString(objectId) + ") has not been found in the dump.");
+        }
+        // @Note The objects that are reachable from the GC roots are marked without pass by the object, then the
+        // objects that are reachable from the object and has not been marked are retained by the object.
+        final long[] reachable = new long[(objects.capacity() + 63) >>> 6];
+        mark(reachable, root);
+        final SlotStack stack = new SlotStack();
+        for (int i = 0; i < this.rootCount; i++) {
+            this.push(stack, reachable, this.roots[i]);
+        }
+        for (final ClassInfo info : this.classes) {
+            for (final long reference : info.staticReferences) {
+                this.push(stack, reachable, reference);
+            }
+        }
+        this.drain(stack, reachable, null);
+        final long[] retained = new long[reachable.length];
+        mark(retained, root);
+        stack.push(root);
+        return this.drain(stack, retained, reachable);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.buffer.close();
+    }
+
+    @Override
+    public String toString() {
+        return "HeapDump{objects=" + this.objectCount + ", classes=" + this.classes.size() + ", roots=" + this.rootCount + "}";
+    }
+
+    /**
+     * This method prints the histogram from a heap dump, like: java -cp ... io.github.biologyiswell.scaler.hprof.HeapDump
+     * heap.hprof 50.
+     *
+     * @param args the path from the dump, and the quantity of classes that are printed.
+     * @throws IOException when the dump can not be read.
+     * @since 1.3
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: HeapDump <file.hprof> [classes]");
+            return;
+        }
+        final int limit = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        try (HeapDump dump = open(Paths.get(args[0]))) {
+            final List<ClassSize> histogram = dump.histogram();
+            System.out.println(String.format("%,d bytes in %,d objects", dump.shallowBytes(), dump.objects()));
+            System.out.println(String.format("%12s %14s  %s", "instances", "shallow", "class"));
+            for (final ClassSize klass : histogram.subList(0, Math.min(limit, histogram.size()))) {
+                System.out.println(String.format("%12d %14d  %s", klass.instances, klass.shallowBytes, klass.name));
+            }
+        }
+    }
+
+    /**
+     * This method reads the header from the dump, that contains the format name, the size from the identifiers and the
+     * time from the dump.
+     *
+     * @return the position from the first record.
+     * @since 1.3
+     */
+    private long readHeader() {
+        long position = 0;
+        while (this.buffer.u1(position) != 0) {
+            position++;
+        }
+        final String format = this.buffer.string(0, (int) position);
+        if (!format.startsWith("JAVA PROFILE")) {
+            throw new IllegalStateException("Format (" + format + ") is not the HPROF format.");
+        }
+        final int idSize = this.buffer.u4(position + 1);
+        if (idSize != 4 && idSize != 8) {
+            throw new IllegalStateException("Identifier size (" + idSize + ") is not supported.");
+        }
+        this.buffer.idSize(idSize);
+        // @Note The header ends with the time from the dump in 8 bytes.
+        return position + 1 + 4 + 8;
+    }
+
+    /**
+     * This method streams the records from the dump. The first scan reads the strings, the classes, the GC roots and
+     * counts the objects, and the scan to index stores the position from each object.
+     *
+     * @param index true to build the index from the objects.
+     * @since 1.3
+     */
+    private void scan(final boolean index) {
+        long position = this.records;
+        final long size = this.buffer.size();
+        while (position < size) {
+            final int tag = this.buffer.u1(position);
+            final long length = this.buffer.u4(position + 5) & 0xFFFFFFFFL;
+            final long body = position + 9;
+            if (tag == HEAP_DUMP || tag == HEAP_DUMP_SEGMENT) {
+                this.scanHeap(body, body + length, index);
+            } else if (!index && tag == UTF8) {
+                this.strings.put(this.buffer.id(body), position);
+            } else if (!index && tag == LOAD_CLASS) {
+                final int id = this.buffer.idSize();
+                this.classNames.put(this.buffer.id(body + 4), this.buffer.id(body + 8 + id));
+            }
+            position = body + length;
+        }
+    }
+
+    private void scanHeap(long position, final long end, final boolean index) {
+        final int id = this.buffer.idSize();
+        while (position < end) {
+            final long record = position;
+            final int tag = this.buffer.u1(position++);
+            switch (tag) {
+                case ROOT_UNKNOWN:
+                case ROOT_STICKY_CLASS:
+                case ROOT_MONITOR_USED:
+                    this.root(index, position);
+                    position += id;
+                    break;
+                case ROOT_JNI_GLOBAL:
+                    this.root(index, position);
+                    position += id + id;
+                    break;
+                case ROOT_NATIVE_STACK:
+                case ROOT_THREAD_BLOCK:
+                    this.root(index, position);
+                    position += id + 4;
+                    break;
+                case ROOT_JNI_LOCAL:
+                case ROOT_JAVA_FRAME:
+                case ROOT_THREAD_OBJECT:
+                    this.root(index, position);
+                    position += id + 8;
+                    break;
+                case CLASS_DUMP:
+                    position = index ? this.skipClass(position) : this.readClass(position);
+                    break;
+                case INSTANCE_DUMP: {
+                    final long length = this.buffer.u4(position + id + 4 + id) & 0xFFFFFFFFL;
+                    if (index) {
+                        this.objects.put(this.buffer.id(position), record);
+                    } else {
+                        this.classInfo(this.buffer.id(position + id + 4), 0).instances++;
+                        this.objectCount++;
+                    }
+                    position += id + 4 + id + 4 + length;
+                    break;
+                }
+                case OBJECT_ARRAY_DUMP: {
+                    final int length = this.buffer.u4(position + id + 4);
+                    if (index) {
+                        this.objects.put(this.buffer.id(position), record);
+                    } else {
+                        final ClassInfo info = this.classInfo(this.buffer.id(position + id + 8), 0);
+                        info.instances++;
+                        info.arrayBytes += this.layout.arraySize(this.layout.referenceBytes(), length);
+                        this.objectCount++;
+                    }
+                    position += id + 4 + 4 + id + (long) length * id;
+                    break;
+                }
+                case PRIMITIVE_ARRAY_DUMP: {
+                    final int length = this.buffer.u4(position + id + 4);
+                    final int type = this.buffer.u1(position + id + 8);
+                    if (index) {
+                        this.objects.put(this.buffer.id(position), record);
+                    } else {
+                        final ClassInfo info = this.classInfo(type, type);
+                        info.instances++;
+                        info.arrayBytes += this.layout.arraySize(primitiveSize(type), length);
+                        this.objectCount++;
+                    }
+                    position += id + 4 + 4 + 1 + (long) length * primitiveSize(type);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Sub-record (0x" + Integer.toHexString(tag) + ") at position ("
+                            + record + ") is not supported.");
+            }
+        }
+    }
+
+    private void root(final boolean index, final long position) {
+        if (index) {
+            return;
+        }
+        if (this.rootCount == this.roots.length) {
+            final long[] roots = new long[this.rootCount << 1];
+            System.arraycopy(this.roots, 0, roots, 0, this.rootCount);
+            this.roots = roots;
+        }
+        this.roots[this.rootCount++] = this.buffer.id(position);
+    }
+
+    /**
+     * This method reads the class dump, that contains the superclass, the static fields and the instance fields from
+     * the class.
+     *
+     * @param position the position after the tag.
+     * @return the position after the class dump.
+     * @since 1.3
+     */
+    private long readClass(long position) {
+        final int id = this.buffer.idSize();
+        final ClassInfo info = this.classInfo(this.buffer.id(position), 0);
+        info.superId = this.buffer.id(position + id + 4);
+        // @Note The class, the stack trace, the superclass, the class loader, the signers, the protection domain, two
+        // reserved identifiers and the instance size.
+        position += id + 4 + id * 6L + 4;
+        final int constants = this.buffer.u2(position);
+        position += 2;
+        for (int i = 0; i < constants; i++) {
+            position += 2;
+            final int type = this.buffer.u1(position);
+            position += 1 + this.valueSize(type);
+        }
+        final int statics = this.buffer.u2(position);
+        position += 2;
+        long[] references = new long[statics];
+        int count = 0;
+        for (int i = 0; i < statics; i++) {
+            position += id;
+            final int type = this.buffer.u1(position++);
+            if (type == OBJECT) {
+                final long reference = this.buffer.id(position);
+                if (reference != 0) {
+                    references[count++] = reference;
+                }
+            }
+            position += this.valueSize(type);
+        }
+        if (count != references.length) {
+            final long[] trimmed = new long[count];
+            System.arraycopy(references, 0, trimmed, 0, count);
+            references = trimmed;
+        }
+        info.staticReferences = references;
+        final int fields = this.buffer.u2(position);
+        position += 2;
+        final byte[] types = new byte[fields];
+        for (int i = 0; i < fields; i++) {
+            position += id;
+            types[i] = (byte) this.buffer.u1(position++);
+        }
+        info.fieldTypes = types;
+        return position;
+    }
+
+    private long skipClass(long position) {
+        final int id = this.buffer.idSize();
+        position += id + 4 + id * 6L + 4;
+        final int constants = this.buffer.u2(position);
+        position += 2;
+        for (int i = 0; i < constants; i++) {
+            position += 2 + 1 + this.valueSize(this.buffer.u1(position + 2));
+        }
+        final int statics = this.buffer.u2(position);
+        position += 2;
+        for (int i = 0; i < statics; i++) {
+            position += id + 1 + this.valueSize(this.buffer.u1(position + id));
+        }
+        return position + 2 + (long) this.buffer.u2(position) * (id + 1);
+    }
+
+    /**
+     * This method gets the class from the identifier, the class is created when has not been found.
+     *
+     * @param id the identifier from the class, or the basic type from the primitive arrays.
+     * @param primitiveType the basic type from the primitive arrays, or zero for the classes.
+     * @return the class.
+     * @since 1.3
+     */
+    private ClassInfo classInfo(final long id, final int primitiveType) {
+        final long index = this.classIndexes.get(id, -1);
+        if (index >= 0) {
+            return this.classes.get((int) index);
+        }
+        final ClassInfo info = new ClassInfo(id, primitiveType);
+        this.classIndexes.put(id, this.classes.size());
+        this.classes.add(info);
+        return info;
+    }
+
+    /**
+     * @param record the position from the sub-record of the object.
+     * @return the class from the object, or null when the class has not been dumped.
+     * @since 1.3
+     */
+    private ClassInfo classOf(final long record) {
+        final int id = this.buffer.idSize();
+        final int tag = this.buffer.u1(record);
+        final long key;
+        if (tag == INSTANCE_DUMP) {
+            key = this.buffer.id(record + 1 + id + 4);
+        } else if (tag == OBJECT_ARRAY_DUMP) {
+            key = this.buffer.id(record + 1 + id + 8);
+        } else {
+            key = this.buffer.u1(record + 1 + id + 8);
+        }
+        final long index = this.classIndexes.get(key, -1);
+        return index < 0 ? null : this.classes.get((int) index);
+    }
+
+    private long shallowBytes(final ClassInfo info) {
+        return info.arrayBytes + info.instances * this.instanceSize(info);
+    }
+
+    /**
+     * This method calculates the size from the instances of the class by the layout, from the fields of the class and
+     * from the fields of the superclasses.
+     *
+     * @param info the input class.
+     * @return the size from an instance.
+     * @since 1.3
+     */
+    private long instanceSize(final ClassInfo info) {
+        if (info.instanceSize < 0) {
+            final List<String> hierarchy = new ArrayList<>();
+            for (ClassInfo current = info; current != null; current = this.superclass(current)) {
+                final StringBuilder descriptors = new StringBuilder(current.fieldTypes.length);
+                for (final byte type : current.fieldTypes) {
+                    descriptors.append(descriptor(type));
+                }
+                hierarchy.add(descriptors.toString());
+            }
+            // @Note The layout receives the fields from the topmost superclass first.
+            Collections.reverse(hierarchy);
+            info.instanceSize = this.layout.instanceSize(hierarchy.toArray(new String[0]));
+        }
+        return info.instanceSize;
+    }
+
+    /**
+     * This method gets the offsets from the reference fields in the values of an instance dump, that contains the
+     * fields from the class first and then the fields from the superclasses.
+     *
+     * @param info the input class.
+     * @return the offsets from the references.
+     * @since 1.3
+     */
+    private int[] referenceOffsets(final ClassInfo info) {
+        if (info.referenceOffsets == null) {
+            int[] offsets = new int[8];
+            int count = 0;
+            int offset = 0;
+            for (ClassInfo current = info; current != null; current = this.superclass(current)) {
+                for (final byte type : current.fieldTypes) {
+                    if (type == OBJECT) {
+                        if (count == offsets.length) {
+                            final int[] grown = new int[count << 1];
+                            System.arraycopy(offsets, 0, grown, 0, count);
+                            offsets = grown;
+                        }
+                        offsets[count++] = offset;
+                    }
+                    offset += this.valueSize(type);
+                }
+            }
+            final int[] trimmed = new int[count];
+            System.arraycopy(offsets, 0, trimmed, 0, count);
+            info.referenceOffsets = trimmed;
+        }
+        return info.referenceOffsets;
+    }
+
+    private ClassInfo superclass(final ClassInfo info) {
+        if (info.superId == 0) {
+            return null;
+        }
+        final long index = this.classIndexes.get(info.superId, -1);
+        return index < 0 ? null : this.classes.get((int) index);
+    }
+
+    private String name(final ClassInfo info) {
+        if (info.name == null) {
+            if (info.primitiveType != 0) {
+                info.name = PRIMITIVE_NAMES[info.primitiveType] + "[]";
+            } else {
+                final long record = this.strings.get(this.classNames.get(info.id, 0), -1);
+                if (record < 0) {
+                    info.name = "0x" + Long.toHexString(info.id);
+                } else {
+                    final int id = this.buffer.idSize();
+                    final long length = (this.buffer.u4(record + 5) & 0xFFFFFFFFL) - id;
+                    info.name = javaName(this.buffer.string(record + 9 + id, (int) length));
+                }
+            }
+        }
+        return info.name;
+    }
+
+    /**
+     * This method gets the index from the objects, the index is built by a scan from the dump in the first call.
+     *
+     * @return the positions from the objects.
+     * @since 1.3
+     */
+    private LongMap index() {
+        if (this.objects == null) {
+            this.objects = new LongMap((int) Math.min(this.objectCount, 1 << 29));
+            this.scan(true);
+        }
+        return this.objects;
+    }
+
+    private void push(final SlotStack stack, final long[] marks, final long reference) {
+        final int slot = this.objects.slot(reference);
+        if (slot >= 0 && !marked(marks, slot)) {
+            mark(marks, slot);
+            stack.push(slot);
+        }
+    }
+
+    /**
+     * This method marks the objects that are reachable from the objects in the stack.
+     *
+     * @param stack the objects that has been marked and has not been traversed.
+     * @param marks the marks from the objects.
+     * @param blocked the objects that are not traversed, or null.
+     * @return the sum from the shallow sizes of the objects that has been traversed.
+     * @since 1.3
+     */
+    private long drain(final SlotStack stack, final long[] marks, final long[] blocked) {
+        final int id = this.buffer.idSize();
+        long bytes = 0;
+        while (stack.size > 0) {
+            final long record = this.objects.valueAt(stack.pop());
+            final int tag = this.buffer.u1(record);
+            final long position = record + 1;
+            if (tag == INSTANCE_DUMP) {
+                final ClassInfo info = this.classOf(record);
+                if (info == null) {
+                    continue;
+                }
+                bytes += this.instanceSize(info);
+                final long values = position + id + 4 + id + 4;
+                for (final int offset : this.referenceOffsets(info)) {
+                    this.traverse(stack, marks, blocked, this.buffer.id(values + offset));
+                }
+            } else if (tag == OBJECT_ARRAY_DUMP) {
+                final int length = this.buffer.u4(position + id + 4);
+                bytes += this.layout.arraySize(this.layout.referenceBytes(), length);
+                final long elements = position + id + 4 + 4 + id;
+                for (int i = 0; i < length; i++) {
+                    this.traverse(stack, marks, blocked, this.buffer.id(elements + (long) i * id));
+                }
+            } else {
+                final int length = this.buffer.u4(position + id + 4);
+                bytes += this.layout.arraySize(primitiveSize(this.buffer.u1(position + id + 8)), length);
+            }
+        }
+        return bytes;
+    }
+
+    private void traverse(final SlotStack stack, final long[] marks, final long[] blocked, final long reference) {
+        final int slot = this.objects.slot(reference);
+        if (slot >= 0 && !marked(marks, slot) && (blocked == null || !marked(blocked, slot))) {
+            mark(marks, slot);
+            stack.push(slot);
+        }
+    }
+
+    private int valueSize(final int type) {
+        return type == OBJECT ? this.buffer.idSize() : primitiveSize(type);
+    }
+
+    private static int primitiveSize(final int type) {
+        if (type < 4 || type >= PRIMITIVE_SIZES.length) {
+            throw new IllegalStateException("Basic type (" + type + ") is not a primitive type.");
+        }
+        return PRIMITIVE_SIZES[type];
+    }
+
+    private static char descriptor(final byte type) {
+        switch (type) {
+            case OBJECT: return 'L';
+            case 4: return 'Z';
+            case 5: return 'C';
+            case 6: return 'F';
+            case 7: return 'D';
+            case 8: return 'B';
+            case 9: return 'S';
+            case 10: return 'I';
+            case 11: return 'J';
+            default: throw new IllegalStateException("Basic type (" + type + ") is not a field type.");
+        }
+    }
+
+    /**
+     * This method converts the internal name from a class to the name from the Java, like "java/lang/String" to
+     * "java.lang.String" and "[[I" to "int[][]".
+     *
+     * @param name the internal name.
+     * @return the name from the Java.
+     * @since 1.3
+     */
+    static String javaName(final String name) {
+        int dimensions = 0;
+        while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+        if (dimensions == 0) {
+            return name.replace('/', '.');
+        }
+        final String component;
+        final char descriptor = name.charAt(dimensions);
+        switch (descriptor) {
+            case 'Z': component = "boolean"; break;
+            case 'B': component = "byte"; break;
+            case 'C': component = "char"; break;
+            case 'S': component = "short"; break;
+            case 'I': component = "int"; break;
+            case 'F': component = "float"; break;
+            case 'J': component = "long"; break;
+            case 'D': component = "double"; break;
+            default: component = name.substring(dimensions + 1, name.length() - 1).replace('/', '.'); break;
+        }
+        final StringBuilder builder = new StringBuilder(component);
+        for (int i = 0; i < dimensions; i++) {
+            builder.append("[]");
+        }
+        return builder.toString();
+    }
+
+    private static boolean marked(final long[] marks, final int slot) {
+        return (marks[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private static void mark(final long[] marks, final int slot) {
+        marks[slot >>> 6] |= 1L << slot;
+    }
+
+    /**
+     * This class represents a class from the dump.
+     * @since 1.3
+     */
+    private static final class ClassInfo {
+
+        private static final byte[] NO_FIELDS = new byte[0];
+        private static final long[] NO_REFERENCES = new long[0];
+
+        private final long id;
+        private final int primitiveType;
+        private long superId;
+        private String name;
+
+        /**
+         * The basic types from the instance fields that are declared by the class.
+         * @since 1.3
+         */
+        private byte[] fieldTypes = NO_FIELDS;
+        private long[] staticReferences = NO_REFERENCES;
+        private int[] referenceOffsets;
+
+        private long instances;
+        private long arrayBytes;
+        private long instanceSize = -1;
+
+        private ClassInfo(final long id, final int primitiveType) {
+            this.id = id;
+            this.primitiveType = primitiveType;
+        }
+    }
+
+    /**
+     * This class represents the stack from the slots of the objects that are traversed.
+     * @since 1.3
+     */
+    private static final class SlotStack {
+
+        private int[] slots = new int[256];
+        private int size;
+
+        private void push(final int slot) {
+            if (this.size == this.slots.length) {
+                final int[] slots = new int[this.size << 1];
+                System.arraycopy(this.slots, 0, slots, 0, this.size);
+                this.slots = slots;
+            }
+            this.slots[this.size++] = slot;
+        }
+
+        private int pop() {
+            return this.slots[--this.size];
+        }
+    }
+
+    /**
+     * This class represents the objects from a class in the dump.
+     * @since 1.3
+     */
+    public static final class ClassSize {
+
+        private final String name;
+        private final long instances;
+        private final long shallowBytes;
+
+        private ClassSize(final String name, final long instances, final long shallowBytes) {
+            this.name = name;
+            this.instances = instances;
+            this.shallowBytes = shallowBytes;
+        }
+
+        /**
+         * @return the name from the class, like "java.lang.String" or "int[]".
+         * @since 1.3
+         */
+        public String name() {
+            return this.name;
+        }
+
+        /**
+         * @return the quantity of instances from the class, the instances from the subclasses are not included.
+         * @since 1.3
+         */
+        public long instances() {
+            return this.instances;
+        }
+
+        /**
+         * @return the sum from the shallow sizes of the instances.
+         * @since 1.3
+         */
+        public long shallowBytes() {
+            return this.shallowBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassSize{name=" + this.name + ", instances=" + this.instances + ", shallowBytes=" + this.shallowBytes + "}";
+        }
+    }
+}
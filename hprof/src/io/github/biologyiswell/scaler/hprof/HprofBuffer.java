@@ -0,0 +1,127 @@
+package io.github.biologyiswell.scaler.hprof;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class represents the file from a heap dump mapped in the memory. A mapped buffer is limited to 2 gigabytes, then
+ * the file is mapped in chunks and each chunk overlaps the next chunk by some bytes, then a value is always read from a
+ * single chunk. The values are read by the absolute positions from the file, in the big-endian order of the format.
+ *
+ * @author biologyiswell (19/10/2026 07:00)
+ * @since 1.3
+ */
+final class HprofBuffer implements AutoCloseable {
+
+    /**
+     * The size from each chunk, that is 1 gigabyte.
+     * @since 1.3
+     */
+    private static final int CHUNK_BITS = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The bytes that each chunk overlaps the next chunk, that is the size from the greatest value.
+     * @since 1.3
+     */
+    private static final int OVERLAP = Long.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    /**
+     * The size from the identifiers of the dump, that is 4 or 8 bytes.
+     * @since 1.3
+     */
+    private int idSize = Long.BYTES;
+
+    HprofBuffer(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = this.channel.size();
+            this.chunks = new MappedByteBuffer[(int) ((this.size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+            for (int i = 0; i < this.chunks.length; i++) {
+                final long start = (long) i << CHUNK_BITS;
+                this.chunks[i] = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE + OVERLAP, this.size - start));
+            }
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    long size() {
+        return this.size;
+    }
+
+    int idSize() {
+        return this.idSize;
+    }
+
+    void idSize(final int idSize) {
+        this.idSize = idSize;
+    }
+
+    int u1(final long position) {
+        return this.chunk(position).get((int) (position & CHUNK_MASK)) & 0xFF;
+    }
+
+    int u2(final long position) {
+        return this.chunk(position).getShort((int) (position & CHUNK_MASK)) & 0xFFFF;
+    }
+
+    int u4(final long position) {
+        return this.chunk(position).getInt((int) (position & CHUNK_MASK));
+    }
+
+    long u8(final long position) {
+        return this.chunk(position).getLong((int) (position & CHUNK_MASK));
+    }
+
+    /**
+     * @param position the position from the identifier.
+     * @return the identifier, that is an object address or a string key.
+     * @since 1.3
+     */
+    long id(final long position) {
+        return this.idSize == Long.BYTES ? this.u8(position) : this.u4(position) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * This method reads a string from the file, the strings from the dump are encoded in the UTF-8.
+     *
+     * @param position the position from the string.
+     * @param length the length from the string in bytes.
+     * @return the string.
+     * @since 1.3
+     */
+    String string(final long position, final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) this.u1(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method closes the file, the chunks are unmapped when are collected by the garbage collector.
+     * @since 1.3
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private MappedByteBuffer chunk(final long position) {
+        if (position < 0 || position >= this.size) {
+            throw new IndexOutOfBoundsException("Position (" + position + ") is out of the dump (" + this.size + ").");
+        }
+        return this.chunks[(int) (position >>> CHUNK_BITS)];
+    }
+}
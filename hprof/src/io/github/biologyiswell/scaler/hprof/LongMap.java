@@ -0,0 +1,120 @@
+package io.github.biologyiswell.scaler.hprof;
+
+/**
+ * This class represents a map from long keys to long values with open addressing, that stores the keys and the values
+ * in primitive arrays, then the indexes from the millions of objects of a dump do not allocates an entry for each
+ * object. The key zero is not supported, because the zero marks the empty slots and the null identifier.
+ *
+ * @author biologyiswell (19/10/2026 07:00)
+ * @since 1.3
+ */
+final class LongMap {
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    LongMap(final int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+    }
+
+    /**
+     * @param key the input key.
+     * @param missing the value that is returned when the key is not found.
+     * @return the value from the key, or the missing value.
+     * @since 1.3
+     */
+    long get(final long key, final long missing) {
+        final int slot = this.slot(key);
+        return slot < 0 ? missing : this.values[slot];
+    }
+
+    void put(final long key, final long value) {
+        if (this.size >= this.keys.length >> 1) {
+            this.resize();
+        }
+        final int mask = this.keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == 0) {
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                this.size++;
+                return;
+            }
+            if (this.keys[slot] == key) {
+                this.values[slot] = value;
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method gets the slot from the key, the slot from a key do not changes while the map is not modified, then
+     * the slots can be used as the indexes from a bit set.
+     *
+     * @param key the input key.
+     * @return the slot from the key, or -1 when the key is not found.
+     * @since 1.3
+     */
+    int slot(final long key) {
+        if (key == 0) {
+            return -1;
+        }
+        final int mask = this.keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            final long current = this.keys[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == 0) {
+                return -1;
+            }
+        }
+    }
+
+    long keyAt(final int slot) {
+        return this.keys[slot];
+    }
+
+    long valueAt(final int slot) {
+        return this.values[slot];
+    }
+
+    int capacity() {
+        return this.keys.length;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private void resize() {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        this.keys = new long[keys.length << 1];
+        this.values = new long[keys.length << 1];
+        this.size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                this.put(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * This method mixes the bits from the key, because the identifiers are addresses aligned to 8 bytes.
+     *
+     * @param key the input key.
+     * @return the mixed hash.
+     * @since 1.3
+     */
+    private static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,348 @@
+package io.github.biologyiswell.scaler.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This class represents the annotation processor that generates the sizers from the classes that are annotated with
+ * "Sized". Each sizer contains the descriptors from the fields of the class, that are used to calculate the shallow
+ * size only once, and reads the reference fields directly, or by the accessors when enabled by "Sized.accessors",
+ * then the sizer do not uses the reflection. The sizers are listed in the service "io.github.biologyiswell.scaler.Sizer" to be found by the Scaler.
+ *
+ * @author biologyiswell (18/10/2026 23:40)
+ * @since 1.3
+ */
+public final class SizedProcessor extends AbstractProcessor {
+
+    /**
+     * The name from the annotation that marks the classes.
+     * @since 1.3
+     */
+    private static final String SIZED = "io.github.biologyiswell.scaler.Sized";
+
+    /**
+     * The name from the service that lists the sizers.
+     * @since 1.3
+     */
+    private static final String SERVICE = "META-INF/services/io.github.biologyiswell.scaler.Sizer";
+
+    /**
+     * The names from the sizers that has been generated, that are written to the service in the last round.
+     * @since 1.3
+     */
+    private final Set<String> sizers = new TreeSet<>();
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment environment) {
+        super.init(environment);
+        this.elements = environment.getElementUtils();
+        this.types = environment.getTypeUtils();
+        this.filer = environment.getFiler();
+        this.messager = environment.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(SIZED);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        final TypeElement sized = this.elements.getTypeElement(SIZED);
+        if (sized != null) {
+            for (final Element element : round.getElementsAnnotatedWith(sized)) {
+                if (this.check(element)) {
+                    this.generate((TypeElement) element);
+                }
+            }
+        }
+        if (round.processingOver() && !this.sizers.isEmpty()) {
+            this.writeService();
+        }
+        return true;
+    }
+
+    /**
+     * This method checks if the sizer can be generated to the element, when the sizer can not be generated an error is
+     * reported to the element.
+     *
+     * @param element the annotated element.
+     * @return true if the sizer can be generated, otherwise false.
+     * @since 1.3
+     */
+    private boolean check(final Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            this.error(element, "@Sized can be applied only to classes.");
+            return false;
+        }
+        final TypeElement type = (TypeElement) element;
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            this.error(element, "@Sized can not be applied to abstract classes, because the sizer is used only by the exact class.");
+            return false;
+        }
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                this.error(element, "@Sized can not be applied to private classes, because the sizer can not access the class.");
+                return false;
+            }
+            final NestingKind nesting = ((TypeElement) current).getNestingKind();
+            if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS
+                    || (nesting == NestingKind.MEMBER && !current.getModifiers().contains(Modifier.STATIC))) {
+                this.error(element, "@Sized can not be applied to inner classes, because the reference to the outer instance can not be read, use a static nested class.");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method generates the sizer from the class.
+     *
+     * @param type the annotated class.
+     * @since 1.3
+     */
+    private void generate(final TypeElement type) {
+        final PackageElement packageElement = this.elements.getPackageOf(type);
+        final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        final String typeName = this.types.erasure(type.asType()).toString();
+        final String simpleName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1)).replace('.', '_') + "_Sizer";
+        final String sizerName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        // @Note The fields from the superclasses comes first, like the layout from the virtual machine.
+        final List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = this.superclass(current)) {
+            if (current.getQualifiedName().contentEquals("java.lang.Object")) {
+                break;
+            }
+            hierarchy.add(0, current);
+        }
+        final boolean accessors = this.accessors(type);
+        final List<String> descriptors = new ArrayList<>();
+        final List<String> reads = new ArrayList<>();
+        boolean valid = true;
+        for (final TypeElement current : hierarchy) {
+            final StringBuilder builder = new StringBuilder();
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                final char descriptor = descriptor(field.asType());
+                builder.append(descriptor);
+                if (descriptor != 'L' && descriptor != '[') {
+                    continue;
+                }
+                final String read = this.read(type, current, field, packageElement, accessors);
+                if (read == null) {
+                    this.error(type, "The field \"" + current.getQualifiedName() + "." + field.getSimpleName() + "\" can not be read by the sizer, make the field package-private"
+                            + (accessors ? " or add a non-private accessor." : " or enable the accessors by @Sized(accessors = true)."));
+                    valid = false;
+                } else {
+                    reads.add(read);
+                }
+            }
+            descriptors.add("\"" + builder + "\"");
+        }
+        if (!valid) {
+            return;
+        }
+
+        try {
+            final JavaFileObject file = this.filer.createSourceFile(sizerName, type);
+            try (Writer writer = file.openWriter()) {
+                if (!packageName.isEmpty()) {
+                    writer.write("package " + packageName + ";\n\n");
+                }
+                writer.write("import io.github.biologyiswell.scaler.SizeContext;\n");
+                writer.write("import io.github.biologyiswell.scaler.Sizer;\n");
+                writer.write("import io.github.biologyiswell.scaler.VmLayout;\n\n");
+                writer.write("/**\n * This class represents the sizer from the class \"" + typeName + "\", that is generated by the SizedProcessor.\n */\n");
+                if (!type.getTypeParameters().isEmpty()) {
+                    writer.write("@SuppressWarnings(\"rawtypes\")\n");
+                }
+                writer.write("public final class " + simpleName + " implements Sizer<" + typeName + "> {\n\n");
+                writer.write("    private static final long SHALLOW_SIZE = VmLayout.current().instanceSize(" + String.join(", ", descriptors) + ");\n\n");
+                writer.write("    @Override\n");
+                writer.write("    public Class<" + typeName + "> type() {\n");
+                writer.write("        return " + typeName + ".class;\n");
+                writer.write("    }\n\n");
+                writer.write("    @Override\n");
+                writer.write("    public long sizeof(final " + typeName + " object, final SizeContext context) {\n");
+                for (final String read : reads) {
+                    writer.write("        context.push(" + read + ");\n");
+                }
+                writer.write("        return SHALLOW_SIZE;\n");
+                writer.write("    }\n");
+                writer.write("}\n");
+            }
+            this.sizers.add(sizerName);
+        } catch (IOException e) {
+            this.error(type, "The sizer can not be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method checks if the accessors are enabled by the annotation from the class.
+     *
+     * @param type the annotated class.
+     * @return true if the private fields are read by the accessors, otherwise false.
+     * @since 1.3
+     */
+    private boolean accessors(final TypeElement type) {
+        for (final AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (!((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(SIZED)) {
+                continue;
+            }
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : this.elements.getElementValuesWithDefaults(annotation).entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("accessors")) {
+                    return Boolean.TRUE.equals(entry.getValue().getValue());
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method gets the expression that reads the reference field, the field is read directly when is accessible by
+     * the sizer, otherwise when the accessors are enabled the field is read by a non-private accessor like "getName()",
+     * "isName()" or "name()".
+     *
+     * @param type the annotated class.
+     * @param owner the class that declares the field.
+     * @param field the input field.
+     * @param packageElement the package from the sizer.
+     * @param accessors true if the field can be read by an accessor.
+     * @return the expression that reads the field from the variable "object", or null if the field can not be read.
+     * @since 1.3
+     */
+    private String read(final TypeElement type, final TypeElement owner, final VariableElement field, final PackageElement packageElement,
+                        final boolean accessors) {
+        final String name = field.getSimpleName().toString();
+        // @Note The field from a superclass that is hidden by a field with the same name can be read only by the cast.
+        if (this.accessible(field, packageElement)) {
+            return owner.equals(type) ? "object." + name : "((" + this.types.erasure(owner.asType()) + ") object)." + name;
+        }
+        // @Note An accessor can return a copy or a lazy value, then the accessor is used only when is enabled.
+        if (!accessors) {
+            return null;
+        }
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (final ExecutableElement method : ElementFilter.methodsIn(this.elements.getAllMembers(type))) {
+            final String methodName = method.getSimpleName().toString();
+            if (!method.getParameters().isEmpty() || method.getModifiers().contains(Modifier.STATIC)
+                    || !this.accessible(method, packageElement)
+                    || !this.types.isSameType(this.types.erasure(method.getReturnType()), this.types.erasure(field.asType()))) {
+                continue;
+            }
+            if (methodName.equals("get" + capitalized) || methodName.equals("is" + capitalized) || methodName.equals(name)) {
+                return "object." + methodName + "()";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method checks if the member can be accessed by a class from the package.
+     *
+     * @param member the input member.
+     * @param packageElement the package from the class.
+     * @return true if the member can be accessed, otherwise false.
+     * @since 1.3
+     */
+    private boolean accessible(final Element member, final PackageElement packageElement) {
+        final Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        final TypeElement owner = (TypeElement) member.getEnclosingElement();
+        if (modifiers.contains(Modifier.PUBLIC) && owner.getModifiers().contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return this.elements.getPackageOf(owner).equals(packageElement);
+    }
+
+    private TypeElement superclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private void writeService() {
+        try {
+            final FileObject file = this.filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE);
+            try (Writer writer = file.openWriter()) {
+                for (final String sizer : this.sizers) {
+                    writer.write(sizer + "\n");
+                }
+            }
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "The service from the sizers can not be written: " + e.getMessage());
+        }
+    }
+
+    private void error(final Element element, final String message) {
+        this.messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * This method gets the descriptor character from the type of a field.
+     *
+     * @param type the type from the field.
+     * @return the descriptor character.
+     * @since 1.3
+     */
+    private static char descriptor(final TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN: return 'Z';
+            case BYTE: return 'B';
+            case CHAR: return 'C';
+            case SHORT: return 'S';
+            case INT: return 'I';
+            case FLOAT: return 'F';
+            case LONG: return 'J';
+            case DOUBLE: return 'D';
+            case ARRAY: return '[';
+            default: return 'L';
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package io.github.biologyiswell.scaler;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class represents the command that is executed by the agent when the agent is attached to a running virtual
+ * machine with arguments, like by the tool "ScalerAttach". The command resolves a root from a static field, calculates
+ * the deep size from the root with a limit of bytes and a timeout in a thread of low priority, and writes the report to
+ * a file that is read by the tool.
+ *
+ * <p>The root is represented by the class and the static field, like "com.acme.Cache#INSTANCE", and can be followed
+ * by a path of instance fields, like "com.acme.Cache#INSTANCE.sessions.table".
+ *
+ * @author biologyiswell (19/10/2026 08:10)
+ * @since 1.3
+ */
+final class AttachCommand implements Runnable {
+
+    /**
+     * The names from the arguments of the command.
+     * @since 1.3
+     */
+    static final String ROOT = "root";
+    static final String LIMIT = "limit";
+    static final String TIMEOUT = "timeout";
+    static final String OUTPUT = "output";
+
+    /**
+     * The time that the report can be written after the timeout from the calculation, that is shorter than the time
+     * that the tool "ScalerAttach" waits for the report, then the report is never written after the tool gives up.
+     * @since 1.3
+     */
+    private static final long WRITE_MARGIN_MILLIS = 20_000;
+
+    private final Instrumentation instrumentation;
+    private final String root;
+    private final long limit;
+    private final long timeoutMillis;
+    private final Path output;
+
+    private AttachCommand(final Instrumentation instrumentation, final Map<String, String> arguments) {
+        this.instrumentation = instrumentation;
+        this.root = required(arguments, ROOT);
+        this.limit = Long.parseLong(arguments.getOrDefault(LIMIT, String.valueOf(Long.MAX_VALUE)));
+        this.timeoutMillis = Long.parseLong(arguments.getOrDefault(TIMEOUT, "10000"));
+        this.output = Paths.get(required(arguments, OUTPUT));
+    }
+
+    /**
+     * This method starts the command in a daemon thread of low priority, then the agent returns immediately and the
+     * calculation do not competes with the threads from the application.
+     *
+     * @param arguments the arguments from the agent, encoded by the method "encode".
+     * @param instrumentation the instrumentation from the virtual machine.
+     * @since 1.3
+     */
+    static void start(final String arguments, final Instrumentation instrumentation) {
+        final Thread thread = new Thread(new AttachCommand(instrumentation, decode(arguments)), "Scaler-Attach");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        final long start = System.nanoTime();
+        String report;
+        try {
+            report = this.report();
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            // @Note The root has not been found, then only the message is reported.
+            report = "The root (" + this.root + ") can not be calculated: " + e + "\n";
+        } catch (RuntimeException | LinkageError e) {
+            final StringWriter writer = new StringWriter();
+            writer.append("The root (").append(this.root).append(") can not be calculated: ");
+            e.printStackTrace(new PrintWriter(writer));
+            report = writer.toString();
+        }
+        final long timeout = Math.max(this.timeoutMillis, 0);
+        if (timeout < Long.MAX_VALUE / 1_000_000 - WRITE_MARGIN_MILLIS
+                && System.nanoTime() - start > (timeout + WRITE_MARGIN_MILLIS) * 1_000_000) {
+            // @Note The tool has given up, then the report would never be read and deleted.
+            return;
+        }
+        // @Note The report is written to a temporary file and moved, then the tool never reads a partial report.
+        final Path temporary = this.output.resolveSibling(this.output.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, report.getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, this.output, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // @Note The failure is not printed to the output from the application, then the tool reports that the
+            // report has not been written.
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // @Note The temporary file is deleted by the tool when the tool gives up.
+            }
+        }
+    }
+
+    /**
+     * This method calculates the root and creates the report. The breakdown from the classes is calculated only when
+     * the root has been calculated inside the limit and the timeout, because the breakdown is not bounded.
+     *
+     * @return the report.
+     * @throws ReflectiveOperationException when the root can not be resolved.
+     * @since 1.3
+     */
+    private String report() throws ReflectiveOperationException {
+        final Object object = this.resolve();
+        final StringBuilder report = new StringBuilder();
+        report.append(this.root).append(" = ").append(object == null ? "null" : object.getClass().getTypeName()).append('\n');
+        if (object == null) {
+            return report.toString();
+        }
+        final long start = System.nanoTime();
+        final BoundedSize size = Scaler.deepSizeof(object, this.limit, Duration.ofMillis(this.timeoutMillis));
+        report.append(String.format("%,d bytes%s in %d ms%n", size.bytes(), size.isComplete() ? "" : " or more",
+                (System.nanoTime() - start) / 1_000_000));
+        if (!size.isComplete()) {
+            report.append(size.exceeded() ? "The limit has been exceeded." : "The timeout has been exceeded.")
+                    .append(" The breakdown is not calculated.\n");
+            return report.toString();
+        }
+        report.append(Scaler.sizeofDetailed(object));
+        return report.toString();
+    }
+
+    /**
+     * This method resolves the root, the class is found by the system class loader or by the classes that has been
+     * loaded by the other class loaders.
+     *
+     * @return the object from the root.
+     * @throws ReflectiveOperationException when the class or a field has not been found.
+     * @since 1.3
+     */
+    private Object resolve() throws ReflectiveOperationException {
+        final int separator = this.root.indexOf('#');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Root (" + this.root + ") must be like \"com.acme.Cache#INSTANCE\".");
+        }
+        final Class<?> type = this.findClass(this.root.substring(0, separator));
+        final String[] path = this.root.substring(separator + 1).split("\\.");
+        final Field staticField = findField(type, path[0]);
+        if (!Modifier.isStatic(staticField.getModifiers())) {
+            throw new IllegalArgumentException("Field (" + path[0] + ") from the class (" + type.getName() + ") is not static.");
+        }
+        Object object = staticField.get(null);
+        for (int i = 1; i < path.length && object != null; i++) {
+            object = findField(object.getClass(), path[i]).get(object);
+        }
+        return object;
+    }
+
+    private Class<?> findClass(final String name) throws ClassNotFoundException {
+        try {
+            return Class.forName(name, false, ClassLoader.getSystemClassLoader());
+        } catch (ClassNotFoundException e) {
+            // @Note The classes from the application servers are loaded by other class loaders.
+            for (final Class<?> loaded : this.instrumentation.getAllLoadedClasses()) {
+                if (loaded.getName().equals(name)) {
+                    return loaded;
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static Field findField(final Class<?> type, final String name) throws NoSuchFieldException {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            }
+        }
+        throw new NoSuchFieldException("Field (" + name + ") has not been found in the class (" + type.getName() + ").");
+    }
+
+    private static String required(final Map<String, String> arguments, final String name) {
+        final String value = arguments.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Argument (" + name + ") is required.");
+        }
+        return value;
+    }
+
+    /**
+     * This method encodes the arguments to the string that is given to the agent, each value is encoded like an URL
+     * parameter, then the values can contain the separators.
+     *
+     * @param arguments the arguments.
+     * @return the encoded arguments.
+     * @since 1.3
+     */
+    static String encode(final Map<String, String> arguments) {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            for (final Map.Entry<String, String> entry : arguments.entrySet()) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(entry.getKey()).append('=').append(URLEncoder.encode(entry.getValue(), "UTF-8"));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    static Map<String, String> decode(final String arguments) {
+        final Map<String, String> decoded = new LinkedHashMap<>();
+        try {
+            for (final String argument : arguments.split(",")) {
+                final int separator = argument.indexOf('=');
+                if (separator > 0) {
+                    decoded.put(argument.substring(0, separator), URLDecoder.decode(argument.substring(separator + 1), "UTF-8"));
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This class represents the deep size from an object that is calculated with a limit from the size or from the time.
+ * When the calculation is stopped before the all objects are calculated, the size is a lower bound from the deep size.
+ *
+ * @author biologyiswell (18/10/2026 23:20)
+ * @since 1.3
+ */
+public final class BoundedSize {
+
+    private final long bytes;
+    private final long limit;
+    private final boolean complete;
+
+    BoundedSize(final long bytes, final long limit, final boolean complete) {
+        this.bytes = bytes;
+        this.limit = limit;
+        this.complete = complete;
+    }
+
+    /**
+     * @return the deep size when the calculation is complete, otherwise the lower bound from the deep size.
+     * @since 1.3
+     */
+    public long bytes() {
+        return this.bytes;
+    }
+
+    /**
+     * @return true if the all objects has been calculated, otherwise false.
+     * @since 1.3
+     */
+    public boolean isComplete() {
+        return this.complete;
+    }
+
+    /**
+     * @return the maximum size that has been calculated, or Long.MAX_VALUE when the calculation has not a limit.
+     * @since 1.3
+     */
+    public long limit() {
+        return this.limit;
+    }
+
+    /**
+     * This method checks if the deep size is greater than the limit, this check is exact even when the calculation is
+     * not complete, because a lower bound that is greater than the limit represents that the deep size is greater. When
+     * the calculation has been stopped by the timeout before the limit is passed, the deep size is not known and this
+     * method returns false.
+     *
+     * @return true if the deep size is greater than the limit, otherwise false.
+     * @since 1.3
+     */
+    public boolean exceeded() {
+        return this.bytes > this.limit;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedSize{bytes=" + this.bytes + ", limit=" + this.limit + ", complete=" + this.complete + "}";
+    }
+}
@@ -0,0 +1,287 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents the walker from an object graph that calculates the breakdown from the deep size by each class
+ * and by each field. Unlike the GraphWalker each object is kept in a frame until the all objects that has been found
+ * by the object are calculated, then the deep size from each object is known when the frame is removed. The objects
+ * are attributed to the object that found them first, and the deep size from a class or field counts only the
+ * outermost objects, then the chains from the same class are not counted more than once.
+ *
+ * @author biologyiswell (18/10/2026 22:40)
+ * @since 1.3
+ */
+final class BreakdownWalker implements SizeContext {
+
+    /**
+     * The engine that reads the reference fields from the objects.
+     * @since 1.3
+     */
+    private final SizingEngine engine;
+
+    /**
+     * The filter from the canonical instances, that are not calculated when are referenced by the objects.
+     * @since 1.3
+     */
+    private final CanonicalFilter filter;
+
+    /**
+     * The profile from the virtual machine that is used to calculate the sizes.
+     * @since 1.3
+     */
+    private final VmLayout vm = VmLayout.current();
+
+    /**
+     * The objects that has been found by the walker.
+     * @since 1.3
+     */
+    private final IdentitySet visited = new IdentitySet();
+
+    /**
+     * The histogram from the classes, keyed by the identifier from the class layout.
+     * @since 1.3
+     */
+    private final Histogram classes = new Histogram();
+
+    /**
+     * The histogram from the fields, keyed by the identifier from the class layout in the high bits and by the index
+     * from the reference field more one in the low bits, the index zero represents the elements from an array or from
+     * a collection.
+     * @since 1.3
+     */
+    private final Histogram fields = new Histogram();
+
+    /**
+     * The objects that has been found but not has been calculated, and the entry from the field that found each one.
+     * @since 1.3
+     */
+    private Object[] pending = new Object[64];
+    private int[] pendingFields = new int[64];
+    private int pendingSize;
+
+    /**
+     * The frames from the objects that are being calculated, each frame contains the entry from the class, the entry
+     * from the field, the first pending object found by the object and the deep size that has been calculated.
+     * @since 1.3
+     */
+    private int[] frameClasses = new int[64];
+    private int[] frameFields = new int[64];
+    private int[] frameBases = new int[64];
+    private long[] frameSizes = new long[64];
+    private int depth;
+
+    /**
+     * The key and the layout from the field that found the objects that are pushed, and the entry from the field that
+     * is created only when an object is pushed, the value -1 represents that the entry has not been created.
+     * @since 1.3
+     */
+    private long fieldKey;
+    private ClassLayout fieldLayout;
+    private int fieldEntry;
+
+    BreakdownWalker(final SizingEngine engine, final CanonicalFilter filter) {
+        this.engine = engine;
+        this.filter = filter;
+    }
+
+    /**
+     * This method calculates the breakdown from the deep size of the object.
+     *
+     * @param root the input object, that is calculated even when is a canonical instance.
+     * @return the breakdown from the deep size.
+     * @since 1.3
+     */
+    SizeBreakdown walk(final Object root) {
+        this.visited.add(root);
+        this.enter(root, -1);
+        long total = 0;
+        while (this.depth > 0) {
+            final int frame = this.depth - 1;
+            if (this.pendingSize > this.frameBases[frame]) {
+                final int index = --this.pendingSize;
+                final Object object = this.pending[index];
+                this.pending[index] = null;
+                this.enter(object, this.pendingFields[index]);
+            } else {
+                total = this.exit(frame);
+            }
+        }
+        return this.report(root, total);
+    }
+
+    /**
+     * This method calculates the shallow size from the object, and creates the frame from the object.
+     *
+     * @param object the input object.
+     * @param field the entry from the field that found the object, or -1 if the object is the root.
+     * @since 1.3
+     */
+    private void enter(final Object object, final int field) {
+        final ClassLayout layout = ClassLayout.of(object.getClass());
+        final int base = this.pendingSize;
+        final long size = this.visit(object, layout);
+        final Histogram classes = this.classes;
+        final int klass = classes.entry(layout.id, layout);
+        classes.counts[klass]++;
+        classes.shallow[klass] += size;
+        classes.active[klass]++;
+        if (field >= 0) {
+            final Histogram fields = this.fields;
+            fields.counts[field]++;
+            fields.active[field]++;
+        }
+        if (this.depth == this.frameClasses.length) {
+            final int length = this.depth << 1;
+            this.frameClasses = Arrays.copyOf(this.frameClasses, length);
+            this.frameFields = Arrays.copyOf(this.frameFields, length);
+            this.frameBases = Arrays.copyOf(this.frameBases, length);
+            this.frameSizes = Arrays.copyOf(this.frameSizes, length);
+        }
+        final int frame = this.depth++;
+        this.frameClasses[frame] = klass;
+        this.frameFields[frame] = field;
+        this.frameBases[frame] = base;
+        this.frameSizes[frame] = size;
+    }
+
+    /**
+     * This method removes the frame, the deep size from the object is added to the object that found it, and to the
+     * class and to the field from the object when no other object from the same class or field is being calculated.
+     *
+     * @param frame the input frame, that is the last frame.
+     * @return the deep size from the object of the frame.
+     * @since 1.3
+     */
+    private long exit(final int frame) {
+        final long size = this.frameSizes[frame];
+        this.depth--;
+        if (frame > 0) {
+            this.frameSizes[frame - 1] += size;
+        }
+        final int klass = this.frameClasses[frame];
+        if (--this.classes.active[klass] == 0) {
+            this.classes.deep[klass] += size;
+        }
+        final int field = this.frameFields[frame];
+        if (field >= 0 && --this.fields.active[field] == 0) {
+            this.fields.deep[field] += size;
+        }
+        return size;
+    }
+
+    /**
+     * This method calculates the size from the object and pushes the objects that are referenced by the object.
+     *
+     * @param object the input object.
+     * @param layout the layout from the class of the object.
+     * @return the size from the object.
+     * @since 1.3
+     */
+    private long visit(final Object object, final ClassLayout layout) {
+        final Class<?> type = layout.type;
+        final long elements = (long) layout.id << 32;
+        if (type.isArray()) {
+            final Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return this.vm.arraySize(component, Array.getLength(object));
+            }
+            final Object[] array = (Object[]) object;
+            this.field(elements, layout);
+            for (final Object element : array) {
+                this.push(element);
+            }
+            return this.vm.arraySize(component, array.length);
+        }
+        final SizeStrategy<Object> strategy = SizeStrategies.resolve(type);
+        if (strategy != null) {
+            this.field(elements, layout);
+            return strategy.sizeof(object, this);
+        }
+        if (type == String.class) {
+            return layout.shallowSize(object) + this.vm.stringValueSize((String) object);
+        }
+        final Object[] values = layout.reader(this.engine).read(object);
+        for (int i = 0; i < values.length; i++) {
+            this.field(elements | (i + 1), layout);
+            this.push(values[i]);
+        }
+        return layout.shallowSize(object);
+    }
+
+    private void field(final long key, final ClassLayout layout) {
+        this.fieldKey = key;
+        this.fieldLayout = layout;
+        this.fieldEntry = -1;
+    }
+
+    @Override
+    public VmLayout layout() {
+        return this.vm;
+    }
+
+    @Override
+    public long shallowSizeof(final Class<?> type) {
+        return ClassLayout.of(type).shallowSize();
+    }
+
+    /**
+     * This method pushes the object to the pending objects if the object is not null, is not a canonical instance and
+     * has not been found before, the object is attributed to the current field.
+     *
+     * @param object the input object.
+     * @since 1.3
+     */
+    @Override
+    public void push(final Object object) {
+        if (object == null || this.filter.isCanonical(object) || !this.visited.add(object)) {
+            return;
+        }
+        if (this.pendingSize == this.pending.length) {
+            final int length = this.pendingSize << 1;
+            this.pending = Arrays.copyOf(this.pending, length);
+            this.pendingFields = Arrays.copyOf(this.pendingFields, length);
+        }
+        if (this.fieldEntry < 0) {
+            this.fieldEntry = this.fields.entry(this.fieldKey, this.fieldLayout);
+        }
+        this.pending[this.pendingSize] = object;
+        this.pendingFields[this.pendingSize++] = this.fieldEntry;
+    }
+
+    /**
+     * This method creates the report from the histograms.
+     *
+     * @param root the input object.
+     * @param total the deep size from the object.
+     * @return the breakdown from the deep size.
+     * @since 1.3
+     */
+    private SizeBreakdown report(final Object root, final long total) {
+        final Histogram classes = this.classes;
+        final Histogram fields = this.fields;
+        final List<SizeBreakdown.FieldSize> fieldSizes = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            final ClassLayout owner = fields.layouts[i];
+            final int index = (int) fields.key(i) - 1;
+            fieldSizes.add(new SizeBreakdown.FieldSize(owner.type, index < 0 ? null : owner.references[index],
+                    fields.counts[i], fields.deep[i]));
+        }
+        final List<SizeBreakdown.ClassSize> classSizes = new ArrayList<>(classes.size());
+        for (int i = 0; i < classes.size(); i++) {
+            final ClassLayout layout = classes.layouts[i];
+            final List<SizeBreakdown.FieldSize> owned = new ArrayList<>();
+            for (final SizeBreakdown.FieldSize field : fieldSizes) {
+                if (field.owner() == layout.type) {
+                    owned.add(field);
+                }
+            }
+            classSizes.add(new SizeBreakdown.ClassSize(layout.type, classes.counts[i], classes.shallow[i],
+                    classes.deep[i], owned));
+        }
+        return new SizeBreakdown(root.getClass(), total, this.visited.size(), classSizes, fieldSizes);
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * This class represents the strategy from the buffers of the "java.nio" package. The heap buffers are calculated by
+ * the backing array, and the direct and the mapped buffers reports the native memory from the allocation that backs
+ * the buffer. The duplicates, the slices and the views from a direct buffer references the buffer that owns the
+ * allocation, then the allocation is reported only by the owner, and is counted only once.
+ *
+ * <p>The address and the owner from a direct buffer are read from the internal fields by the "sun.misc.Unsafe" from
+ * the module "jdk.unsupported", then the fields are read without opening the package "java.nio". When the Unsafe is
+ * not available the fields are read by the reflection, that requires the Java 8 or the option
+ * "--add-opens java.base/java.nio=ALL-UNNAMED", and when the fields can not be read each direct buffer reports the
+ * capacity without the address, then the footprint is marked as inexact.
+ *
+ * @author biologyiswell (19/10/2026 02:30)
+ * @since 1.3
+ */
+final class BufferStrategy implements SizeStrategy<Buffer> {
+
+    static final BufferStrategy INSTANCE = new BufferStrategy();
+
+    /**
+     * The field from the address of the native memory, or null when the field can not be read.
+     * @since 1.3
+     */
+    private static final Field ADDRESS = accessible(Buffer.class, "address");
+
+    /**
+     * The handles from the methods "objectFieldOffset", "getObject" and "getLong" of the Unsafe, that are bound to the
+     * Unsafe instance, or null when the Unsafe is not available.
+     * @since 1.3
+     */
+    private static final MethodHandle FIELD_OFFSET;
+    private static final MethodHandle GET_OBJECT;
+    private static final MethodHandle GET_LONG;
+
+    static {
+        MethodHandle fieldOffset = null;
+        MethodHandle getObject = null;
+        MethodHandle getLong = null;
+        try {
+            final Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeType.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            fieldOffset = lookup.findVirtual(unsafeType, "objectFieldOffset", MethodType.methodType(long.class, Field.class)).bindTo(unsafe);
+            getObject = lookup.findVirtual(unsafeType, "getObject", MethodType.methodType(Object.class, Object.class, long.class)).bindTo(unsafe);
+            getLong = lookup.findVirtual(unsafeType, "getLong", MethodType.methodType(long.class, Object.class, long.class)).bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // @Note The Unsafe is not available, then the fields are read by the reflection.
+            fieldOffset = null;
+        }
+        FIELD_OFFSET = fieldOffset;
+        GET_OBJECT = fieldOffset == null ? null : getObject;
+        GET_LONG = fieldOffset == null ? null : getLong;
+    }
+
+    private BufferStrategy() {
+    }
+
+    @Override
+    public long sizeof(final Buffer buffer, final SizeContext context) {
+        final long size = context.shallowSizeof(buffer.getClass());
+        if (!buffer.isDirect()) {
+            // @Note The read-only heap buffers do not gives the array, then the array is read from the internal field.
+            context.push(buffer.hasArray() ? buffer.array() : read(buffer, "hb"));
+            return size;
+        }
+        // @Note The owner from the allocation is the buffer at the end of the attachments, that is retained by the
+        // duplicates, the slices and the views, then the owner is calculated and reports the allocation.
+        Buffer owner = buffer;
+        for (Object attachment; (attachment = read(owner, "att")) instanceof Buffer && ((Buffer) attachment).isDirect(); ) {
+            owner = (Buffer) attachment;
+        }
+        if (owner != buffer) {
+            context.push(owner);
+        } else {
+            // @Note The direct buffers extends the MappedByteBuffer too, then only the buffers with the file descriptor
+            // are mapped.
+            final boolean mapped = buffer instanceof MappedByteBuffer && read(buffer, "fd") != null;
+            context.offHeap(buffer, address(buffer), (long) buffer.capacity() * elementSize(buffer), mapped);
+        }
+        return size;
+    }
+
+    /**
+     * This method reads the internal reference field from the buffer.
+     *
+     * @param buffer the input buffer.
+     * @param name the name from the field.
+     * @return the value from the field, or null when the field do not exists or can not be read.
+     * @since 1.3
+     */
+    private static Object read(final Buffer buffer, final String name) {
+        final Field field = ClassLayout.of(buffer.getClass()).field(name);
+        if (field == null) {
+            return null;
+        }
+        if (FIELD_OFFSET != null) {
+            try {
+                return (Object) GET_OBJECT.invokeExact((Object) buffer, (long) FIELD_OFFSET.invokeExact(field));
+            } catch (Throwable e) {
+                // @Note The Unsafe do not supports the field, then the field is read by the reflection.
+            }
+        }
+        try {
+            return field.get(buffer);
+        } catch (IllegalAccessException | RuntimeException e) {
+            ScalerMetrics.fieldSkipped();
+            return null;
+        }
+    }
+
+    /**
+     * This method reads the address from the native memory of the direct buffer.
+     *
+     * @param buffer the input buffer.
+     * @return the address from the native memory, or zero when the address can not be read.
+     * @since 1.3
+     */
+    private static long address(final Buffer buffer) {
+        if (ADDRESS == null) {
+            return 0;
+        }
+        if (FIELD_OFFSET != null) {
+            try {
+                return (long) GET_LONG.invokeExact((Object) buffer, (long) FIELD_OFFSET.invokeExact(ADDRESS));
+            } catch (Throwable e) {
+                // @Note The Unsafe do not supports the field, then the field is read by the reflection.
+            }
+        }
+        try {
+            return ADDRESS.getLong(buffer);
+        } catch (IllegalAccessException | RuntimeException e) {
+            ScalerMetrics.fieldSkipped();
+            return 0;
+        }
+    }
+
+    /**
+     * This method gets the size from each element of the buffer.
+     *
+     * @param buffer the input buffer.
+     * @return the size from each element.
+     * @since 1.3
+     */
+    private static int elementSize(final Buffer buffer) {
+        if (buffer instanceof ByteBuffer) {
+            return 1;
+        } else if (buffer instanceof CharBuffer || buffer instanceof ShortBuffer) {
+            return 2;
+        } else if (buffer instanceof IntBuffer || buffer instanceof FloatBuffer) {
+            return 4;
+        }
+        return 8;
+    }
+
+    private static Field accessible(final Class<?> type, final String name) {
+        final Field field;
+        try {
+            field = type.getDeclaredField(name);
+        } catch (NoSuchFieldException | RuntimeException e) {
+            return null;
+        }
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            // @Note The InaccessibleObjectException (Java 9+) and the SecurityException are runtime exceptions, then
+            // the field is read only by the Unsafe.
+        }
+        return field;
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * This class represents the filter from the canonical instances, that are the objects shared by the all application and
+ * that are not owned by the object that is calculated, like the cached Integer values, the Boolean constants, the enum
+ * constants, the Class objects and the empty collections. The canonical instances are not calculated by the deep
+ * calculation, and each instance is checked in constant time by an identity set and by the rules of the types.
+ *
+ * @author biologyiswell (18/10/2026 21:00)
+ * @since 1.3
+ */
+public final class CanonicalFilter {
+
+    /**
+     * The filter that do not contains canonical instances, then the all objects are calculated.
+     * @since 1.3
+     */
+    public static final CanonicalFilter NONE = builder().build();
+
+    /**
+     * The filter that contains the instances that are shared by the virtual machine.
+     * @since 1.3
+     */
+    private static final CanonicalFilter DEFAULTS = builder().jvmShared().build();
+
+    /**
+     * The canonical instances.
+     * @since 1.3
+     */
+    private final IdentitySet instances;
+
+    /**
+     * The types that the all instances are canonical, the instances from the subclasses are canonical too.
+     * @since 1.3
+     */
+    private final Class<?>[] types;
+
+    /**
+     * The cache from the rules of each class, that represents if the instances from the class are canonical.
+     * @since 1.3
+     */
+    private final ClassValue<Boolean> rules = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (final Class<?> canonical : CanonicalFilter.this.types) {
+                if (canonical.isAssignableFrom(type)) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
+    private CanonicalFilter(final Builder builder) {
+        this.instances = new IdentitySet(builder.instances.size());
+        for (final Object instance : builder.instances) {
+            this.instances.add(instance);
+        }
+        this.types = builder.types.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * This method gets the filter that contains the instances that are shared by the virtual machine, that is the
+     * default filter from the Scaler.
+     *
+     * @return the default filter.
+     * @since 1.3
+     */
+    public static CanonicalFilter defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * This method checks if the object is a canonical instance.
+     *
+     * @param object the input object, that can not be null.
+     * @return true if the object is a canonical instance, otherwise false.
+     * @since 1.3
+     */
+    public boolean isCanonical(final Object object) {
+        return (this.types.length != 0 && this.rules.get(object.getClass())) || (this.instances.size() != 0 && this.instances.contains(object));
+    }
+
+    public static final class Builder {
+
+        private final List<Object> instances = new ArrayList<>();
+        private final List<Class<?>> types = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * This method adds the instances that are shared by the virtual machine: the cached values from the boxed
+         * types, the Boolean constants, the empty collections and optionals, the empty string, and the rules that the
+         * all enum constants and Class objects are canonical.
+         *
+         * <p>The interned string literals are not detected, because the only test from an interned string is the
+         * method "String#intern", that would intern the string that is calculated. The literals can be registered by
+         * the method "internedStrings".
+         *
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder jvmShared() {
+            for (int i = -128; i <= 127; i++) {
+                this.instances.add(Integer.valueOf(i));
+                this.instances.add(Short.valueOf((short) i));
+                this.instances.add(Byte.valueOf((byte) i));
+                this.instances.add(Long.valueOf(i));
+            }
+            for (char c = 0; c <= 127; c++) {
+                this.instances.add(Character.valueOf(c));
+            }
+            this.instances.add(Boolean.TRUE);
+            this.instances.add(Boolean.FALSE);
+            this.instances.add("");
+            this.instances.add(Collections.EMPTY_LIST);
+            this.instances.add(Collections.EMPTY_SET);
+            this.instances.add(Collections.EMPTY_MAP);
+            this.instances.add(Collections.emptyIterator());
+            this.instances.add(Collections.emptyListIterator());
+            this.instances.add(Collections.emptyEnumeration());
+            this.instances.add(Collections.emptySortedSet());
+            this.instances.add(Collections.emptyNavigableSet());
+            this.instances.add(Collections.emptySortedMap());
+            this.instances.add(Collections.emptyNavigableMap());
+            this.instances.add(Collections.reverseOrder());
+            this.instances.add(String.CASE_INSENSITIVE_ORDER);
+            this.instances.add(Optional.empty());
+            this.instances.add(OptionalInt.empty());
+            this.instances.add(OptionalLong.empty());
+            this.instances.add(OptionalDouble.empty());
+            // @Note The empty immutable collections exists only since the Java 9, then are got by the reflection.
+            for (final Class<?> type : new Class<?>[]{List.class, Set.class, Map.class}) {
+                try {
+                    final Method of = type.getMethod("of");
+                    this.instances.add(of.invoke(null));
+                } catch (ReflectiveOperationException e) {
+                    // @Note The method do not exists in this Java version.
+                }
+            }
+            this.types.add(Enum.class);
+            this.types.add(Class.class);
+            return this;
+        }
+
+        /**
+         * This method adds a canonical instance, like a flyweight from the application.
+         *
+         * @param instance the canonical instance.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder instance(final Object instance) {
+            if (instance == null) {
+                throw new NullPointerException("instance");
+            }
+            this.instances.add(instance);
+            return this;
+        }
+
+        /**
+         * This method adds the interned instances from the strings, like the literals from the application that are
+         * shared by the string pool. Each string is interned once when is added, then the literal with the same
+         * characters is the canonical instance.
+         *
+         * @param strings the strings, like the literals from the application.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder internedStrings(final Collection<String> strings) {
+            if (strings == null) {
+                throw new NullPointerException("strings");
+            }
+            for (final String string : strings) {
+                if (string == null) {
+                    throw new NullPointerException("string");
+                }
+                this.instances.add(string.intern());
+            }
+            return this;
+        }
+
+        /**
+         * This method adds a type that the all instances are canonical, including the instances from the subclasses.
+         *
+         * @param type the canonical type.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder type(final Class<?> type) {
+            if (type == null) {
+                throw new NullPointerException("type");
+            }
+            this.types.add(type);
+            return this;
+        }
+
+        public CanonicalFilter build() {
+            return new CanonicalFilter(this);
+        }
+    }
+}
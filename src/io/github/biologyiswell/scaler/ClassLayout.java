@@ -0,0 +1,399 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents the layout model from a class, that is computed only once for each class and reused by the
+ * all calculations that are made by the Scaler class. The layout contains the instance fields from the class and from
+ * the all superclasses, the static fields are not part from the layout because them not occupies space in the object.
+ *
+ * @author biologyiswell (18/10/2026 14:10)
+ * @since 1.3
+ */
+final class ClassLayout {
+
+    /**
+     * The kind that represents a reference field that is declared as String.
+     * @since 1.3
+     */
+    static final byte STRING = 0;
+
+    /**
+     * The kind that represents a reference field that is declared as an array.
+     * @since 1.3
+     */
+    static final byte ARRAY = 1;
+
+    /**
+     * The kind that represents a reference field that is declared as generic Object.
+     * @since 1.3
+     */
+    static final byte OBJECT = 2;
+
+    /**
+     * The kind that represents a reference field that is declared as any other class or interface.
+     * @since 1.3
+     */
+    static final byte INSTANCE = 3;
+
+    /**
+     * The generator from the identifiers of the layouts.
+     * @since 1.3
+     */
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    /**
+     * The cache from the class layouts, the layout from each class is computed only once and the ClassValue make the
+     * association between the class and the layout without retain the class from be unloaded.
+     * @since 1.3
+     */
+    private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+        @Override
+        protected ClassLayout computeValue(final Class<?> type) {
+            final ClassLayout layout = new ClassLayout(type);
+            ScalerMetrics.layoutComputed(layout.inaccessible);
+            return layout;
+        }
+    };
+
+    /**
+     * The class that this layout represents.
+     * @since 1.3
+     */
+    final Class<?> type;
+
+    /**
+     * The unique identifier from the layout, that is used as the primitive key from the class in the tables.
+     * @since 1.3
+     */
+    final int id = IDS.getAndIncrement();
+
+    /**
+     * The all instance fields from the class, including the superclasses fields. The primitive indexes and the
+     * reference indexes points to this array.
+     * @since 1.3
+     */
+    final Field[] fields;
+
+    /**
+     * The indexes from the primitive fields that contains in the fields array.
+     * @since 1.3
+     */
+    final int[] primitiveIndexes;
+
+    /**
+     * The indexes from the reference fields that contains in the fields array.
+     * @since 1.3
+     */
+    final int[] referenceIndexes;
+
+    /**
+     * The accessible reference fields, this fields can be read to get the reference values.
+     * @since 1.3
+     */
+    final Field[] references;
+
+    /**
+     * The kind from each accessible reference field, the kind represents how the reference field is calculated.
+     * @since 1.3
+     */
+    final byte[] kinds;
+
+    /**
+     * The quantity of reference fields that can not be made accessible, then this fields are not read.
+     * @since 1.3
+     */
+    final int inaccessible;
+
+    /**
+     * The precomputed shallow size from the class, that represents the object header more the bytes from the all
+     * fields, with the padding that the virtual machine adds to align the fields and the object.
+     * @since 1.3
+     */
+    private final int computedSize;
+
+    /**
+     * The shallow size from the class that is measured by the instrumentation of the agent, the value 0 represents
+     * that the size has not been measured.
+     * @since 1.3
+     */
+    private volatile int measuredSize;
+
+    /**
+     * The cached size from the class calculation, the value -1 represents that the size has not been calculated.
+     * @since 1.3
+     */
+    private volatile int classSize = -1;
+
+    /**
+     * The readers from the reference fields, that are compiled by each engine when used for the first time. The index
+     * from the reader represents the ordinal from the engine.
+     * @since 1.3
+     */
+    private final FieldReader[] readers = new FieldReader[SizingEngine.values().length];
+
+    private ClassLayout(final Class<?> type) {
+        this.type = type;
+        // @Note The fields from the superclasses comes first, then the fields from the class.
+        final List<Field> fields = new ArrayList<>();
+        collectFields(type, fields);
+        this.fields = fields.toArray(new Field[0]);
+
+        final List<Field> references = new ArrayList<>();
+        int primitives = 0;
+        int inaccessible = 0;
+        final int[] primitiveIndexes = new int[this.fields.length];
+        final int[] referenceIndexes = new int[this.fields.length];
+        final byte[] kinds = new byte[this.fields.length];
+        // @Note The descriptors from the field types of each class in the hierarchy, that are used by the profile from
+        // the virtual machine to calculate the size with the alignment and the padding.
+        final List<String> hierarchy = new ArrayList<>();
+        final StringBuilder descriptors = new StringBuilder();
+        Class<?> declaring = null;
+        for (int i = 0; i < this.fields.length; i++) {
+            final Field field = this.fields[i];
+            final Class<?> fieldType = field.getType();
+            if (field.getDeclaringClass() != declaring) {
+                if (declaring != null) {
+                    hierarchy.add(descriptors.toString());
+                    descriptors.setLength(0);
+                }
+                declaring = field.getDeclaringClass();
+            }
+            descriptors.append(descriptor(fieldType));
+            if (fieldType.isPrimitive()) {
+                primitiveIndexes[primitives++] = i;
+                continue;
+            }
+            referenceIndexes[i - primitives] = i;
+            // @Note The field that can not be accessible is not read, this happens when the field is in a package that
+            // is not opened to this library.
+            if (!makeAccessible(field)) {
+                inaccessible++;
+                continue;
+            }
+            kinds[references.size()] = kindOf(fieldType);
+            references.add(field);
+        }
+        if (declaring != null) {
+            hierarchy.add(descriptors.toString());
+        }
+        this.primitiveIndexes = trim(primitiveIndexes, primitives);
+        this.referenceIndexes = trim(referenceIndexes, this.fields.length - primitives);
+        this.references = references.toArray(new Field[0]);
+        this.kinds = new byte[this.references.length];
+        System.arraycopy(kinds, 0, this.kinds, 0, this.kinds.length);
+        this.inaccessible = inaccessible;
+        this.computedSize = (int) VmLayout.current().instanceSize(hierarchy.toArray(new String[0]));
+    }
+
+    /**
+     * This method gets the layout from a class, the layout is computed in the first call and cached to the next calls.
+     *
+     * @param type the input class.
+     * @return the layout from the class.
+     * @since 1.3
+     */
+    static ClassLayout of(final Class<?> type) {
+        if (ScalerMetrics.enabled) {
+            ScalerMetrics.layoutLookup();
+        }
+        return LAYOUTS.get(type);
+    }
+
+    /**
+     * This method gets the reader from the reference fields that is compiled by the engine, the reader is compiled in
+     * the first call and reused by the next calls.
+     *
+     * @param engine the engine that compiles the reader.
+     * @return the reader from the reference fields.
+     * @since 1.3
+     */
+    FieldReader reader(final SizingEngine engine) {
+        FieldReader reader = this.readers[engine.ordinal()];
+        if (reader == null) {
+            // @Note The compile can happens more than one time when concurrent threads reads the layout, but the
+            // readers are equivalent then any of them can be cached.
+            reader = this.readers[engine.ordinal()] = engine.compile(this.references);
+        }
+        return reader;
+    }
+
+    /**
+     * This method gets the shallow size from the class, that is the size measured by the agent when an instance from
+     * the class has been measured, otherwise the size calculated by the layout profile.
+     *
+     * @return the shallow size from the class.
+     * @since 1.3
+     */
+    int shallowSize() {
+        final int size = this.measuredSize;
+        return size != 0 ? size : this.computedSize;
+    }
+
+    /**
+     * This method gets the shallow size from an instance of the class. When the agent is loaded the instance is
+     * measured by the instrumentation, only once for each class because the instances from a class that is not an
+     * array has the same size.
+     *
+     * @param instance the instance from the class.
+     * @return the shallow size from the instance.
+     * @since 1.3
+     */
+    int shallowSize(final Object instance) {
+        int size = this.measuredSize;
+        if (size == 0) {
+            final Instrumentation instrumentation = ScalerAgent.instrumentation();
+            if (instrumentation == null) {
+                return this.computedSize;
+            }
+            size = this.measuredSize = (int) instrumentation.getObjectSize(instance);
+        }
+        return size;
+    }
+
+    /**
+     * This method gets the accessible reference field from the name.
+     *
+     * @param name the name from the field.
+     * @return the accessible reference field, or null if the field do not exists or is not accessible.
+     * @since 1.3
+     */
+    Field reference(final String name) {
+        for (final Field field : this.references) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method gets the instance field from the name, even when the field is not accessible, like the fields that
+     * are read by the Unsafe.
+     *
+     * @param name the name from the field.
+     * @return the instance field, or null if the field do not exists.
+     * @since 1.3
+     */
+    Field field(final String name) {
+        for (final Field field : this.fields) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method calculates the size from the class using only the field types, this calculation is used when the
+     * object is not available. The calculated size is cached in the layout.
+     *
+     * @return the size from the class.
+     * @since 1.3
+     */
+    int classSize() {
+        int size = this.classSize;
+        if (size == -1) {
+            size = this.classSize = computeClassSize(new IdentityHashMap<Class<?>, Boolean>());
+        }
+        return size;
+    }
+
+    /**
+     * This method calculates the size from the class using the field types. The path contains the classes that are
+     * being calculated, then a class that references itself is calculated as a generic object to not loop forever.
+     *
+     * @param path the classes that are being calculated.
+     * @return the size from the class.
+     * @since 1.3
+     */
+    private int computeClassSize(final Map<Class<?>, Boolean> path) {
+        path.put(this.type, Boolean.TRUE);
+        final VmLayout vm = VmLayout.current();
+        long size = this.shallowSize();
+        for (final int index : this.referenceIndexes) {
+            Class<?> fieldType = this.fields[index].getType();
+            // @Note The array is calculated with one element, because the length from the array is not known.
+            if (fieldType.isArray()) {
+                fieldType = fieldType.getComponentType();
+                size += vm.arraySize(fieldType, 1);
+            }
+            if (!fieldType.isPrimitive() && fieldType != Object.class && fieldType != String.class
+                    && !fieldType.isArray() && !fieldType.isInterface() && !path.containsKey(fieldType)) {
+                size += of(fieldType).computeClassSize(path);
+            }
+        }
+        path.remove(this.type);
+        return (int) size;
+    }
+
+    /**
+     * This method gets the descriptor character from the field type.
+     *
+     * @param type the field type.
+     * @return the descriptor character.
+     * @since 1.3
+     */
+    static char descriptor(final Class<?> type) {
+        if (type == boolean.class) return 'Z';
+        if (type == byte.class) return 'B';
+        if (type == char.class) return 'C';
+        if (type == short.class) return 'S';
+        if (type == int.class) return 'I';
+        if (type == float.class) return 'F';
+        if (type == double.class) return 'D';
+        if (type == long.class) return 'J';
+        return type.isArray() ? '[' : 'L';
+    }
+
+    /**
+     * This method gets the kind from a reference type, that represents how the references are calculated by the method
+     * "Scaler#sizeof".
+     *
+     * @param type the reference type.
+     * @return the kind from the type.
+     * @since 1.3
+     */
+    static byte kindOf(final Class<?> type) {
+        if (type == String.class) return STRING;
+        if (type.isArray()) return ARRAY;
+        if (type == Object.class) return OBJECT;
+        return INSTANCE;
+    }
+
+    private static void collectFields(final Class<?> type, final List<Field> fields) {
+        if (type == null || type == Object.class) {
+            return;
+        }
+        collectFields(type.getSuperclass(), fields);
+        for (final Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field);
+            }
+        }
+    }
+
+    static boolean makeAccessible(final Field field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            // @Note The InaccessibleObjectException (Java 9+) and the SecurityException are runtime exceptions.
+            return false;
+        }
+    }
+
+    private static int[] trim(final int[] array, final int length) {
+        final int[] trimmed = new int[length];
+        System.arraycopy(array, 0, trimmed, 0, length);
+        return trimmed;
+    }
+}
@@ -0,0 +1,442 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class contains the strategies that calculates the size from the common collections. Each strategy models the
+ * real backing structure from the collection, like the table and the nodes of a HashMap or the entries of a TreeMap.
+ * When the internal fields from the collection can be read, like the capacity of the table, the real value is used,
+ * otherwise the value is calculated by the growth policy from the collection.
+ *
+ * @author biologyiswell (18/10/2026 17:55)
+ * @since 1.3
+ */
+final class CollectionStrategies {
+
+    // non-instantiate.
+    private CollectionStrategies() {
+    }
+
+    /**
+     * The size from the node of a generic hash map, that contains the hash, the key, the value and the next node.
+     * @since 1.3
+     */
+    private static final long GENERIC_NODE_SIZE = VmLayout.current().instanceSize("ILLL");
+
+    /**
+     * The strategy from the ArrayList, that contains the element data array with a capacity that can be greater than
+     * the size from the list.
+     * @since 1.3
+     */
+    static final SizeStrategy<ArrayList<?>> ARRAY_LIST = new SizeStrategy<ArrayList<?>>() {
+
+        private final Field elementData = internal(ArrayList.class, "elementData");
+
+        @Override
+        public long sizeof(final ArrayList<?> list, final SizeContext context) {
+            int capacity = length(this.elementData, list);
+            if (capacity < 0) {
+                // @Note The list starts with a shared empty array and the capacity is 10 in the first add, then the
+                // capacity grows by the half of the capacity.
+                capacity = 0;
+                if (list.size() > 0) {
+                    capacity = 10;
+                    while (capacity < list.size()) capacity += capacity >> 1;
+                }
+            }
+            pushAll(list, context);
+            return context.shallowSizeof(list.getClass()) + (capacity == 0 ? 0 : context.layout().arraySize(Object.class, capacity));
+        }
+    };
+
+    /**
+     * The strategy from the LinkedList, that contains a node for each element.
+     * @since 1.3
+     */
+    static final SizeStrategy<Collection<?>> LINKED_LIST = new SizeStrategy<Collection<?>>() {
+
+        private final long nodeSize = nodeSize("java.util.LinkedList$Node", "LLL");
+
+        @Override
+        public long sizeof(final Collection<?> list, final SizeContext context) {
+            pushAll(list, context);
+            return context.shallowSizeof(list.getClass()) + list.size() * this.nodeSize;
+        }
+    };
+
+    /**
+     * The strategy from the ArrayDeque, that contains the circular elements array.
+     * @since 1.3
+     */
+    static final SizeStrategy<ArrayDeque<?>> ARRAY_DEQUE = new SizeStrategy<ArrayDeque<?>>() {
+
+        private final Field elements = internal(ArrayDeque.class, "elements");
+
+        @Override
+        public long sizeof(final ArrayDeque<?> deque, final SizeContext context) {
+            int capacity = length(this.elements, deque);
+            if (capacity < 0) {
+                final int size = deque.size();
+                if (context.layout().javaVersion() <= 8) {
+                    // @Note The capacity is a power of two that is greater than the size, and starts with 16.
+                    capacity = 16;
+                    while (capacity <= size) capacity <<= 1;
+                } else {
+                    // @Note The capacity starts with 17 and grows by the capacity more two when small, otherwise by
+                    // the half of the capacity.
+                    capacity = 17;
+                    while (capacity <= size) capacity += capacity < 64 ? capacity + 2 : capacity >> 1;
+                }
+            }
+            pushAll(deque, context);
+            return context.shallowSizeof(deque.getClass()) + context.layout().arraySize(Object.class, capacity);
+        }
+    };
+
+    /**
+     * The strategy from the CopyOnWriteArrayList, that contains an array with the exact size and the lock.
+     * @since 1.3
+     */
+    static final SizeStrategy<CopyOnWriteArrayList<?>> COPY_ON_WRITE_ARRAY_LIST = new SizeStrategy<CopyOnWriteArrayList<?>>() {
+
+        private final long lockSize = VmLayout.current().javaVersion() <= 8
+                ? ClassLayout.of(ReentrantLock.class).shallowSize() + nodeSize("java.util.concurrent.locks.ReentrantLock$NonfairSync", "LLLI")
+                : ClassLayout.of(Object.class).shallowSize();
+
+        @Override
+        public long sizeof(final CopyOnWriteArrayList<?> list, final SizeContext context) {
+            // @Note The iterator reads the array only once without copy it, then the size and the elements are
+            // consistent even when the list is modified by other thread.
+            final int elements = pushAll(list, context);
+            return context.shallowSizeof(list.getClass()) + this.lockSize + context.layout().arraySize(Object.class, elements);
+        }
+    };
+
+    /**
+     * The strategy from the HashMap, that contains the table and a node for each entry.
+     * @since 1.3
+     */
+    static final SizeStrategy<Map<?, ?>> HASH_MAP = new HashStrategy("java.util.HashMap$Node", HashMap.class);
+
+    /**
+     * The strategy from the LinkedHashMap, that contains the table and a linked entry for each entry.
+     * @since 1.3
+     */
+    static final SizeStrategy<Map<?, ?>> LINKED_HASH_MAP = new HashStrategy("java.util.LinkedHashMap$Entry", LinkedHashMap.class);
+
+    /**
+     * The strategy from the HashSet, that contains a HashMap that stores the elements as keys.
+     * @since 1.3
+     */
+    static final SizeStrategy<Collection<?>> HASH_SET = new HashSetStrategy(HashSet.class, (HashStrategy) HASH_MAP, HashMap.class);
+
+    /**
+     * The strategy from the LinkedHashSet, that contains a LinkedHashMap that stores the elements as keys.
+     * @since 1.3
+     */
+    static final SizeStrategy<Collection<?>> LINKED_HASH_SET = new HashSetStrategy(HashSet.class, (HashStrategy) LINKED_HASH_MAP, LinkedHashMap.class);
+
+    /**
+     * The strategy from the TreeMap, that contains an entry for each entry of the map.
+     * @since 1.3
+     */
+    static final SizeStrategy<Map<?, ?>> TREE_MAP = new SizeStrategy<Map<?, ?>>() {
+
+        private final long entrySize = nodeSize("java.util.TreeMap$Entry", "LLLLLZ");
+
+        @Override
+        public long sizeof(final Map<?, ?> map, final SizeContext context) {
+            final int entries = pushEntries(map, context);
+            return context.shallowSizeof(map.getClass()) + entries * this.entrySize;
+        }
+    };
+
+    /**
+     * The strategy from the TreeSet, that contains a TreeMap that stores the elements as keys.
+     * @since 1.3
+     */
+    static final SizeStrategy<Collection<?>> TREE_SET = new SizeStrategy<Collection<?>>() {
+
+        private final long entrySize = nodeSize("java.util.TreeMap$Entry", "LLLLLZ");
+
+        @Override
+        public long sizeof(final Collection<?> set, final SizeContext context) {
+            final int elements = pushAll(set, context);
+            return context.shallowSizeof(set.getClass()) + context.shallowSizeof(TreeMap.class) + elements * this.entrySize;
+        }
+    };
+
+    /**
+     * The strategy from the ConcurrentHashMap, that contains the table with the bins, a node for each entry and the
+     * counter cells that are created when the map is updated concurrently.
+     * @since 1.3
+     */
+    static final SizeStrategy<ConcurrentHashMap<?, ?>> CONCURRENT_HASH_MAP = new SizeStrategy<ConcurrentHashMap<?, ?>>() {
+
+        /**
+         * The padding that is added before and after the value of each counter cell, because the counter cell is
+         * annotated as contended.
+         */
+        private static final int CONTENDED_PADDING = 128;
+
+        private final Field table = internal(ConcurrentHashMap.class, "table");
+        private final Field counterCells = internal(ConcurrentHashMap.class, "counterCells");
+        private final long nodeSize = nodeSize("java.util.concurrent.ConcurrentHashMap$Node", "ILLL");
+        private final long cellSize = nodeSize("java.util.concurrent.ConcurrentHashMap$CounterCell", "J") + 2 * CONTENDED_PADDING;
+
+        @Override
+        public long sizeof(final ConcurrentHashMap<?, ?> map, final SizeContext context) {
+            final int entries = pushEntries(map, context);
+            int capacity = length(this.table, map);
+            if (capacity < 0) {
+                capacity = tableCapacity(entries);
+            }
+            final VmLayout vm = context.layout();
+            long size = context.shallowSizeof(map.getClass()) + entries * this.nodeSize;
+            if (capacity > 0) {
+                size += vm.arraySize(Object.class, capacity);
+            }
+            // @Note The counter cells are calculated only when can be read, because the cells are created only when
+            // the map is updated concurrently.
+            final int cells = length(this.counterCells, map);
+            if (cells > 0) {
+                size += vm.arraySize(Object.class, cells) + cells * this.cellSize;
+            }
+            return size;
+        }
+    };
+
+    /**
+     * The generic strategy from the collections that can not be read by the reflection, the collection is calculated
+     * with an array that contains a reference to each element.
+     * @since 1.3
+     */
+    static final SizeStrategy<Collection<?>> GENERIC_COLLECTION = new SizeStrategy<Collection<?>>() {
+        @Override
+        public long sizeof(final Collection<?> collection, final SizeContext context) {
+            final int elements = pushAll(collection, context);
+            return context.shallowSizeof(collection.getClass()) + (elements == 0 ? 0 : context.layout().arraySize(Object.class, elements));
+        }
+    };
+
+    /**
+     * The generic strategy from the maps that can not be read by the reflection, the map is calculated like a hash
+     * table with a node for each entry.
+     * @since 1.3
+     */
+    static final SizeStrategy<Map<?, ?>> GENERIC_MAP = new SizeStrategy<Map<?, ?>>() {
+        @Override
+        public long sizeof(final Map<?, ?> map, final SizeContext context) {
+            final int entries = pushEntries(map, context);
+            return context.shallowSizeof(map.getClass()) + (entries == 0 ? 0 : context.layout().arraySize(Object.class, tableCapacity(entries)))
+                    + entries * GENERIC_NODE_SIZE;
+        }
+    };
+
+    /**
+     * This class represents the strategy from the hash maps, that contains the table and a node for each entry.
+     * @since 1.3
+     */
+    private static final class HashStrategy implements SizeStrategy<Map<?, ?>> {
+
+        private final Field table;
+        private final long nodeSize;
+
+        private HashStrategy(final String nodeClass, final Class<?> type) {
+            this.table = internal(type, "table");
+            this.nodeSize = nodeSize(nodeClass, "ILLL");
+        }
+
+        @Override
+        public long sizeof(final Map<?, ?> map, final SizeContext context) {
+            return context.shallowSizeof(map.getClass()) + this.structureSize(map, pushEntries(map, context), context);
+        }
+
+        /**
+         * This method calculates the size from the table and from the nodes.
+         *
+         * @param map the input map.
+         * @param entries the quantity of entries.
+         * @param context the context from the calculation.
+         * @return the size from the table and from the nodes.
+         * @since 1.3
+         */
+        long structureSize(final Map<?, ?> map, final int entries, final SizeContext context) {
+            int capacity = map == null ? -1 : length(this.table, map);
+            if (capacity < 0) {
+                capacity = tableCapacity(entries);
+            }
+            return (capacity == 0 ? 0 : context.layout().arraySize(Object.class, capacity)) + entries * this.nodeSize;
+        }
+    }
+
+    /**
+     * This class represents the strategy from the hash sets, that contains a hash map that stores the elements as keys.
+     * @since 1.3
+     */
+    private static final class HashSetStrategy implements SizeStrategy<Collection<?>> {
+
+        private final Field map;
+        private final HashStrategy strategy;
+        private final Class<?> mapType;
+
+        private HashSetStrategy(final Class<?> type, final HashStrategy strategy, final Class<?> mapType) {
+            this.map = internal(type, "map");
+            this.strategy = strategy;
+            this.mapType = mapType;
+        }
+
+        @Override
+        public long sizeof(final Collection<?> set, final SizeContext context) {
+            final int elements = pushAll(set, context);
+            Object map = null;
+            if (this.map != null) {
+                try {
+                    map = this.map.get(set);
+                } catch (IllegalAccessException e) {
+                    map = null;
+                    ScalerMetrics.fieldSkipped();
+                }
+            }
+            return context.shallowSizeof(set.getClass()) + context.shallowSizeof(map != null ? map.getClass() : this.mapType)
+                    + this.strategy.structureSize((Map<?, ?>) map, elements, context);
+        }
+    }
+
+    /**
+     * This method estimates the size from the collection or map by the quantity of elements, without iterate the
+     * elements, like the generic strategies. This method is used when the collection can not be iterated because the
+     * collection is modified by other thread.
+     *
+     * @param object the input collection or map.
+     * @param context the context from the calculation.
+     * @return the estimated size from the collection and from the backing structure.
+     * @since 1.3
+     */
+    static long estimateStructure(final Object object, final SizeContext context) {
+        final long shallow = context.shallowSizeof(object.getClass());
+        if (object instanceof Map) {
+            final int entries = ((Map<?, ?>) object).size();
+            return shallow + (entries == 0 ? 0 : context.layout().arraySize(Object.class, tableCapacity(entries)))
+                    + entries * GENERIC_NODE_SIZE;
+        } else if (object instanceof Collection) {
+            final int elements = ((Collection<?>) object).size();
+            return shallow + (elements == 0 ? 0 : context.layout().arraySize(Object.class, elements));
+        }
+        return shallow;
+    }
+
+    /**
+     * This method pushes the all elements from the collection to the context.
+     *
+     * @param collection the input collection.
+     * @param context the context from the calculation.
+     * @return the quantity of elements.
+     * @since 1.3
+     */
+    static int pushAll(final Collection<?> collection, final SizeContext context) {
+        int elements = 0;
+        for (final Object element : collection) {
+            context.push(element);
+            elements++;
+        }
+        return elements;
+    }
+
+    /**
+     * This method pushes the all keys and values from the map to the context.
+     *
+     * @param map the input map.
+     * @param context the context from the calculation.
+     * @return the quantity of entries.
+     * @since 1.3
+     */
+    static int pushEntries(final Map<?, ?> map, final SizeContext context) {
+        int entries = 0;
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            context.push(entry.getKey());
+            context.push(entry.getValue());
+            entries++;
+        }
+        return entries;
+    }
+
+    /**
+     * This method calculates the capacity from the table of a hash map, the table starts with 16 buckets and is doubled
+     * when the quantity of entries is greater than the three quarters of the capacity.
+     *
+     * @param entries the quantity of entries.
+     * @return the capacity from the table, that is zero when the map is empty.
+     * @since 1.3
+     */
+    static int tableCapacity(final int entries) {
+        if (entries == 0) {
+            return 0;
+        }
+        int capacity = 16;
+        while (capacity < (1 << 30) && capacity * 3L / 4 < entries) capacity <<= 1;
+        return capacity;
+    }
+
+    /**
+     * This method gets the accessible internal field from a class.
+     *
+     * @param type the input class.
+     * @param name the name from the field.
+     * @return the accessible field, or null if the field can not be read.
+     * @since 1.3
+     */
+    private static Field internal(final Class<?> type, final String name) {
+        return ClassLayout.of(type).reference(name);
+    }
+
+    /**
+     * This method reads the length from the array that is stored in the internal field of the object.
+     *
+     * @param field the internal field.
+     * @param object the input object.
+     * @return the length from the array, zero if the array is null, or -1 if the field can not be read.
+     * @since 1.3
+     */
+    private static int length(final Field field, final Object object) {
+        if (field == null) {
+            return -1;
+        }
+        try {
+            final Object array = field.get(object);
+            return array == null ? 0 : Array.getLength(array);
+        } catch (IllegalAccessException e) {
+            ScalerMetrics.fieldSkipped();
+            return -1;
+        }
+    }
+
+    /**
+     * This method calculates the shallow size from an internal node class, when the class do not exists in this
+     * virtual machine the size is calculated by the descriptors from the fields.
+     *
+     * @param className the name from the node class.
+     * @param descriptors the descriptors from the fields of the node class.
+     * @return the shallow size from the node class.
+     * @since 1.3
+     */
+    private static long nodeSize(final String className, final String descriptors) {
+        try {
+            return ClassLayout.of(Class.forName(className)).shallowSize();
+        } catch (ClassNotFoundException e) {
+            return VmLayout.current().instanceSize(descriptors);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.biologyiswell.scaler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class represents the writer from the bytes of the constant reader class, that is defined as a hidden class for
+ * each reader that composes the method handles. The handles are stored in the static final fields from the class,
+ * that the JIT compiler treats as constants, then the reads from the handles are inlined. The class is equivalent to:
+ *
+ * <pre>
+ * final class FieldReader$Constant extends FieldReader {
+ *
+ *     private static final MethodHandle READER = FieldReader.constant(0);
+ *     private static final MethodHandle STREAMER = FieldReader.constant(1);
+ *
+ *     Object[] read(Object object) {
+ *         return (Object[]) READER.invokeExact(object);
+ *     }
+ *
+ *     void read(Object object, SizeContext context) {
+ *         STREAMER.invokeExact(object, context);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author biologyiswell (19/10/2026 11:20)
+ * @since 1.3
+ */
+final class ConstantReaderClass {
+
+    private static final String NAME = "io/github/biologyiswell/scaler/FieldReader$Constant";
+    private static final String SUPER_NAME = "io/github/biologyiswell/scaler/FieldReader";
+    private static final String HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String HANDLE_DESCRIPTOR = "Ljava/lang/invoke/MethodHandle;";
+    private static final String READ_DESCRIPTOR = "(Ljava/lang/Object;)[Ljava/lang/Object;";
+    private static final String STREAM_DESCRIPTOR = "(Ljava/lang/Object;Lio/github/biologyiswell/scaler/SizeContext;)V";
+
+    /**
+     * The tags from the constant pool entries, the access flags and the opcodes that are used by the class.
+     * @since 1.3
+     */
+    private static final int UTF8 = 1, CLASS = 7, FIELD_REF = 9, METHOD_REF = 10, NAME_AND_TYPE = 12;
+    private static final int ACC_PRIVATE = 0x0002, ACC_STATIC = 0x0008, ACC_FINAL = 0x0010, ACC_SUPER = 0x0020;
+    private static final int ICONST_0 = 0x03, ICONST_1 = 0x04, ALOAD_0 = 0x2a, ALOAD_1 = 0x2b, ALOAD_2 = 0x2c, ARETURN = 0xb0,
+            RETURN = 0xb1, GETSTATIC = 0xb2, PUTSTATIC = 0xb3, INVOKEVIRTUAL = 0xb6, INVOKESPECIAL = 0xb7,
+            INVOKESTATIC = 0xb8;
+
+    /**
+     * The entries from the constant pool, each entry is keyed by the content from the entry.
+     * @since 1.3
+     */
+    private final Map<String, Integer> constants = new LinkedHashMap<>();
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final DataOutputStream poolOutput = new DataOutputStream(this.pool);
+
+    // non-instantiate.
+    private ConstantReaderClass() {
+    }
+
+    /**
+     * This method writes the bytes from the constant reader class.
+     *
+     * @return the bytes from the class.
+     * @since 1.3
+     */
+    static byte[] bytes() {
+        try {
+            return new ConstantReaderClass().write();
+        } catch (IOException e) {
+            // @Note The bytes are written in the memory.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] write() throws IOException {
+        final int thisClass = this.classEntry(NAME);
+        final int superClass = this.classEntry(SUPER_NAME);
+        final int reader = this.member(FIELD_REF, NAME, "READER", HANDLE_DESCRIPTOR);
+        final int streamer = this.member(FIELD_REF, NAME, "STREAMER", HANDLE_DESCRIPTOR);
+        final int constant = this.member(METHOD_REF, SUPER_NAME, "constant", "(I)" + HANDLE_DESCRIPTOR);
+        final int superConstructor = this.member(METHOD_REF, SUPER_NAME, "<init>", "()V");
+        final int invokeRead = this.member(METHOD_REF, HANDLE, "invokeExact", READ_DESCRIPTOR);
+        final int invokeStream = this.member(METHOD_REF, HANDLE, "invokeExact", STREAM_DESCRIPTOR);
+        final int code = this.utf8("Code");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final ByteArrayOutputStream members = new ByteArrayOutputStream();
+        final DataOutputStream memberOutput = new DataOutputStream(members);
+        // @Note The fields.
+        memberOutput.writeShort(2);
+        for (final String field : new String[]{"READER", "STREAMER"}) {
+            memberOutput.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+            memberOutput.writeShort(this.utf8(field));
+            memberOutput.writeShort(this.utf8(HANDLE_DESCRIPTOR));
+            memberOutput.writeShort(0);
+        }
+        // @Note The methods, the static initializer receives the handles from the reader that is being initialized.
+        memberOutput.writeShort(4);
+        this.method(memberOutput, ACC_STATIC, "<clinit>", "()V", code, 1, 0,
+                ICONST_0, INVOKESTATIC, constant >> 8, constant & 0xFF, PUTSTATIC, reader >> 8, reader & 0xFF,
+                ICONST_1, INVOKESTATIC, constant >> 8, constant & 0xFF, PUTSTATIC, streamer >> 8, streamer & 0xFF,
+                RETURN);
+        this.method(memberOutput, 0, "<init>", "()V", code, 1, 1,
+                ALOAD_0, INVOKESPECIAL, superConstructor >> 8, superConstructor & 0xFF, RETURN);
+        this.method(memberOutput, 0, "read", READ_DESCRIPTOR, code, 2, 2,
+                GETSTATIC, reader >> 8, reader & 0xFF, ALOAD_1, INVOKEVIRTUAL, invokeRead >> 8, invokeRead & 0xFF, ARETURN);
+        this.method(memberOutput, 0, "read", STREAM_DESCRIPTOR, code, 3, 3,
+                GETSTATIC, streamer >> 8, streamer & 0xFF, ALOAD_1, ALOAD_2, INVOKEVIRTUAL, invokeStream >> 8,
+                invokeStream & 0xFF, RETURN);
+        // @Note The class attributes.
+        memberOutput.writeShort(0);
+
+        output.writeInt(0xCAFEBABE);
+        // @Note The version from the Java 8.
+        output.writeShort(0);
+        output.writeShort(52);
+        output.writeShort(this.constants.size() + 1);
+        this.pool.writeTo(output);
+        output.writeShort(ACC_FINAL | ACC_SUPER);
+        output.writeShort(thisClass);
+        output.writeShort(superClass);
+        // @Note The interfaces.
+        output.writeShort(0);
+        members.writeTo(output);
+        return bytes.toByteArray();
+    }
+
+    private void method(final DataOutputStream output, final int access, final String name, final String descriptor,
+                        final int code, final int maxStack, final int maxLocals, final int... instructions) throws IOException {
+        output.writeShort(access);
+        output.writeShort(this.utf8(name));
+        output.writeShort(this.utf8(descriptor));
+        output.writeShort(1);
+        output.writeShort(code);
+        // @Note The length from the attribute: the stack, the locals, the code, the exceptions and the attributes.
+        output.writeInt(2 + 2 + 4 + instructions.length + 2 + 2);
+        output.writeShort(maxStack);
+        output.writeShort(maxLocals);
+        output.writeInt(instructions.length);
+        for (final int instruction : instructions) {
+            output.writeByte(instruction);
+        }
+        output.writeShort(0);
+        output.writeShort(0);
+    }
+
+    private int utf8(final String value) throws IOException {
+        final Integer index = this.constants.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+        this.poolOutput.writeByte(UTF8);
+        this.poolOutput.writeUTF(value);
+        return this.add("U" + value);
+    }
+
+    private int classEntry(final String name) throws IOException {
+        final int utf8 = this.utf8(name);
+        final Integer index = this.constants.get("C" + name);
+        if (index != null) {
+            return index;
+        }
+        this.poolOutput.writeByte(CLASS);
+        this.poolOutput.writeShort(utf8);
+        return this.add("C" + name);
+    }
+
+    private int member(final int tag, final String owner, final String name, final String descriptor) throws IOException {
+        final int ownerIndex = this.classEntry(owner);
+        final int nameIndex = this.utf8(name);
+        final int descriptorIndex = this.utf8(descriptor);
+        final String key = "N" + name + ":" + descriptor;
+        Integer nameAndType = this.constants.get(key);
+        if (nameAndType == null) {
+            this.poolOutput.writeByte(NAME_AND_TYPE);
+            this.poolOutput.writeShort(nameIndex);
+            this.poolOutput.writeShort(descriptorIndex);
+            nameAndType = this.add(key);
+        }
+        this.poolOutput.writeByte(tag);
+        this.poolOutput.writeShort(ownerIndex);
+        this.poolOutput.writeShort(nameAndType);
+        return this.add(tag + owner + "." + name + descriptor);
+    }
+
+    private int add(final String key) {
+        final int index = this.constants.size() + 1;
+        this.constants.put(key, index);
+        return index;
+    }
+}
@@ -0,0 +1,284 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * This class represents the reader from the reference fields of a class. The reader reads the all accessible reference
+ * fields from an object at once, and the values are returned in the same order from the references of the layout, or
+ * are pushed to a context without allocate an array.
+ *
+ * @author biologyiswell (18/10/2026 15:02)
+ * @since 1.3
+ */
+abstract class FieldReader {
+
+    /**
+     * The values that are returned by the readers from classes that not contains reference fields.
+     * @since 1.3
+     */
+    static final Object[] NO_VALUES = new Object[0];
+
+    /**
+     * The maximum quantity of reference fields that can be composed in a single method handle, because the method
+     * handles has a limit of parameters.
+     * @since 1.3
+     */
+    private static final int MAXIMUM_COMPOSED_FIELDS = 200;
+
+    /**
+     * The method "Lookup#defineHiddenClass" and the empty options from the method, or null when the hidden classes do
+     * not exists in this Java version.
+     * @since 1.3
+     */
+    private static final Method DEFINE_HIDDEN_CLASS;
+    private static final Object NO_CLASS_OPTIONS;
+
+    /**
+     * The bytes from the class of the constant readers, that is the same class for the all readers because the
+     * handles are given to each class by the method "constant" when the class is initialized.
+     * @since 1.3
+     */
+    private static final byte[] CONSTANT_READER_CLASS = ConstantReaderClass.bytes();
+
+    /**
+     * The handles that are given to the constant reader that is being initialized by the thread.
+     * @since 1.3
+     */
+    private static final ThreadLocal<MethodHandle[]> PENDING_HANDLES = new ThreadLocal<>();
+
+    static {
+        Method defineHiddenClass = null;
+        Object options = null;
+        try {
+            final Class<?> optionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            options = Array.newInstance(optionType, 0);
+            defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class, options.getClass());
+        } catch (ReflectiveOperationException e) {
+            // @Note The hidden classes exists only since the Java 15, then the handles are read from the fields.
+        }
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        NO_CLASS_OPTIONS = options;
+    }
+
+    /**
+     * This method reads the all reference fields from the object.
+     *
+     * @param object the input object.
+     * @return the values from the reference fields.
+     * @since 1.3
+     */
+    abstract Object[] read(Object object);
+
+    /**
+     * This method reads the all reference fields from the object and pushes the values to the context, in the same
+     * order from the references of the layout.
+     *
+     * @param object the input object.
+     * @param context the context that receives the values.
+     * @since 1.3
+     */
+    abstract void read(Object object, SizeContext context);
+
+    /**
+     * This method creates the reader that uses the reflection from the fields to read the values.
+     *
+     * @param fields the reference fields.
+     * @return the reflective reader.
+     * @since 1.3
+     */
+    static FieldReader reflective(final Field[] fields) {
+        return fields.length == 0 ? Empty.INSTANCE : new Reflective(fields);
+    }
+
+    /**
+     * This method creates the reader that composes the getters from the all fields in a single method handle, that
+     * the JIT compiler can inline the all reads from the object. Since the Java 15 the handles are stored in the static
+     * final fields from a hidden class for each reader, that the JIT compiler treats as constants, otherwise the
+     * handles are stored in the fields from the reader. When the fields can not be composed the reflective reader is
+     * returned.
+     *
+     * @param fields the reference fields.
+     * @return the method handle reader.
+     * @since 1.3
+     */
+    static FieldReader methodHandle(final Field[] fields) {
+        if (fields.length == 0) {
+            return Empty.INSTANCE;
+        }
+        if (fields.length > MAXIMUM_COMPOSED_FIELDS) {
+            return new Reflective(fields);
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+            final MethodHandle[] getters = new MethodHandle[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                // @Note The fields from the layout are accessible, then the getter do not make the access checks.
+                getters[i] = lookup.unreflectGetter(fields[i]).asType(getterType);
+            }
+            // @Note The collector receives the values from the all getters and returns the values array, then the
+            // permutation make the all getters receive the same object: (Object)Object[].
+            final MethodHandle collector = MethodHandles.identity(Object[].class).asCollector(Object[].class, fields.length);
+            final MethodHandle reader = MethodHandles.permuteArguments(MethodHandles.filterArguments(collector, 0, getters),
+                    MethodType.methodType(Object[].class, Object.class), new int[fields.length]);
+            // @Note Each step pushes the value from a getter: (SizeContext,Object)void, and the steps are folded in a
+            // balanced tree, then the depth from the handle do not passes the inline depth from the JIT compiler.
+            final MethodHandle push = lookup.findVirtual(SizeContext.class, "push", MethodType.methodType(void.class, Object.class));
+            final MethodHandle[] steps = new MethodHandle[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                steps[i] = MethodHandles.filterArguments(push, 1, getters[i]);
+            }
+            final MethodHandle streamer = MethodHandles.permuteArguments(fold(steps, 0, steps.length),
+                    MethodType.methodType(void.class, Object.class, SizeContext.class), 1, 0);
+            final FieldReader constant = constant(reader, streamer);
+            return constant != null ? constant : new Composed(reader, streamer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new Reflective(fields);
+        }
+    }
+
+    private static MethodHandle fold(final MethodHandle[] steps, final int from, final int to) {
+        if (to - from == 1) {
+            return steps[from];
+        }
+        final int middle = (from + to) >>> 1;
+        return MethodHandles.foldArguments(fold(steps, middle, to), fold(steps, from, middle));
+    }
+
+    /**
+     * This method defines the hidden class that stores the handles in the static final fields.
+     *
+     * @param reader the handle that reads the values to an array.
+     * @param streamer the handle that pushes the values to a context.
+     * @return the reader from the hidden class, or null when the hidden class can not be defined.
+     * @since 1.3
+     */
+    private static FieldReader constant(final MethodHandle reader, final MethodHandle streamer) {
+        if (DEFINE_HIDDEN_CLASS == null) {
+            return null;
+        }
+        PENDING_HANDLES.set(new MethodHandle[]{reader, streamer});
+        try {
+            // @Note The hidden class is not strong, then the class is unloaded with the layout from the class.
+            final MethodHandles.Lookup lookup = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(MethodHandles.lookup(),
+                    CONSTANT_READER_CLASS, true, NO_CLASS_OPTIONS);
+            return (FieldReader) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            return null;
+        } finally {
+            PENDING_HANDLES.remove();
+        }
+    }
+
+    /**
+     * This method gives the handle to the constant reader that is being initialized, this method is called by the
+     * static initializer from the hidden class.
+     *
+     * @param index 0 for the handle that reads to an array, and 1 for the handle that pushes to a context.
+     * @return the handle.
+     * @since 1.3
+     */
+    static MethodHandle constant(final int index) {
+        return PENDING_HANDLES.get()[index];
+    }
+
+    /**
+     * This class represents the reader from the classes that not contains reference fields.
+     * @since 1.3
+     */
+    private static final class Empty extends FieldReader {
+
+        private static final Empty INSTANCE = new Empty();
+
+        @Override
+        Object[] read(final Object object) {
+            return NO_VALUES;
+        }
+
+        @Override
+        void read(final Object object, final SizeContext context) {
+        }
+    }
+
+    /**
+     * This class represents the reader that uses the reflection from the fields.
+     * @since 1.3
+     */
+    private static final class Reflective extends FieldReader {
+
+        private final Field[] fields;
+
+        private Reflective(final Field[] fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        Object[] read(final Object object) {
+            final Object[] values = new Object[this.fields.length];
+            for (int i = 0; i < values.length; i++) {
+                try {
+                    values[i] = this.fields[i].get(object);
+                } catch (IllegalAccessException e) {
+                    // @Note The field that can not be read is calculated as a null reference.
+                    values[i] = null;
+                    ScalerMetrics.fieldSkipped();
+                }
+            }
+            return values;
+        }
+
+        @Override
+        void read(final Object object, final SizeContext context) {
+            for (final Field field : this.fields) {
+                try {
+                    context.push(field.get(object));
+                } catch (IllegalAccessException e) {
+                    ScalerMetrics.fieldSkipped();
+                }
+            }
+        }
+    }
+
+    /**
+     * This class represents the reader that uses the composed method handles from the all getters, that are stored in
+     * the fields from the reader when the hidden classes do not exists.
+     * @since 1.3
+     */
+    private static final class Composed extends FieldReader {
+
+        private final MethodHandle reader;
+        private final MethodHandle streamer;
+
+        private Composed(final MethodHandle reader, final MethodHandle streamer) {
+            this.reader = reader;
+            this.streamer = streamer;
+        }
+
+        @Override
+        Object[] read(final Object object) {
+            try {
+                return (Object[]) this.reader.invokeExact(object);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("An error occured when read the fields from (" + object.getClass().getName() + ").", e);
+            }
+        }
+
+        @Override
+        void read(final Object object, final SizeContext context) {
+            try {
+                this.streamer.invokeExact(object, context);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("An error occured when read the fields from (" + object.getClass().getName() + ").", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents the walker from an object graph, that calculates the deep size from the objects. The walker
+ * uses an explicit stack instead of the recursion, then graphs with millions of objects do not overflow the thread
+ * stack, and each object is counted only once because the visited objects are stored in an identity set.
+ *
+ * @author biologyiswell (18/10/2026 16:05)
+ * @since 1.3
+ */
+final class GraphWalker implements SizeContext {
+
+    /**
+     * The engine that reads the reference fields from the objects.
+     * @since 1.3
+     */
+    private final SizingEngine engine;
+
+    /**
+     * The filter from the canonical instances, that are not calculated when are referenced by the objects.
+     * @since 1.3
+     */
+    private final CanonicalFilter filter;
+
+    /**
+     * The profile from the virtual machine that is used to calculate the sizes.
+     * @since 1.3
+     */
+    private final VmLayout vm = VmLayout.current();
+
+    /**
+     * The objects that has been found by the walker.
+     * @since 1.3
+     */
+    private final IdentitySet visited = new IdentitySet();
+
+    /**
+     * The stack from the objects that has been found but not has been calculated.
+     * @since 1.3
+     */
+    private Object[] stack = new Object[64];
+
+    /**
+     * The quantity of objects that contains in the stack.
+     * @since 1.3
+     */
+    private int depth;
+
+    /**
+     * This field represents if the last bounded walk has calculated the all objects.
+     * @since 1.3
+     */
+    private boolean complete;
+
+    /**
+     * The quantity of times that a strategy is retried when the object is modified during the calculation, in the
+     * concurrent mode.
+     * @since 1.3
+     */
+    private static final int RETRIES = 3;
+
+    /**
+     * This field represents if the walker is in the concurrent mode, that retries the strategies that fails because the
+     * object has been modified by other thread.
+     * @since 1.3
+     */
+    private final boolean concurrent;
+
+    /**
+     * The objects that are pushed by a strategy in the concurrent mode, that are pushed to the stack only when the
+     * strategy has been completed, then the objects from a failed attempt are not marked as found.
+     * @since 1.3
+     */
+    private Object[] buffer;
+    private int buffered;
+    private boolean buffering;
+
+    /**
+     * The quantity of objects that has been estimated because the objects has been modified in the all attempts.
+     * @since 1.3
+     */
+    private int estimated;
+
+    /**
+     * The class from the last object that has been visited, and the strategy and the layout from the class.
+     * @since 1.3
+     */
+    private Class<?> runType;
+    private SizeStrategy<Object> runStrategy;
+    private ClassLayout runLayout;
+    private boolean runMemoized;
+
+    /**
+     * The cache from the deep sizes of the immutable objects, or null when the sizes are not cached.
+     * @since 1.3
+     */
+    private SizeMemo memo;
+
+    /**
+     * The object that is calculated by this walker to be cached, the objects that are calculated are recorded with
+     * the size from each one, and the record is cyclic when an object references the root back.
+     * @since 1.3
+     */
+    private Object memoRoot;
+    private long memoRootBytes;
+    private Object[] recorded;
+    private long[] recordedSizes;
+    private int recordedCount;
+    private boolean cyclic;
+
+    /**
+     * The native memory that has been reported by the objects, or null when the native memory is not accounted.
+     * @since 1.3
+     */
+    private NativeRanges natives;
+
+    GraphWalker(final SizingEngine engine) {
+        this(engine, CanonicalFilter.NONE);
+    }
+
+    GraphWalker(final SizingEngine engine, final CanonicalFilter filter) {
+        this(engine, filter, false);
+    }
+
+    GraphWalker(final SizingEngine engine, final CanonicalFilter filter, final boolean concurrent) {
+        this.engine = engine;
+        this.filter = filter;
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * This method calculates the deep size from the object, the objects that has been calculated by previous calls
+     * from the same walker are not calculated again.
+     *
+     * @param root the input object.
+     * @return the deep size from the object.
+     * @since 1.3
+     */
+    long walk(final Object root) {
+        // @Note The root is calculated even when the root is a canonical instance, because the root is the object that
+        // has been requested, and only the canonical instances referenced by the root are not calculated.
+        if (root != null && this.visited.add(root)) {
+            this.enqueue(root);
+        }
+        return this.drain();
+    }
+
+    /**
+     * This method calculates the deep size from the object until the size passes the limit or the timeout expires, then
+     * the size is a lower bound from the deep size when the walk has not been completed.
+     *
+     * @param root the input object.
+     * @param limit the maximum size that is calculated.
+     * @param timeout the maximum time in nanoseconds, or Long.MAX_VALUE when the walk has not a timeout. The timeout
+     * that is not positive has already expired, then no object is visited.
+     * @return the deep size from the object, or a lower bound when the walk has not been completed.
+     * @since 1.3
+     * @see #complete()
+     */
+    long walk(final Object root, final long limit, final long timeout) {
+        final long start = System.nanoTime();
+        if (root != null && this.visited.add(root)) {
+            this.enqueue(root);
+        }
+        // @Note The time is checked only after some objects, then the timeout that has already expired is checked
+        // before the first visit.
+        if (timeout <= 0 && this.depth > 0) {
+            this.complete = false;
+            return 0;
+        }
+        long size = 0;
+        int visits = 0;
+        while (this.depth > 0) {
+            final Object object = this.stack[this.depth - 1];
+            final Class<?> type = object.getClass();
+            // @Note The size from the array is known before the elements are pushed, then a large array that passes
+            // the limit is not walked.
+            if (type.isArray()) {
+                final long arraySize = this.vm.arraySize(type.getComponentType(), Array.getLength(object));
+                if (size + arraySize > limit) {
+                    this.complete = false;
+                    return size + arraySize;
+                }
+            }
+            this.stack[--this.depth] = null;
+            size += this.visit(object);
+            // @Note The time is checked only after some objects, because the time is more expensive than the visit.
+            if (size > limit || (timeout != Long.MAX_VALUE && (++visits & 0xFF) == 0 && System.nanoTime() - start > timeout)) {
+                this.complete = this.depth == 0 && size <= limit;
+                return size;
+            }
+        }
+        this.complete = true;
+        return size;
+    }
+
+    /**
+     * @return true if the last bounded walk has calculated the all objects, otherwise false.
+     * @since 1.3
+     */
+    boolean complete() {
+        return this.complete;
+    }
+
+    /**
+     * This method makes the walker account the native memory that is reported by the objects, like the direct buffers
+     * and the native memory holders.
+     *
+     * @return the native memory that is reported by the next walks.
+     * @since 1.3
+     */
+    NativeRanges trackNatives() {
+        if (this.natives == null) {
+            this.natives = new NativeRanges();
+        }
+        return this.natives;
+    }
+
+    /**
+     * This method uses the cache from the deep sizes, then the immutable objects are calculated as a whole and the
+     * size is cached, and the next walks reuses the size from the cache.
+     *
+     * @param memo the cache from the deep sizes.
+     * @return this walker.
+     * @since 1.3
+     */
+    GraphWalker memoize(final SizeMemo memo) {
+        this.memo = memo == SizeMemo.NONE ? null : memo;
+        return this;
+    }
+
+    /**
+     * @return the quantity of objects that has been found by the walker.
+     * @since 1.3
+     */
+    int visits() {
+        return this.visited.size();
+    }
+
+    /**
+     * This method calculates the deep size from an element of a container, the element is not calculated when is a
+     * canonical instance, like the elements from the container that are calculated by the walk from the container.
+     *
+     * @param element the input element.
+     * @return the deep size from the element.
+     * @since 1.3
+     */
+    long walkElement(final Object element) {
+        this.push(element);
+        return this.drain();
+    }
+
+    /**
+     * This method calculates the objects from the stack until the stack is empty.
+     *
+     * @return the size from the objects that has been calculated.
+     * @since 1.3
+     */
+    private long drain() {
+        long size = 0;
+        while (this.depth > 0) {
+            final Object object = this.stack[--this.depth];
+            this.stack[this.depth] = null;
+            final long bytes = this.visit(object);
+            if (this.memoRoot != null) {
+                this.record(object, bytes);
+            }
+            size += bytes;
+        }
+        return size;
+    }
+
+    /**
+     * This method marks the object as found, then the object is not calculated by the next calls.
+     *
+     * @param object the input object.
+     * @since 1.3
+     */
+    void exclude(final Object object) {
+        this.visited.add(object);
+    }
+
+    /**
+     * This method calculates the size from the object and pushes the objects that are referenced by the object.
+     *
+     * @param object the input object.
+     * @return the size from the object.
+     * @since 1.3
+     */
+    private long visit(final Object object) {
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            final Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return this.vm.arraySize(component, Array.getLength(object));
+            }
+            final Object[] array = (Object[]) object;
+            for (final Object element : array) {
+                this.push(element);
+            }
+            return this.vm.arraySize(component, array.length);
+        }
+        if (this.natives != null && object instanceof NativeMemoryHolder) {
+            final NativeMemoryHolder holder = (NativeMemoryHolder) object;
+            this.natives.add(holder, holder.nativeAddress(), holder.nativeBytes(), false);
+        }
+        // @Note The elements from an array are visited in sequence, then the objects from the same class are visited
+        // in runs and the strategy and the layout are resolved only when the class changes.
+        if (type != this.runType) {
+            this.runType = type;
+            this.runStrategy = SizeStrategies.resolve(type);
+            this.runLayout = this.runStrategy == null ? ClassLayout.of(type) : null;
+            this.runMemoized = this.memo != null && this.memo.isMemoizable(type);
+        }
+        if (this.runMemoized) {
+            return this.visitMemoized(object);
+        }
+        // @Note The strategy calculates the object and the internal structures, and pushes the referenced objects.
+        final SizeStrategy<Object> strategy = this.runStrategy;
+        if (strategy != null) {
+            return this.concurrent ? this.visitConcurrently(object, strategy) : strategy.sizeof(object, this);
+        }
+        final ClassLayout layout = this.runLayout;
+        if (type == String.class) {
+            // @Note The characters from the string are calculated by the length, because the internal array from the
+            // string can not be read when the "java.lang" package is not opened.
+            return layout.shallowSize(object) + this.vm.stringValueSize((String) object);
+        }
+        layout.reader(this.engine).read(object, this);
+        return layout.shallowSize(object);
+    }
+
+    /**
+     * This method calculates the immutable object by the objects that are reachable from the object, that are cached.
+     * When the object has not been cached the object is calculated by a new walker that records the reachable objects,
+     * then the objects are marked as found by this walker and only the objects that has not been found before are
+     * counted, like the objects that are shared with the rest from the graph.
+     *
+     * @param object the immutable object.
+     * @return the size from the object and from the reachable objects that has not been found before.
+     * @since 1.3
+     */
+    private long visitMemoized(final Object object) {
+        SizeMemo.Subgraph subgraph = this.memo.get(object);
+        if (subgraph == null) {
+            final GraphWalker walker = new GraphWalker(this.engine, this.filter);
+            subgraph = walker.subgraph(object);
+            // @Note The reachable objects are referenced strongly by the cache, then an object that references the
+            // root back would retain the root and is not cached.
+            if (!walker.cyclic) {
+                this.memo.put(object, subgraph);
+            }
+        }
+        long size = subgraph.rootBytes;
+        final Object[] objects = subgraph.objects;
+        for (int i = 0; i < objects.length; i++) {
+            if (this.visited.add(objects[i])) {
+                size += subgraph.sizes[i];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * This method calculates the object and records the objects that are reachable from the object, the objects that
+     * has been found by previous calls from the same walker are not recorded.
+     *
+     * @param root the input object.
+     * @return the objects that are reachable from the object, with the size from each one.
+     * @since 1.3
+     */
+    SizeMemo.Subgraph subgraph(final Object root) {
+        this.memoRoot = root;
+        this.memoRootBytes = 0;
+        this.recorded = new Object[16];
+        this.recordedSizes = new long[16];
+        this.recordedCount = 0;
+        this.walk(root);
+        return new SizeMemo.Subgraph(this.memoRootBytes, Arrays.copyOf(this.recorded, this.recordedCount),
+                Arrays.copyOf(this.recordedSizes, this.recordedCount));
+    }
+
+    private void record(final Object object, final long bytes) {
+        if (object == this.memoRoot) {
+            this.memoRootBytes = bytes;
+            return;
+        }
+        if (this.recordedCount == this.recorded.length) {
+            this.recorded = Arrays.copyOf(this.recorded, this.recordedCount << 1);
+            this.recordedSizes = Arrays.copyOf(this.recordedSizes, this.recordedCount << 1);
+        }
+        this.recorded[this.recordedCount] = object;
+        this.recordedSizes[this.recordedCount++] = bytes;
+    }
+
+    /**
+     * This method calculates the object by the strategy in the concurrent mode. The collections that are not thread
+     * safe can fail when are modified by other thread during the iteration, even by a NullPointerException or a
+     * ClassCastException from a map that is read during a resize or a rebalance, then the strategy is retried, and when the
+     * all attempts fails the size from the collection is estimated by the quantity of elements from the collection, and
+     * only the elements that has been found by the last attempt are calculated.
+     *
+     * @param object the input object.
+     * @param strategy the strategy from the object.
+     * @return the size from the object.
+     * @since 1.3
+     */
+    private long visitConcurrently(final Object object, final SizeStrategy<Object> strategy) {
+        if (this.buffer == null) {
+            this.buffer = new Object[64];
+        }
+        for (int attempt = 0; ; attempt++) {
+            this.buffered = 0;
+            this.buffering = true;
+            long size;
+            try {
+                size = strategy.sizeof(object, this);
+            } catch (ConcurrentModificationException | NoSuchElementException | IndexOutOfBoundsException
+                     | NullPointerException | ClassCastException e) {
+                if (attempt < RETRIES) {
+                    continue;
+                }
+                this.estimated++;
+                size = CollectionStrategies.estimateStructure(object, this);
+            } finally {
+                this.buffering = false;
+            }
+            for (int i = 0; i < this.buffered; i++) {
+                this.push(this.buffer[i]);
+                this.buffer[i] = null;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * @return the quantity of objects that has been estimated in the concurrent mode.
+     * @since 1.3
+     */
+    int estimated() {
+        return this.estimated;
+    }
+
+    @Override
+    public VmLayout layout() {
+        return this.vm;
+    }
+
+    @Override
+    public long shallowSizeof(final Class<?> type) {
+        return ClassLayout.of(type).shallowSize();
+    }
+
+    @Override
+    public void offHeap(final Object owner, final long address, final long bytes, final boolean mapped) {
+        if (this.natives != null) {
+            this.natives.add(owner, address, bytes, mapped);
+        }
+    }
+
+    /**
+     * This method pushes the object to the stack if the object is not null, is not a canonical instance and has not
+     * been found before.
+     *
+     * @param object the input object.
+     * @since 1.3
+     */
+    @Override
+    public void push(final Object object) {
+        if (this.buffering) {
+            if (object != null) {
+                if (this.buffered == this.buffer.length) {
+                    final Object[] buffer = new Object[this.buffered << 1];
+                    System.arraycopy(this.buffer, 0, buffer, 0, this.buffered);
+                    this.buffer = buffer;
+                }
+                this.buffer[this.buffered++] = object;
+            }
+            return;
+        }
+        if (object == null || this.filter.isCanonical(object)) {
+            return;
+        }
+        if (!this.visited.add(object)) {
+            if (object == this.memoRoot) {
+                this.cyclic = true;
+            }
+            return;
+        }
+        this.enqueue(object);
+    }
+
+    private void enqueue(final Object object) {
+        if (this.depth == this.stack.length) {
+            final Object[] stack = new Object[this.depth << 1];
+            System.arraycopy(this.stack, 0, stack, 0, this.depth);
+            this.stack = stack;
+        }
+        this.stack[this.depth++] = object;
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.biologyiswell.scaler;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a histogram from the objects that are calculated, keyed by primitive keys. The entries are
+ * stored in parallel arrays by the order that are created, and the table from the keys uses open addressing that
+ * stores the index from each entry, then the aggregation do not allocates a boxed key or an entry object for each
+ * calculated object like the HashMap, and the index from an entry do not changes when the table is resized.
+ *
+ * @author biologyiswell (18/10/2026 22:40)
+ * @since 1.3
+ */
+final class Histogram {
+
+    /**
+     * The table that contains the index from the entries more one, the empty slots are zero.
+     * @since 1.3
+     */
+    private int[] table = new int[64];
+
+    /**
+     * The keys from the entries.
+     * @since 1.3
+     */
+    private long[] keys = new long[16];
+
+    /**
+     * The layouts from the classes of the entries.
+     * @since 1.3
+     */
+    ClassLayout[] layouts = new ClassLayout[16];
+
+    /**
+     * The quantity of objects from each entry.
+     * @since 1.3
+     */
+    long[] counts = new long[16];
+
+    /**
+     * The shallow size from the objects of each entry.
+     * @since 1.3
+     */
+    long[] shallow = new long[16];
+
+    /**
+     * The deep size from the objects of each entry, only the outermost objects are calculated then the objects from an
+     * entry that are reachable by other object of the same entry are not calculated more than once.
+     * @since 1.3
+     */
+    long[] deep = new long[16];
+
+    /**
+     * The quantity of objects from each entry that are being calculated by the walker.
+     * @since 1.3
+     */
+    int[] active = new int[16];
+
+    /**
+     * The quantity of entries that contains in the histogram.
+     * @since 1.3
+     */
+    private int size;
+
+    /**
+     * This method gets the index from the entry of the key, when the key has not an entry a new entry is created.
+     *
+     * @param key the input key.
+     * @param layout the layout from the class of the entry.
+     * @return the index from the entry.
+     * @since 1.3
+     */
+    int entry(final long key, final ClassLayout layout) {
+        final int[] table = this.table;
+        final int mask = table.length - 1;
+        int slot = slot(key, mask);
+        int current;
+        while ((current = table[slot]) != 0) {
+            if (this.keys[current - 1] == key) {
+                return current - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        final int index = this.size++;
+        if (index == this.keys.length) {
+            this.grow();
+        }
+        this.keys[index] = key;
+        this.layouts[index] = layout;
+        table[slot] = index + 1;
+        if (this.size > table.length >> 1) {
+            this.rehash();
+        }
+        return index;
+    }
+
+    /**
+     * This method gets the quantity of entries that contains in the histogram, the entries are indexed from zero.
+     *
+     * @return the quantity of entries.
+     * @since 1.3
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * This method gets the key from the entry.
+     *
+     * @param index the index from the entry.
+     * @return the key from the entry.
+     * @since 1.3
+     */
+    long key(final int index) {
+        return this.keys[index];
+    }
+
+    private void grow() {
+        final int length = this.keys.length << 1;
+        this.keys = Arrays.copyOf(this.keys, length);
+        this.layouts = Arrays.copyOf(this.layouts, length);
+        this.counts = Arrays.copyOf(this.counts, length);
+        this.shallow = Arrays.copyOf(this.shallow, length);
+        this.deep = Arrays.copyOf(this.deep, length);
+        this.active = Arrays.copyOf(this.active, length);
+    }
+
+    private void rehash() {
+        final int[] table = new int[this.table.length << 1];
+        final int mask = table.length - 1;
+        for (int index = 0; index < this.size; index++) {
+            int slot = slot(this.keys[index], mask);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+        }
+        this.table = table;
+    }
+
+    /**
+     * This method calculates the slot from the key, the key is multiplied by the golden ratio to spread the bits.
+     *
+     * @param key the input key.
+     * @param mask the mask from the table capacity.
+     * @return the slot from the key.
+     * @since 1.3
+     */
+    private static int slot(final long key, final int mask) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
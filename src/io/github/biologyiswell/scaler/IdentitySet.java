@@ -0,0 +1,151 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This class represents a set from objects that compares the objects by the identity. The objects are stored in a
+ * single array with open addressing, then each added object do not allocates an entry like the IdentityHashMap.
+ *
+ * @author biologyiswell (18/10/2026 15:48)
+ * @since 1.3
+ */
+final class IdentitySet {
+
+    /**
+     * The maximum capacity from the table, that is the maximum power of two that an array can have.
+     * @since 1.3
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The table that contains the objects, the empty slots are null.
+     * @since 1.3
+     */
+    private Object[] table;
+
+    /**
+     * The quantity of bits from the table capacity, that is used to calculate the slot from each object.
+     * @since 1.3
+     */
+    private int bits;
+
+    /**
+     * The quantity of objects that contains in the set.
+     * @since 1.3
+     */
+    private int size;
+
+    /**
+     * The quantity of objects that the table can contains before be resized.
+     * @since 1.3
+     */
+    private int threshold;
+
+    IdentitySet() {
+        this(64);
+    }
+
+    IdentitySet(final int expected) {
+        int bits = 4;
+        while (bits < 30 && (1 << bits) * 3L / 4 < expected) {
+            bits++;
+        }
+        this.allocate(bits);
+    }
+
+    /**
+     * This method adds the object to the set.
+     *
+     * @param object the input object, that can not be null.
+     * @return true if the object is added, or false if the object already contains in the set.
+     * @since 1.3
+     */
+    boolean add(final Object object) {
+        final Object[] table = this.table;
+        final int mask = table.length - 1;
+        int index = slot(object, this.bits);
+        Object current;
+        while ((current = table[index]) != null) {
+            if (current == object) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = object;
+        if (++this.size > this.threshold) {
+            this.resize();
+        }
+        return true;
+    }
+
+    /**
+     * This method checks if the object contains in the set.
+     *
+     * @param object the input object, that can not be null.
+     * @return true if the object contains in the set, otherwise false.
+     * @since 1.3
+     */
+    boolean contains(final Object object) {
+        final Object[] table = this.table;
+        final int mask = table.length - 1;
+        int index = slot(object, this.bits);
+        Object current;
+        while ((current = table[index]) != null) {
+            if (current == object) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * This method gets the quantity of objects that contains in the set.
+     *
+     * @return the quantity of objects.
+     * @since 1.3
+     */
+    int size() {
+        return this.size;
+    }
+
+    private void allocate(final int bits) {
+        this.bits = bits;
+        this.table = new Object[1 << bits];
+        this.threshold = bits == 30 ? MAXIMUM_CAPACITY - 1 : (int) ((1L << bits) * 3 / 4);
+    }
+
+    private void resize() {
+        if (this.bits == 30) {
+            if (this.size == MAXIMUM_CAPACITY - 1) {
+                throw new IllegalStateException("The identity set has reached the maximum capacity.");
+            }
+            return;
+        }
+        final Object[] table = this.table;
+        this.allocate(this.bits + 1);
+        final Object[] resized = this.table;
+        final int mask = resized.length - 1;
+        for (final Object object : table) {
+            if (object == null) {
+                continue;
+            }
+            int index = slot(object, this.bits);
+            while (resized[index] != null) {
+                index = (index + 1) & mask;
+            }
+            resized[index] = object;
+        }
+    }
+
+    /**
+     * This method calculates the slot from the object, the identity hash code is multiplied by the golden ratio to
+     * spread the bits and the high bits are used as the slot.
+     *
+     * @param object the input object.
+     * @param bits the quantity of bits from the table capacity.
+     * @return the slot from the object.
+     * @since 1.3
+     */
+    private static int slot(final Object object, final int bits) {
+        return (System.identityHashCode(object) * 0x9E3779B9) >>> (32 - bits);
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.biologyiswell.scaler;
+
+import jdk.jfr.EventType;
+
+/**
+ * This class represents the recorder from the Flight Recorder events, that is loaded by the reflection from the
+ * metrics when the Flight Recorder exists in the virtual machine. This class requires the Java 11 and is compiled
+ * separately from the other classes.
+ *
+ * @author biologyiswell (19/10/2026 01:40)
+ * @since 1.3
+ */
+final class JfrRecorder implements ScalerMetrics.Recorder {
+
+    /**
+     * The type from the event, that is checked before each measurement without create the event.
+     * @since 1.3
+     */
+    private static final EventType TYPE = EventType.getEventType(JfrSizingEvent.class);
+
+    @Override
+    public boolean isEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    @Override
+    public Object begin() {
+        final JfrSizingEvent event = new JfrSizingEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commit(final Object event, final String operation, final Class<?> type, final long nodes, final long bytes,
+                       final long allocated) {
+        final JfrSizingEvent sizing = (JfrSizingEvent) event;
+        sizing.end();
+        if (sizing.shouldCommit()) {
+            sizing.operation = operation;
+            sizing.rootClass = type;
+            sizing.nodes = nodes;
+            sizing.bytes = bytes;
+            sizing.allocated = allocated;
+            sizing.commit();
+        }
+    }
+}
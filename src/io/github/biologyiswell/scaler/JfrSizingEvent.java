@@ -0,0 +1,41 @@
+package io.github.biologyiswell.scaler;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents the Flight Recorder event from a measurement of the Scaler, the duration from the event is the
+ * time from the measurement. This class requires the Java 11 and is compiled separately from the other classes.
+ *
+ * @author biologyiswell (19/10/2026 01:40)
+ * @since 1.3
+ */
+@Name("io.github.biologyiswell.scaler.Sizing")
+@Label("Scaler Sizing")
+@Category("Scaler")
+@Description("A measurement of the size from an object by the Scaler")
+@StackTrace(false)
+final class JfrSizingEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Root Class")
+    Class<?> rootClass;
+
+    @Label("Nodes Visited")
+    long nodes;
+
+    @Label("Bytes Computed")
+    @DataAmount
+    long bytes;
+
+    @Label("Allocated Bytes")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,406 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents the analyzer from the layouts of the classes. The analyzer walks the graph from an object like
+ * the deep calculation, counts the instances from each class and observes the values from the boxed, the string and
+ * the array fields, then the savings from each finding are estimated by the layout from the virtual machine and are
+ * multiplied by the instances that has been found.
+ *
+ * <p>Only the classes from the application are analyzed, that are the classes that are not loaded by the bootstrap
+ * class loader, because the classes from the Java can not be changed.
+ *
+ * @author biologyiswell (19/10/2026 09:00)
+ * @since 1.3
+ */
+final class LayoutAnalyzer implements SizeContext {
+
+    /**
+     * The maximum quantity of distinct values from a string field that is considered an enumeration, and the minimum
+     * quantity of values that must be observed.
+     * @since 1.3
+     */
+    private static final int ENUMERATION_VALUES = 8;
+    private static final int ENUMERATION_OBSERVATIONS = 16;
+
+    /**
+     * The maximum length from an array that is suggested to be flattened in fields.
+     * @since 1.3
+     */
+    private static final int FLATTEN_LENGTH = 4;
+
+    /**
+     * The primitive types from the boxed types.
+     * @since 1.3
+     */
+    private static final Map<Class<?>, Class<?>> PRIMITIVES = new IdentityHashMap<>();
+
+    static {
+        PRIMITIVES.put(Boolean.class, boolean.class);
+        PRIMITIVES.put(Byte.class, byte.class);
+        PRIMITIVES.put(Character.class, char.class);
+        PRIMITIVES.put(Short.class, short.class);
+        PRIMITIVES.put(Integer.class, int.class);
+        PRIMITIVES.put(Float.class, float.class);
+        PRIMITIVES.put(Long.class, long.class);
+        PRIMITIVES.put(Double.class, double.class);
+    }
+
+    private final SizingEngine engine;
+    private final CanonicalFilter filter;
+    private final VmLayout vm = VmLayout.current();
+    private final IdentitySet visited = new IdentitySet();
+
+    private Object[] stack = new Object[64];
+    private int depth;
+    private long visits;
+
+    /**
+     * The statistics from the classes that has been found, the classes from the Java are represented by null.
+     * @since 1.3
+     */
+    private final Map<Class<?>, ClassStats> classes = new HashMap<>();
+
+    LayoutAnalyzer(final SizingEngine engine, final CanonicalFilter filter) {
+        this.engine = engine;
+        this.filter = filter;
+    }
+
+    /**
+     * This method analyzes the classes from the graph of the object.
+     *
+     * @param root the input object.
+     * @return the report from the classes.
+     * @since 1.3
+     */
+    LayoutReport analyze(final Object root) {
+        this.visited.add(root);
+        this.enqueue(root);
+        while (this.depth > 0) {
+            final Object object = this.stack[--this.depth];
+            this.stack[this.depth] = null;
+            this.visit(object);
+        }
+        final List<LayoutReport.Finding> findings = new ArrayList<>();
+        for (final ClassStats stats : this.classes.values()) {
+            if (stats != null && stats.instances > 0) {
+                this.findings(stats, true, findings);
+            }
+        }
+        return new LayoutReport(findings);
+    }
+
+    /**
+     * This method analyzes the class without a graph, then the padding and the boxed fields are reported for a single
+     * instance and the boxed values are considered owned by the instance.
+     *
+     * @param type the input class.
+     * @return the report from the class.
+     * @since 1.3
+     */
+    LayoutReport analyze(final Class<?> type) {
+        final ClassStats stats = new ClassStats(ClassLayout.of(type));
+        stats.instances = 1;
+        final List<LayoutReport.Finding> findings = new ArrayList<>();
+        this.findings(stats, false, findings);
+        return new LayoutReport(findings);
+    }
+
+    /**
+     * @return the quantity of objects that has been visited.
+     * @since 1.3
+     */
+    long visits() {
+        return this.visits;
+    }
+
+    @Override
+    public VmLayout layout() {
+        return this.vm;
+    }
+
+    @Override
+    public void push(final Object object) {
+        if (object == null || this.filter.isCanonical(object) || !this.visited.add(object)) {
+            return;
+        }
+        this.enqueue(object);
+    }
+
+    @Override
+    public long shallowSizeof(final Class<?> type) {
+        return ClassLayout.of(type).shallowSize();
+    }
+
+    private void visit(final Object object) {
+        this.visits++;
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            if (!type.getComponentType().isPrimitive()) {
+                for (final Object element : (Object[]) object) {
+                    this.push(element);
+                }
+            }
+            return;
+        }
+        final SizeStrategy<Object> strategy = SizeStrategies.resolve(type);
+        if (strategy != null) {
+            strategy.sizeof(object, this);
+            return;
+        }
+        if (type == String.class) {
+            return;
+        }
+        final ClassStats stats = this.stats(type);
+        final Object[] values = (stats == null ? ClassLayout.of(type) : stats.layout).reader(this.engine).read(object);
+        if (stats != null) {
+            stats.instances++;
+            // @Note The values are observed before are pushed, then a value that has not been visited is owned by the
+            // instance.
+            for (int i = 0; i < values.length; i++) {
+                final FieldStats field = stats.fields[i];
+                if (field != null) {
+                    this.observe(field, values[i]);
+                }
+            }
+        }
+        for (final Object value : values) {
+            this.push(value);
+        }
+    }
+
+    private ClassStats stats(final Class<?> type) {
+        ClassStats stats = this.classes.get(type);
+        if (stats == null && !this.classes.containsKey(type)) {
+            stats = type.getClassLoader() == null ? null : new ClassStats(ClassLayout.of(type));
+            this.classes.put(type, stats);
+        }
+        return stats;
+    }
+
+    private void observe(final FieldStats field, final Object value) {
+        if (value == null) {
+            field.nulls++;
+            return;
+        }
+        field.observations++;
+        final boolean owned = !this.filter.isCanonical(value) && !this.visited.contains(value);
+        if (field.primitive != null) {
+            if (owned) {
+                field.ownedBytes += this.shallowSizeof(value.getClass());
+            }
+        } else if (value instanceof String) {
+            final String string = (String) value;
+            final long bytes = this.shallowSizeof(String.class) + this.vm.stringValueSize(string);
+            if (field.values != null && field.values.add(string)) {
+                field.valueBytes += bytes;
+                if (field.values.size() > ENUMERATION_VALUES) {
+                    field.values = null;
+                }
+            }
+            if (owned) {
+                field.ownedBytes += bytes;
+            }
+        } else if (value.getClass().isArray()) {
+            final int length = java.lang.reflect.Array.getLength(value);
+            if (field.length == -1) {
+                field.length = length;
+                field.component = value.getClass().getComponentType();
+            } else if (field.length != length || field.component != value.getClass().getComponentType()) {
+                field.length = -2;
+            }
+            if (!owned) {
+                field.shared++;
+            }
+        }
+    }
+
+    /**
+     * This method creates the findings from the class.
+     *
+     * @param stats the statistics from the class.
+     * @param observed true when the values from the fields has been observed in a graph.
+     * @param findings the findings.
+     * @since 1.3
+     */
+    private void findings(final ClassStats stats, final boolean observed, final List<LayoutReport.Finding> findings) {
+        final ClassLayout layout = stats.layout;
+        final Class<?> type = layout.type;
+        final long size = this.vm.instanceSize(this.hierarchy(layout, -1, null));
+        long fieldBytes = 0;
+        for (final Field field : layout.fields) {
+            fieldBytes += this.vm.elementBytes(field.getType());
+        }
+        final long padding = size - this.vm.objectHeaderBytes() - fieldBytes;
+        // @Note The padding is reported only when a reorder recovers bytes, that is when the fields declared in a single
+        // class are smaller than the hierarchy, because the other padding is required by the alignment.
+        final long flat = this.vm.instanceSize(String.join("", this.hierarchy(layout, -1, null)));
+        if (flat < size) {
+            findings.add(new LayoutReport.Finding(LayoutReport.Kind.PADDING, type, null, stats.instances,
+                    (size - flat) * stats.instances, String.format("%s has %d bytes of padding in %d bytes, declaring the fields in a single class saves %d bytes",
+                    type.getTypeName(), padding, size, size - flat)));
+        }
+        for (int i = 0; i < stats.fields.length; i++) {
+            final FieldStats field = stats.fields[i];
+            if (field == null) {
+                continue;
+            }
+            final Field reflected = layout.references[i];
+            final String name = type.getTypeName() + "." + reflected.getName();
+            if (field.primitive != null) {
+                final long delta = size - this.vm.instanceSize(this.hierarchy(layout, field.index,
+                        String.valueOf(ClassLayout.descriptor(field.primitive))));
+                final long boxes = observed ? field.ownedBytes : this.shallowSizeof(reflected.getType());
+                findings.add(new LayoutReport.Finding(LayoutReport.Kind.BOXED_FIELD, type, reflected, stats.instances,
+                        delta * stats.instances + boxes, String.format("%s can be the primitive %s%s", name,
+                        field.primitive.getName(), field.nulls > 0 ? " when the null (" + field.nulls + " instances) has a sentinel value" : "")));
+            } else if (!observed) {
+                // @Note The strings and the arrays are analyzed only by the values from a graph.
+                continue;
+            } else if (reflected.getType() == String.class) {
+                if (field.values != null && field.observations >= ENUMERATION_OBSERVATIONS) {
+                    findings.add(new LayoutReport.Finding(LayoutReport.Kind.STRING_ENUMERATION, type, reflected,
+                            stats.instances, Math.max(0, field.ownedBytes - field.valueBytes), String.format(
+                            "%s holds only %d distinct values in %d instances, and can be an enum", name,
+                            field.values.size(), field.observations)));
+                }
+            } else if (field.length >= 0 && field.length <= FLATTEN_LENGTH && field.nulls == 0 && field.shared == 0) {
+                final StringBuilder flattened = new StringBuilder();
+                for (int j = 0; j < field.length; j++) {
+                    flattened.append(ClassLayout.descriptor(field.component));
+                }
+                final long saving = size + this.vm.arraySize(field.component, field.length)
+                        - this.vm.instanceSize(this.hierarchy(layout, field.index, flattened.toString()));
+                if (saving > 0) {
+                    findings.add(new LayoutReport.Finding(LayoutReport.Kind.ARRAY_HEADER, type, reflected,
+                            stats.instances, saving * stats.instances, String.format(
+                            "%s always holds an own %s[%d], that can be flattened in %d fields", name,
+                            field.component.getTypeName(), field.length, field.length)));
+                }
+            }
+        }
+    }
+
+    /**
+     * This method creates the field descriptors from each class of the hierarchy, like the layout from the class.
+     *
+     * @param layout the layout from the class.
+     * @param index the index from the field that is replaced, or -1.
+     * @param replacement the descriptors that replaces the field.
+     * @return the descriptors from each class, the topmost superclass first.
+     * @since 1.3
+     */
+    private String[] hierarchy(final ClassLayout layout, final int index, final String replacement) {
+        final List<String> hierarchy = new ArrayList<>();
+        final StringBuilder descriptors = new StringBuilder();
+        Class<?> declaring = null;
+        for (int i = 0; i < layout.fields.length; i++) {
+            final Field field = layout.fields[i];
+            if (field.getDeclaringClass() != declaring) {
+                if (declaring != null) {
+                    hierarchy.add(descriptors.toString());
+                    descriptors.setLength(0);
+                }
+                declaring = field.getDeclaringClass();
+            }
+            descriptors.append(i == index ? replacement : String.valueOf(ClassLayout.descriptor(field.getType())));
+        }
+        if (declaring != null) {
+            hierarchy.add(descriptors.toString());
+        }
+        return hierarchy.toArray(new String[0]);
+    }
+
+    private void enqueue(final Object object) {
+        if (this.depth == this.stack.length) {
+            final Object[] stack = new Object[this.depth << 1];
+            System.arraycopy(this.stack, 0, stack, 0, this.depth);
+            this.stack = stack;
+        }
+        this.stack[this.depth++] = object;
+    }
+
+    /**
+     * This class represents the statistics from a class.
+     * @since 1.3
+     */
+    private static final class ClassStats {
+
+        private final ClassLayout layout;
+
+        /**
+         * The statistics from the reference fields of the layout that are analyzed, the other fields are null.
+         * @since 1.3
+         */
+        private final FieldStats[] fields;
+        private long instances;
+
+        private ClassStats(final ClassLayout layout) {
+            this.layout = layout;
+            this.fields = new FieldStats[layout.references.length];
+            for (int i = 0; i < this.fields.length; i++) {
+                final Class<?> fieldType = layout.references[i].getType();
+                if (PRIMITIVES.containsKey(fieldType) || fieldType == String.class || fieldType.isArray()) {
+                    int index = 0;
+                    while (layout.fields[index] != layout.references[i]) {
+                        index++;
+                    }
+                    this.fields[i] = new FieldStats(index, PRIMITIVES.get(fieldType));
+                }
+            }
+        }
+    }
+
+    /**
+     * This class represents the values that has been observed in a field.
+     * @since 1.3
+     */
+    private static final class FieldStats {
+
+        /**
+         * The index from the field in the layout, and the primitive type when the field is a boxed type.
+         * @since 1.3
+         */
+        private final int index;
+        private final Class<?> primitive;
+
+        private long observations;
+        private long nulls;
+
+        /**
+         * The size from the values that are owned by the instances, that are not shared by other objects.
+         * @since 1.3
+         */
+        private long ownedBytes;
+
+        /**
+         * The distinct values from a string field, that is null when the field contains too many values, and the size
+         * from one string of each value.
+         * @since 1.3
+         */
+        private Set<String> values = new HashSet<>();
+        private long valueBytes;
+
+        /**
+         * The length and the component type from the arrays of an array field, the length is -2 when the arrays has
+         * different lengths, and the quantity of arrays that are shared.
+         * @since 1.3
+         */
+        private int length = -1;
+        private Class<?> component;
+        private long shared;
+
+        private FieldStats(final int index, final Class<?> primitive) {
+            this.index = index;
+            this.primitive = primitive;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class represents the report from the layouts of the classes, that contains the findings that can make the
+ * instances smaller, like the padding that can be recovered by a reorder of the fields, the boxed fields that can be
+ * primitives, the string fields that holds a small enumeration and the small arrays that can be flattened in fields.
+ * Each finding contains the estimated saving from each instance, multiplied by the quantity of instances, then the
+ * findings are ordered by the refactors that reduces the most memory.
+ *
+ * @author biologyiswell (19/10/2026 09:00)
+ * @since 1.3
+ */
+public final class LayoutReport {
+
+    private final List<Finding> findings;
+
+    LayoutReport(final List<Finding> findings) {
+        findings.sort(Comparator.comparingLong(Finding::totalBytes).reversed());
+        this.findings = Collections.unmodifiableList(findings);
+    }
+
+    /**
+     * @return the findings, ordered by the total saving.
+     * @since 1.3
+     */
+    public List<Finding> findings() {
+        return this.findings;
+    }
+
+    /**
+     * @return the sum from the total savings of the all findings.
+     * @since 1.3
+     */
+    public long totalBytes() {
+        long bytes = 0;
+        for (final Finding finding : this.findings) {
+            bytes += finding.totalBytes;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%14s %12s %10s  %s%n", "saving", "instances", "each", "finding"));
+        for (final Finding finding : this.findings) {
+            builder.append(String.format("%14d %12d %10d  %s%n", finding.totalBytes, finding.instances,
+                    finding.bytesPerInstance, finding.description));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * This enum represents the kinds from the findings.
+     * @since 1.3
+     */
+    public enum Kind {
+
+        /**
+         * The padding bytes from the instances that can be recovered by declaring the fields of the hierarchy in a
+         * single class, the padding that is required by the alignment from the objects is not reported.
+         * @since 1.3
+         */
+        PADDING,
+
+        /**
+         * A field from a boxed type, like Integer, that can be a primitive field.
+         * @since 1.3
+         */
+        BOXED_FIELD,
+
+        /**
+         * A string field that holds only a small quantity of distinct values, that can be an enum.
+         * @since 1.3
+         */
+        STRING_ENUMERATION,
+
+        /**
+         * An array field that holds a small array of fixed length in each instance, that can be flattened in fields.
+         * @since 1.3
+         */
+        ARRAY_HEADER
+    }
+
+    /**
+     * This class represents a finding from the layout of a class.
+     * @since 1.3
+     */
+    public static final class Finding {
+
+        private final Kind kind;
+        private final Class<?> type;
+        private final Field field;
+        private final long instances;
+        private final long bytesPerInstance;
+        private final long totalBytes;
+        private final String description;
+
+        Finding(final Kind kind, final Class<?> type, final Field field, final long instances, final long totalBytes,
+                final String description) {
+            this.kind = kind;
+            this.type = type;
+            this.field = field;
+            this.instances = instances;
+            this.bytesPerInstance = instances == 0 ? 0 : totalBytes / instances;
+            this.totalBytes = totalBytes;
+            this.description = description;
+        }
+
+        /**
+         * @return the kind from the finding.
+         * @since 1.3
+         */
+        public Kind kind() {
+            return this.kind;
+        }
+
+        /**
+         * @return the class from the finding.
+         * @since 1.3
+         */
+        public Class<?> type() {
+            return this.type;
+        }
+
+        /**
+         * @return the field from the finding, or null when the finding is from the class.
+         * @since 1.3
+         */
+        public Field field() {
+            return this.field;
+        }
+
+        /**
+         * @return the quantity of instances from the class that has been found, or 1 when the class has been analyzed
+         * without a graph.
+         * @since 1.3
+         */
+        public long instances() {
+            return this.instances;
+        }
+
+        /**
+         * @return the estimated saving from each instance in bytes.
+         * @since 1.3
+         */
+        public long bytesPerInstance() {
+            return this.bytesPerInstance;
+        }
+
+        /**
+         * @return the estimated saving from the all instances in bytes.
+         * @since 1.3
+         */
+        public long totalBytes() {
+            return this.totalBytes;
+        }
+
+        /**
+         * @return the description from the finding, with the suggested change.
+         * @since 1.3
+         */
+        public String description() {
+            return this.description;
+        }
+
+        @Override
+        public String toString() {
+            return "Finding{kind=" + this.kind + ", type=" + this.type.getTypeName() + ", instances=" + this.instances
+                    + ", bytesPerInstance=" + this.bytesPerInstance + ", totalBytes=" + this.totalBytes + "}";
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This class represents the memory that is retained by an object, split by the heap memory, the native memory that is
+ * allocated directly, like the direct buffers, and the native memory that is mapped from files. Each native allocation
+ * is counted only once, even when is reachable by more than one buffer, like the duplicates and the slices. When the
+ * address from a direct buffer can not be read the footprint is not exact, see the method "isExact".
+ *
+ * @author biologyiswell (19/10/2026 02:30)
+ * @since 1.3
+ */
+public final class MemoryFootprint {
+
+    private final long heap;
+    private final long offHeap;
+    private final long mapped;
+    private final boolean exact;
+
+    MemoryFootprint(final long heap, final long offHeap, final long mapped, final boolean exact) {
+        this.heap = heap;
+        this.offHeap = offHeap;
+        this.mapped = mapped;
+        this.exact = exact;
+    }
+
+    /**
+     * @return the deep size from the object in the heap.
+     * @since 1.3
+     */
+    public long heap() {
+        return this.heap;
+    }
+
+    /**
+     * @return the native memory that is allocated directly, like the memory from the direct buffers and from the native
+     * memory holders.
+     * @since 1.3
+     */
+    public long offHeap() {
+        return this.offHeap;
+    }
+
+    /**
+     * @return the native memory that is mapped from files. The mapped memory is the size from the mappings, and the
+     * resident memory from the mappings can be smaller when the pages are not loaded.
+     * @since 1.3
+     */
+    public long mapped() {
+        return this.mapped;
+    }
+
+    /**
+     * @return the sum from the heap memory, the off-heap memory and the mapped memory.
+     * @since 1.3
+     */
+    public long total() {
+        return this.heap + this.offHeap + this.mapped;
+    }
+
+    /**
+     * @return true if each native allocation has been counted once, otherwise false when the address from a direct
+     * buffer can not be read, then the duplicates and the slices from the buffer can be counted more than once and the
+     * mapped buffers can be counted as off-heap memory.
+     * @since 1.3
+     */
+    public boolean isExact() {
+        return this.exact;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryFootprint{heap=" + this.heap + ", offHeap=" + this.offHeap + ", mapped=" + this.mapped
+                + ", exact=" + this.exact + "}";
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This interface represents an object that owns native memory, like a wrapper from a memory that has been allocated
+ * by a native library. The native memory from the holders that are reachable by an object is accounted as off-heap
+ * memory by the method "Scaler#footprint". The classes that can not implement this interface can register a strategy
+ * that reports the native memory by the method "SizeContext#offHeap".
+ *
+ * @author biologyiswell (19/10/2026 02:30)
+ * @since 1.3
+ */
+public interface NativeMemoryHolder {
+
+    /**
+     * @return the size from the native memory that is owned by this object.
+     * @since 1.3
+     */
+    long nativeBytes();
+
+    /**
+     * This method gets the address from the native memory, the holders that returns the same address are counted only
+     * once.
+     *
+     * @return the address from the native memory, or zero when the address is not known and the memory is counted by
+     * each holder.
+     * @since 1.3
+     */
+    default long nativeAddress() {
+        return 0;
+    }
+}
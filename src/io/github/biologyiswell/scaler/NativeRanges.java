@@ -0,0 +1,143 @@
+package io.github.biologyiswell.scaler;
+
+import java.nio.Buffer;
+import java.util.Arrays;
+
+/**
+ * This class represents the native memory that has been found by a calculation. The memory that has an address is
+ * stored as a range from addresses, and the sum from the ranges is the size from the union of the ranges, then the
+ * memory that is shared by more than one buffer, like the duplicates and the slices, is counted only once. The memory
+ * without address is counted once by each owner.
+ *
+ * @author biologyiswell (19/10/2026 02:30)
+ * @since 1.3
+ */
+final class NativeRanges {
+
+    /**
+     * The ranges from the native memory that is allocated directly.
+     * @since 1.3
+     */
+    private final Ranges direct = new Ranges();
+
+    /**
+     * The ranges from the native memory that is mapped from files.
+     * @since 1.3
+     */
+    private final Ranges mapped = new Ranges();
+
+    /**
+     * The owners from the native memory without address, that has been counted.
+     * @since 1.3
+     */
+    private final IdentitySet owners = new IdentitySet();
+
+    /**
+     * This field represents if a direct buffer has been found without the address, then the duplicates and the slices
+     * from the buffer can be counted more than once, and the mapped buffers can be counted as off-heap memory.
+     * @since 1.3
+     */
+    private boolean inexact;
+
+    /**
+     * This method adds the native memory.
+     *
+     * @param owner the object that owns the native memory.
+     * @param address the address from the native memory, or zero when the address is not known.
+     * @param bytes the size from the native memory.
+     * @param mapped true if the native memory is mapped from a file, otherwise false.
+     * @since 1.3
+     */
+    void add(final Object owner, final long address, final long bytes, final boolean mapped) {
+        if (bytes <= 0) {
+            return;
+        }
+        final Ranges ranges = mapped ? this.mapped : this.direct;
+        if (address != 0) {
+            ranges.add(address, address + bytes);
+        } else if (this.owners.add(owner)) {
+            ranges.unaddressed += bytes;
+            // @Note The direct buffers always has an address, then the address could not be read.
+            this.inexact |= owner instanceof Buffer;
+        }
+    }
+
+    /**
+     * @return true if the native memory has been counted exactly, otherwise false.
+     * @since 1.3
+     */
+    boolean exact() {
+        return !this.inexact;
+    }
+
+    /**
+     * @return the size from the native memory that is allocated directly.
+     * @since 1.3
+     */
+    long offHeap() {
+        return this.direct.total();
+    }
+
+    /**
+     * @return the size from the native memory that is mapped from files.
+     * @since 1.3
+     */
+    long mapped() {
+        return this.mapped.total();
+    }
+
+    /**
+     * This class represents the ranges from a kind of native memory, the starts and the ends from the ranges are
+     * stored in separated arrays.
+     * @since 1.3
+     */
+    private static final class Ranges {
+
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private int size;
+        private long unaddressed;
+
+        private void add(final long start, final long end) {
+            if (this.size == this.starts.length) {
+                this.starts = Arrays.copyOf(this.starts, this.size << 1);
+                this.ends = Arrays.copyOf(this.ends, this.size << 1);
+            }
+            this.starts[this.size] = start;
+            this.ends[this.size++] = end;
+        }
+
+        /**
+         * This method calculates the size from the union of the ranges. The starts and the ends are sorted separately
+         * and are swept together, and the memory is counted while at least one range is open. Each range has the end
+         * greater than the start, then the sweep never closes a range that has not been opened.
+         *
+         * @return the size from the union of the ranges more the memory without address.
+         * @since 1.3
+         */
+        private long total() {
+            final int size = this.size;
+            final long[] starts = Arrays.copyOf(this.starts, size);
+            final long[] ends = Arrays.copyOf(this.ends, size);
+            Arrays.sort(starts);
+            Arrays.sort(ends);
+            long total = this.unaddressed;
+            long from = 0;
+            int open = 0;
+            for (int i = 0, j = 0; j < size; ) {
+                if (i < size && starts[i] < ends[j]) {
+                    if (open++ == 0) {
+                        from = starts[i];
+                    }
+                    i++;
+                } else {
+                    if (--open == 0) {
+                        total += ends[j] - from;
+                    }
+                    j++;
+                }
+            }
+            return total;
+        }
+    }
+}
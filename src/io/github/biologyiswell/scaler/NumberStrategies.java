@@ -0,0 +1,65 @@
+package io.github.biologyiswell.scaler;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * This class contains the strategies that calculates the size from the arbitrary precision numbers. The internal
+ * arrays from the numbers are calculated by the public methods from the numbers, without the reflection, then the
+ * numbers are calculated even when the package "java.math" is not opened, and without allocate a string.
+ *
+ * @author biologyiswell (19/10/2026 04:30)
+ * @since 1.3
+ */
+final class NumberStrategies {
+
+    // non-instantiate.
+    private NumberStrategies() {
+    }
+
+    /**
+     * The precision that the unscaled value from a BigDecimal always fits in a long, then the BigDecimal is compact and
+     * do not contains a BigInteger.
+     * @since 1.3
+     */
+    private static final int COMPACT_PRECISION = 18;
+
+    /**
+     * The strategy from the BigInteger, that contains the magnitude array with one int for each 32 bits from the
+     * absolute value.
+     * @since 1.3
+     */
+    static final SizeStrategy<BigInteger> BIG_INTEGER = new SizeStrategy<BigInteger>() {
+        @Override
+        public long sizeof(final BigInteger value, final SizeContext context) {
+            int bits = value.bitLength();
+            // @Note The bit length from a negative number do not contains the sign, then the absolute value from a
+            // negative power of two has one bit more than the bit length.
+            if (value.signum() < 0 && value.getLowestSetBit() == bits) {
+                bits++;
+            }
+            return context.shallowSizeof(value.getClass()) + context.layout().arraySize(int.class, (bits + 31) >>> 5);
+        }
+    };
+
+    /**
+     * The strategy from the BigDecimal, that contains the unscaled value in a long when the value fits in a long,
+     * otherwise in a BigInteger. The string that is cached by the method "toString" is not calculated, because the
+     * cached string can not be read without the reflection.
+     * @since 1.3
+     */
+    static final SizeStrategy<BigDecimal> BIG_DECIMAL = new SizeStrategy<BigDecimal>() {
+        @Override
+        public long sizeof(final BigDecimal value, final SizeContext context) {
+            if (value.precision() > COMPACT_PRECISION) {
+                // @Note The method "unscaledValue" returns the internal BigInteger when the value do not fits in a long,
+                // then the BigInteger is pushed like a reference field.
+                final BigInteger unscaled = value.unscaledValue();
+                if (unscaled.bitLength() > 63) {
+                    context.push(unscaled);
+                }
+            }
+            return context.shallowSizeof(value.getClass());
+        }
+    };
+}
@@ -0,0 +1,124 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This class represents a table from the objects to the owner of each object and to the size from each object, keyed
+ * by the identity from the objects. The table uses open addressing with linear probing like the IdentitySet, and the
+ * owners and the sizes are stored in arrays parallel to the objects, then the table do not allocates an entry for each
+ * object.
+ *
+ * @author biologyiswell (19/10/2026 03:10)
+ * @since 1.3
+ */
+final class OwnerTable {
+
+    private static final int MAXIMUM_BITS = 30;
+
+    private Object[] objects;
+
+    /**
+     * The owner from each object.
+     * @since 1.3
+     */
+    int[] owners;
+
+    /**
+     * The size from each object, that is zero until the object has been calculated.
+     * @since 1.3
+     */
+    long[] sizes;
+
+    private int bits;
+    private int size;
+    private int threshold;
+
+    OwnerTable() {
+        this.allocate(6);
+    }
+
+    /**
+     * This method finds the slot from the object, the slot is valid until the next object is added.
+     *
+     * @param object the input object.
+     * @return the slot from the object, or -1 if the object has not been added.
+     * @since 1.3
+     */
+    int slot(final Object object) {
+        final Object[] objects = this.objects;
+        final int mask = objects.length - 1;
+        int index = hash(object, this.bits);
+        Object current;
+        while ((current = objects[index]) != null) {
+            if (current == object) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * This method adds the object that has not been added, with the owner.
+     *
+     * @param object the input object.
+     * @param owner the owner from the object.
+     * @since 1.3
+     */
+    void add(final Object object, final int owner) {
+        if (this.size >= this.threshold) {
+            this.resize();
+        }
+        final Object[] objects = this.objects;
+        final int mask = objects.length - 1;
+        int index = hash(object, this.bits);
+        while (objects[index] != null) {
+            index = (index + 1) & mask;
+        }
+        objects[index] = object;
+        this.owners[index] = owner;
+        this.size++;
+    }
+
+    /**
+     * @return the quantity of objects that contains in the table.
+     * @since 1.3
+     */
+    int size() {
+        return this.size;
+    }
+
+    private void allocate(final int bits) {
+        this.bits = bits;
+        this.objects = new Object[1 << bits];
+        this.owners = new int[1 << bits];
+        this.sizes = new long[1 << bits];
+        this.threshold = (int) ((1L << bits) * 3 / 4);
+    }
+
+    private void resize() {
+        if (this.bits == MAXIMUM_BITS) {
+            throw new IllegalStateException("The owner table has reached the maximum capacity.");
+        }
+        final Object[] objects = this.objects;
+        final int[] owners = this.owners;
+        final long[] sizes = this.sizes;
+        this.allocate(this.bits + 1);
+        final int mask = this.objects.length - 1;
+        for (int i = 0; i < objects.length; i++) {
+            final Object object = objects[i];
+            if (object == null) {
+                continue;
+            }
+            int index = hash(object, this.bits);
+            while (this.objects[index] != null) {
+                index = (index + 1) & mask;
+            }
+            this.objects[index] = object;
+            this.owners[index] = owners[i];
+            this.sizes[index] = sizes[i];
+        }
+    }
+
+    private static int hash(final Object object, final int bits) {
+        return (System.identityHashCode(object) * 0x9E3779B9) >>> (32 - bits);
+    }
+}
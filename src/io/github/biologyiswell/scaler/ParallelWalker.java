@@ -0,0 +1,267 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class represents the walker from an object graph that calculates the deep size by the threads of a fork/join
+ * pool. Each task walks the objects by a local stack like the GraphWalker, and the objects are marked as found in a
+ * striped identity set that is shared by the tasks. The work is split only when the graph is large:
+ *
+ * <ul>
+ * <li>When the local stack from a task passes the split threshold and the pool has few queued tasks, the oldest half
+ * from the stack, that are the objects nearest to the root, is forked to a new task.</li>
+ * <li>The large arrays from objects, like the backing arrays from the collections, are split in ranges of elements
+ * that are forked to new tasks.</li>
+ * </ul>
+ *
+ * <p>The small graphs never passes the thresholds, then the graphs are walked by a single task like the sequential
+ * walk.
+ *
+ * @author biologyiswell (19/10/2026 03:50)
+ * @since 1.3
+ */
+final class ParallelWalker {
+
+    /**
+     * The quantity of objects in the local stack from a task that makes the task split the stack.
+     * @since 1.3
+     */
+    private static final int SPLIT_DEPTH = 256;
+
+    /**
+     * The quantity of elements from the ranges that the large arrays are split.
+     * @since 1.3
+     */
+    private static final int ARRAY_CHUNK = 4096;
+
+    /**
+     * The quantity of queued tasks that the pool can have, the stack is not split when the pool has more queued tasks
+     * than this value because the threads are already busy.
+     * @since 1.3
+     */
+    private static final int SURPLUS = 3;
+
+    /**
+     * The engine that reads the reference fields from the objects.
+     * @since 1.3
+     */
+    private final SizingEngine engine;
+
+    /**
+     * The filter from the canonical instances, that are not calculated when are referenced by the objects.
+     * @since 1.3
+     */
+    private final CanonicalFilter filter;
+
+    /**
+     * The profile from the virtual machine that is used to calculate the sizes.
+     * @since 1.3
+     */
+    private final VmLayout vm = VmLayout.current();
+
+    /**
+     * The objects that has been found by the tasks.
+     * @since 1.3
+     */
+    private final StripedIdentitySet visited;
+
+    ParallelWalker(final SizingEngine engine, final CanonicalFilter filter, final int parallelism) {
+        this.engine = engine;
+        this.filter = filter;
+        this.visited = new StripedIdentitySet(parallelism);
+    }
+
+    /**
+     * This method calculates the deep size from the object by the threads of the pool.
+     *
+     * @param root the input object, that is calculated even when is a canonical instance.
+     * @param pool the pool that executes the tasks.
+     * @return the deep size from the object.
+     * @since 1.3
+     */
+    long walk(final Object root, final ForkJoinPool pool) {
+        this.visited.add(root);
+        final Task task = new Task(new Object[]{root}, 1);
+        pool.invoke(task);
+        return task.size;
+    }
+
+    /**
+     * @return the quantity of objects that has been found by the walker.
+     * @since 1.3
+     */
+    int visits() {
+        return this.visited.size();
+    }
+
+    /**
+     * This class represents a task that walks the objects from the local stack, the task starts with the objects that
+     * has been forked by other task or with a range of elements from an array.
+     * @since 1.3
+     */
+    private final class Task extends RecursiveAction implements SizeContext {
+
+        /**
+         * The version from the serialization, the RecursiveAction is serializable although the task is never serialized.
+         * @since 1.3
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The range of elements from an array that are pushed when the task starts, or null when the task starts with
+         * the objects from the stack.
+         * @since 1.3
+         */
+        private final Object[] elements;
+        private final int from;
+        private final int to;
+
+        private Object[] stack;
+        private int depth;
+
+        /**
+         * The tasks that has been forked by this task, that are joined when the local stack is empty.
+         * @since 1.3
+         */
+        private List<Task> forked;
+
+        /**
+         * The size from the objects that has been calculated by this task and by the forked tasks.
+         * @since 1.3
+         */
+        private long size;
+
+        private Task(final Object[] stack, final int depth) {
+            this.elements = null;
+            this.from = 0;
+            this.to = 0;
+            this.stack = stack;
+            this.depth = depth;
+        }
+
+        private Task(final Object[] elements, final int from, final int to) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.stack = new Object[64];
+        }
+
+        @Override
+        protected void compute() {
+            if (this.elements != null) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.push(this.elements[i]);
+                }
+            }
+            long size = 0;
+            while (this.depth > 0) {
+                final Object object = this.stack[--this.depth];
+                this.stack[this.depth] = null;
+                size += this.visit(object);
+            }
+            if (this.forked != null) {
+                // @Note The tasks are joined by the reverse order, then the last forked task can be executed by this
+                // thread when the task has not been stolen.
+                for (int i = this.forked.size() - 1; i >= 0; i--) {
+                    final Task task = this.forked.get(i);
+                    task.join();
+                    size += task.size;
+                }
+            }
+            this.size = size;
+        }
+
+        /**
+         * This method calculates the size from the object and pushes the objects that are referenced by the object.
+         *
+         * @param object the input object.
+         * @return the size from the object.
+         * @since 1.3
+         */
+        private long visit(final Object object) {
+            final Class<?> type = object.getClass();
+            if (type.isArray()) {
+                final Class<?> component = type.getComponentType();
+                if (component.isPrimitive()) {
+                    return ParallelWalker.this.vm.arraySize(component, Array.getLength(object));
+                }
+                final Object[] array = (Object[]) object;
+                int start = 0;
+                // @Note The large arrays are split in ranges, and the last range is pushed by this task.
+                while (array.length - start > ARRAY_CHUNK << 1) {
+                    this.fork(new Task(array, start, start + ARRAY_CHUNK));
+                    start += ARRAY_CHUNK;
+                }
+                for (int i = start; i < array.length; i++) {
+                    this.push(array[i]);
+                }
+                return ParallelWalker.this.vm.arraySize(component, array.length);
+            }
+            final SizeStrategy<Object> strategy = SizeStrategies.resolve(type);
+            if (strategy != null) {
+                return strategy.sizeof(object, this);
+            }
+            final ClassLayout layout = ClassLayout.of(type);
+            if (type == String.class) {
+                return layout.shallowSize(object) + ParallelWalker.this.vm.stringValueSize((String) object);
+            }
+            layout.reader(ParallelWalker.this.engine).read(object, this);
+            return layout.shallowSize(object);
+        }
+
+        @Override
+        public VmLayout layout() {
+            return ParallelWalker.this.vm;
+        }
+
+        @Override
+        public long shallowSizeof(final Class<?> type) {
+            return ClassLayout.of(type).shallowSize();
+        }
+
+        @Override
+        public void push(final Object object) {
+            if (object == null || ParallelWalker.this.filter.isCanonical(object) || !ParallelWalker.this.visited.add(object)) {
+                return;
+            }
+            if (this.depth == this.stack.length) {
+                if (this.depth >= SPLIT_DEPTH && getSurplusQueuedTaskCount() < SURPLUS) {
+                    this.split();
+                } else {
+                    final Object[] stack = new Object[this.depth << 1];
+                    System.arraycopy(this.stack, 0, stack, 0, this.depth);
+                    this.stack = stack;
+                }
+            }
+            this.stack[this.depth++] = object;
+        }
+
+        /**
+         * This method forks the oldest half from the local stack to a new task, the objects from the half are already
+         * marked as found then are calculated directly by the new task.
+         * @since 1.3
+         */
+        private void split() {
+            final int half = this.depth >> 1;
+            final Object[] stack = new Object[Math.max(64, half << 1)];
+            System.arraycopy(this.stack, 0, stack, 0, half);
+            System.arraycopy(this.stack, half, this.stack, 0, this.depth - half);
+            Arrays.fill(this.stack, this.depth - half, this.depth, null);
+            this.depth -= half;
+            this.fork(new Task(stack, half));
+        }
+
+        private void fork(final Task task) {
+            if (this.forked == null) {
+                this.forked = new ArrayList<>();
+            }
+            this.forked.add(task);
+            task.fork();
+        }
+    }
+}
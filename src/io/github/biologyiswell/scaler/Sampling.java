@@ -0,0 +1,153 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This class represents the options from the estimation of the size of large collections and maps. The estimation
+ * calculates the deep size only from a sample of the elements and extrapolates the size to the all elements, then the
+ * collections that are smaller than the threshold are calculated by the exact calculation.
+ *
+ * @author biologyiswell (18/10/2026 18:40)
+ * @since 1.3
+ */
+public final class Sampling {
+
+    /**
+     * This enum represents how the elements from the sample are selected.
+     * @since 1.3
+     */
+    public enum Mode {
+
+        /**
+         * The elements are selected randomly, each element has the same probability to be selected.
+         * @since 1.3
+         */
+        RANDOM,
+
+        /**
+         * The elements are selected with the same distance between them, starting from a random element.
+         * @since 1.3
+         */
+        STRIDE
+    }
+
+    private final Mode mode;
+    private final int sampleSize;
+    private final int threshold;
+    private final double confidence;
+    private final long seed;
+
+    private Sampling(final Builder builder) {
+        this.mode = builder.mode;
+        this.sampleSize = builder.sampleSize;
+        this.threshold = builder.threshold;
+        this.confidence = builder.confidence;
+        this.seed = builder.seed;
+    }
+
+    /**
+     * This method gets the default options, that selects 1000 random elements from the collections greater than 10000
+     * elements with the confidence of 95%.
+     *
+     * @return the default options.
+     * @since 1.3
+     */
+    public static Sampling defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return how the elements from the sample are selected.
+     * @since 1.3
+     */
+    public Mode mode() {
+        return this.mode;
+    }
+
+    /**
+     * @return the maximum quantity of elements from the sample.
+     * @since 1.3
+     */
+    public int sampleSize() {
+        return this.sampleSize;
+    }
+
+    /**
+     * @return the quantity of elements that below it the exact calculation is used.
+     * @since 1.3
+     */
+    public int threshold() {
+        return this.threshold;
+    }
+
+    /**
+     * @return the confidence from the interval of the estimation.
+     * @since 1.3
+     */
+    public double confidence() {
+        return this.confidence;
+    }
+
+    /**
+     * @return the seed from the random selection.
+     * @since 1.3
+     */
+    public long seed() {
+        return this.seed;
+    }
+
+    public static final class Builder {
+
+        private Mode mode = Mode.RANDOM;
+        private int sampleSize = 1000;
+        private int threshold = 10000;
+        private double confidence = 0.95;
+        private long seed = System.nanoTime();
+
+        private Builder() {
+        }
+
+        public Builder mode(final Mode mode) {
+            if (mode == null) {
+                throw new NullPointerException("mode");
+            }
+            this.mode = mode;
+            return this;
+        }
+
+        public Builder sampleSize(final int sampleSize) {
+            if (sampleSize < 2) {
+                throw new IllegalArgumentException("The sample size (" + sampleSize + ") must be at least 2.");
+            }
+            this.sampleSize = sampleSize;
+            return this;
+        }
+
+        public Builder threshold(final int threshold) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("The threshold (" + threshold + ") can not be negative.");
+            }
+            this.threshold = threshold;
+            return this;
+        }
+
+        public Builder confidence(final double confidence) {
+            if (!(confidence > 0 && confidence < 1)) {
+                throw new IllegalArgumentException("The confidence (" + confidence + ") must be between 0 and 1.");
+            }
+            this.confidence = confidence;
+            return this;
+        }
+
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Sampling build() {
+            return new Sampling(this);
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package io.github.biologyiswell.scaler;
 
-import java.lang.reflect.Field;
-import java.math.BigDecimal;
-import java.math.BigInteger;
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author biologyiswell (26/07/2018 18:28)
  * @since 1.0
- * @version 1.2
+ * @version 1.3
  */
 public final class Scaler {
 
@@ -18,43 +19,105 @@ public final class Scaler {
     }
 
     /**
-     * The Boolean.class do not contains the variable "BYTES" that shows the quantity of bytes that the boolean data
-     * types occupies in RAM Memory. Then to make more secure the write from the boolean bytes static final field with
-     * the current Boolean Bytes size.
-     * @since 1.0
+     * The profile from the object layout of the running virtual machine, that contains the size of the object headers,
+     * the size of the references and the alignment from the objects.
+     * @since 1.3
      */
-    private static final int BOOLEAN_BYTES = 1;
+    private static final VmLayout VM = VmLayout.current();
 
     /**
-     * The Object.class do not contains the variable "BYTES" that shows the quantity of bytes that generic object data
-     * type occupies in RAM Memory. Then to make more secure the write from the generic object bytes static final field
-     * with the generic object bytes size.
-     * @since 1.0
+     * The engine that is used to read the reference fields from the objects.
+     * @since 1.3
      */
-    private static final int OBJECT_BYTES = 8;
+    private static volatile SizingEngine engine = SizingEngine.METHOD_HANDLE;
 
     /**
-     * Do not exists an Array class in "java.lang" package to show the quantity of bytes that a generic array data type
-     * occupies in RAM Memory. Then to make more secure is written the generic Array bytes size in a static final field.
-     * The calculation from a generic Array bytes size is: 8 + 4 = 12. The 8 bytes represents that the Array is a object
-     * and the 4 bytes represents the length from the Array that is an integer value.
-     * @since 1.0
+     * This method gets the engine that is used to read the reference fields from the objects.
+     *
+     * @return the current engine.
+     * @since 1.3
+     */
+    public static SizingEngine engine() {
+        return engine;
+    }
+
+    /**
+     * This method sets the engine that is used to read the reference fields from the objects. The engine
+     * "SizingEngine.REFLECTION" can be used as fallback when the method handles are not desired.
+     *
+     * @param engine the engine.
+     * @since 1.3
+     */
+    public static void engine(final SizingEngine engine) {
+        if (engine == null) {
+            throw new NullPointerException("engine");
+        }
+        Scaler.engine = engine;
+    }
+
+    /**
+     * The filter from the canonical instances, that are the instances shared by the all application and that are not
+     * calculated when are referenced by the object.
+     * @since 1.3
+     */
+    private static volatile CanonicalFilter canonicalFilter = CanonicalFilter.defaults();
+
+    /**
+     * This method gets the filter from the canonical instances that is used by the calculations.
+     *
+     * @return the current filter.
+     * @since 1.3
+     */
+    public static CanonicalFilter canonicalFilter() {
+        return canonicalFilter;
+    }
+
+    /**
+     * This method sets the filter from the canonical instances that is used by the calculations. The filter
+     * "CanonicalFilter.NONE" can be used to calculate the all objects, including the instances shared by the
+     * virtual machine.
+     *
+     * @param canonicalFilter the filter.
+     * @since 1.3
+     */
+    public static void canonicalFilter(final CanonicalFilter canonicalFilter) {
+        if (canonicalFilter == null) {
+            throw new NullPointerException("canonicalFilter");
+        }
+        Scaler.canonicalFilter = canonicalFilter;
+    }
+
+    /**
+     * The cache from the deep sizes of the immutable objects, that is used by the deep calculations.
+     * @since 1.3
      */
-    private static final int ARRAY_BYTES = 12;
+    private static volatile SizeMemo sizeMemo = SizeMemo.NONE;
 
     /**
-     * Current Java Version from OS that running this project.
-     * @since 1.1
+     * This method gets the cache from the deep sizes of the immutable objects.
+     *
+     * @return the current cache.
+     * @since 1.3
      */
-    private static final int JAVA_VERSION = Integer.parseInt(System.getProperty("java.version").split("\\.")[1]);
+    public static SizeMemo sizeMemo() {
+        return sizeMemo;
+    }
 
     /**
-     * The String.class do not contains the variable "BYTES" that each character that contains in string consumes in
-     * RAM Memory, then this variable is created to show the amount of bytes that each chracter that contains in string
-     * consumes, then with the implementation from Java 9 the characters from string bacmea byte values.
-     * @since 1.1
+     * This method sets the cache from the deep sizes of the immutable objects that is used by the methods
+     * "deepSizeof" and "deepSizeofConcurrent". The cache "SizeMemo.NONE" is used by default, that do not caches the
+     * sizes.
+     *
+     * @param sizeMemo the cache.
+     * @since 1.3
+     * @see SizeMemo
      */
-    private static final int STRING_CHARACTER_BYTES = JAVA_VERSION <= 8 ? 2 : 1;
+    public static void sizeMemo(final SizeMemo sizeMemo) {
+        if (sizeMemo == null) {
+            throw new NullPointerException("sizeMemo");
+        }
+        Scaler.sizeMemo = sizeMemo;
+    }
 
     /**
      * This method calculates the size that the Object when instantiated will occupies in RAM Memory. But this
@@ -67,163 +130,442 @@ public final class Scaler {
      * @since 1.0
      */
     public static int sizeof(final Object object) {
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final int size = sizeofObject(object);
+        ScalerMetrics.end(probe, ScalerMetrics.SIZEOF, object, -1, size);
+        return size;
+    }
+
+    /**
+     * This method converts the timeout to nanoseconds, the timeout that overflows a long is saturated to
+     * "Long.MAX_VALUE", that the walker treats as no deadline.
+     *
+     * @param timeout the input timeout.
+     * @return the timeout in nanoseconds.
+     * @since 1.3
+     */
+    private static long nanos(final Duration timeout) {
+        try {
+            return timeout.toNanos();
+        } catch (ArithmeticException e) {
+            return timeout.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * This method calculates the size from the object like the method "sizeof", and is called recursively by the
+     * calculation from the references of the object.
+     *
+     * @param object the input object.
+     * @return the size from the object.
+     * @since 1.3
+     */
+    private static int sizeofObject(final Object object) {
         // @Note This condition check if the object is null.
         if (object == null) {
             throw new NullPointerException("object");
         }
-        // @Note Now the collection classes is calculate without using much reflections, and now the calculation is
-        // made by other methods.
-        if (object instanceof List) {
-            return sizeofList((List<?>) object);
-        } else if (object instanceof Map) {
-            return sizeofMap((Map<?, ?>) object);
-        }
-        // @Note The size starts with 8 bytes, because the each class use 8 bytes.
-        int size = OBJECT_BYTES;
-        // @Note This represents the for-each loop from the all declared fields that contains in the object class.
-        for (final Field field : object.getClass().getDeclaredFields()) {
-            final String type = field.getType().toString();
-            // @Note Make the field accessible.
-            field.setAccessible(true);
-            // @Note This condition check if the current object is a String.
-            if (type.equals("class java.lang.String")) {
-                try {
-                    final String string = (String) field.get(object);
-                    // @Note The size calculates if the string object is different from null then the object occupies
-                    // the 8 bytes from the object more 2 times length of String, otherwise if the string object is
-                    // equals  null then the object only occupies the 8 bytes from object.
-                    size += string != null ? OBJECT_BYTES + (STRING_CHARACTER_BYTES * string.length()) : OBJECT_BYTES;
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-                continue;
-            } else if (type.startsWith("class")) {
-                // @Note This condition check if the object is an array.
-                if (type.contains("[")) {
-                    try {
-                        // @Note This represents the generic object to reference the array.
-                        final Object objectArray = field.get(object);
-                        if (objectArray == null) {
-                            continue;
-                        }
-                        // @Note This method calculates the size from the object array.
-                        size += sizeofArray(objectArray);
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                }
-                // @Note This represents that the object is not an array.
-                else {
-                    try {
-                        final Object currentObject = field.get(object);
-                        if (currentObject == null) {
-                            continue;
-                        }
-                        size += type.equals("class java.lang.Object") ? OBJECT_BYTES : sizeof(currentObject);
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                }
+        final Class<?> type = object.getClass();
+        return sizeofInstance(object, SizeStrategies.resolve(type), ClassLayout.of(type));
+    }
+
+    /**
+     * This method calculates the size from the object by the strategy and the layout from the class of the object,
+     * that are resolved by the caller then the elements from an array with the same class can reuse them.
+     *
+     * @param object the input object.
+     * @param strategy the strategy from the class, or null when the class has not a strategy.
+     * @param layout the layout from the class.
+     * @return the size from the object.
+     * @since 1.3
+     */
+    private static int sizeofInstance(final Object object, final SizeStrategy<Object> strategy, final ClassLayout layout) {
+        // @Note The collection classes and the classes with a registered strategy are calculated by the strategy,
+        // that models the real backing structure from the collection.
+        if (strategy != null) {
+            final RecursiveContext context = new RecursiveContext();
+            return (int) (strategy.sizeof(object, context) + context.size);
+        }
+        if (layout.type == String.class) {
+            return layout.shallowSize(object) + (int) VM.stringValueSize((String) object);
+        } else if (layout.type.isArray()) {
+            return sizeofArray(object);
+        }
+        // @Note The shallow size is precomputed in the layout, that represents the object header more the bytes from
+        // the all fields with the padding, then the references from the fields are already calculated.
+        int size = layout.shallowSize(object);
+        // @Note The reader reads the all reference fields from the object at once.
+        final Object[] values = layout.reader(engine).read(object);
+        final byte[] kinds = layout.kinds;
+        final CanonicalFilter filter = canonicalFilter;
+        for (int i = 0; i < values.length; i++) {
+            final Object value = values[i];
+            // @Note The canonical instances are shared by the all application, then only the reference to the instance
+            // is calculated, that is already contained in the shallow size.
+            if (value == null || filter.isCanonical(value)) {
                 continue;
             }
-            switch (type) {
-                case "boolean": size += BOOLEAN_BYTES;
-                    break;
-                case "byte": size += Byte.BYTES;
-                    break;
-                case "short": size += Short.BYTES;
-                    break;
-                case "char": size += Character.BYTES;
-                    break;
-                case "int": size += Integer.BYTES;
+            switch (kinds[i]) {
+                // @Note The string occupies the string object more the internal array from the characters.
+                case ClassLayout.STRING: size += ClassLayout.of(String.class).shallowSize(value) + (int) VM.stringValueSize((String) value);
                     break;
-                case "float": size += Float.BYTES;
+                case ClassLayout.ARRAY: size += sizeofArray(value);
                     break;
-                case "double": size += Double.BYTES;
+                // @Note The generic object is calculated only by the shallow size from the object.
+                case ClassLayout.OBJECT: size += value.getClass().isArray() ? sizeofArray(value) : ClassLayout.of(value.getClass()).shallowSize(value);
                     break;
-                case "long": size += Long.BYTES;
+                default: size += sizeofObject(value);
                     break;
-                default:
-                    throw new RuntimeException("Field Type (" + type + ") has not found to be parse.");
             }
         }
         return size;
     }
 
     /**
-     * This method calculates the size of from a class, this method is used when the object is null and can not get the
-     * array values and some others fields, this method make the calculation from the field types to can approximate
-     * to the object value.
+     * This method calculates the deep size from the object, that represents the size from the object more the size of
+     * the all objects that are reachable from the object. Unlike the method "sizeof" each object is counted only once
+     * even when the object is reachable by more than one path, and the graphs with cycles are supported. The graph is
+     * walked with an explicit stack then the size of the graph is not limited by the thread stack.
      *
-     * @param klass the input class.
-     * @return the size of from a class.
-     * @since 1.2
+     * @param object the object that will be calculated your deep size.
+     * @return the deep size from the object.
+     * @since 1.3
      */
-    public static int sizeofClass(final Class<?> klass) {
-        int size = OBJECT_BYTES;
-        for (final Field field : klass.getDeclaredFields()) {
-            // @Note Get the type name from the field to can compare the field types.
-            final String type = field.getType().getTypeName();
-            if (type.equals("boolean") || type.equals("boolean[]")) size += BOOLEAN_BYTES;
-            else if (type.equals("byte") || type.equals("byte[]")) size += Byte.BYTES;
-            else if (type.equals("char") || type.equals("char[]")) size += Character.BYTES;
-            else if (type.equals("short") || type.equals("short[]")) size += Short.BYTES;
-            else if (type.equals("int") || type.equals("int[]")) size += Integer.BYTES;
-            else if (type.equals("float") || type.equals("float[]")) size += Float.BYTES;
-            else if (type.equals("double") || type.equals("double[]")) size += Double.BYTES;
-            else if (type.equals("long") || type.equals("long[]")) size += Long.BYTES;
-            else if (type.equals("java.lang.Object") || type.equals("java.lang.String") || type.equals("java.lang.Object[]") || type.equals("java.lang.String[]")) size += OBJECT_BYTES;
-            else {
-                try {
-                    size += sizeofClass(Class.forName(type.substring(0, type.indexOf('['))));
-                } catch (ClassNotFoundException e) {
-                    e.printStackTrace();
-                }
-            }
-            if (type.contains("[]")) size += ARRAY_BYTES;
+    public static long deepSizeof(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("object");
         }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final GraphWalker walker = new GraphWalker(engine, canonicalFilter).memoize(sizeMemo);
+        final long bytes = walker.walk(object);
+        ScalerMetrics.end(probe, ScalerMetrics.DEEP_SIZEOF, object, walker.visits(), bytes);
+        return bytes;
+    }
+
+    /**
+     * This method calculates the deep size from the object by the threads of the common fork/join pool.
+     *
+     * @param object the object that will be calculated your deep size.
+     * @return the deep size from the object.
+     * @since 1.3
+     * @see #deepSizeofParallel(Object, ForkJoinPool)
+     */
+    public static long deepSizeofParallel(final Object object) {
+        return deepSizeofParallel(object, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * This method calculates the deep size from the object by the threads of the fork/join pool, like the method
+     * "deepSizeof". The large arrays from objects, the backing arrays from the collections and the wide subgraphs are
+     * split in tasks, and each object is counted only once by a striped identity set that is shared by the tasks. The
+     * work is split only when the graph is large, then the small objects are calculated by a single task.
+     *
+     * <p>The object must not be modified during the calculation, like in the method "deepSizeof".
+     *
+     * @param object the object that will be calculated your deep size.
+     * @param pool the pool that executes the calculation.
+     * @return the deep size from the object.
+     * @since 1.3
+     */
+    public static long deepSizeofParallel(final Object object, final ForkJoinPool pool) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final ParallelWalker walker = new ParallelWalker(engine, canonicalFilter, pool.getParallelism());
+        final long bytes = walker.walk(object, pool);
+        ScalerMetrics.end(probe, ScalerMetrics.DEEP_SIZEOF_PARALLEL, object, walker.visits(), bytes);
+        return bytes;
+    }
+
+    /**
+     * This method calculates the deep sizes from the roots together, like the entries from a cache that shares objects.
+     * Each object is calculated only once, and the bytes from each root are split by the unique bytes, that are
+     * reachable only from the root and are released when only the root is removed, and the shared bytes, that are
+     * reachable from other roots too. The shared bytes are attributed to the root that found the objects first, by the
+     * order from the roots, then the sum from the sizes of the all roots do not count the shared objects twice.
+     *
+     * @param roots the roots that will be calculated, the null roots has the size zero.
+     * @return the sizes from the roots, by the order from the roots.
+     * @since 1.3
+     */
+    public static SharedSize sizeofAll(final Collection<?> roots) {
+        if (roots == null) {
+            throw new NullPointerException("roots");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        // @Note The roots are copied to an array, then each root has a stable index in the walker.
+        final Object[] array = roots.toArray();
+        final SharedWalker walker = new SharedWalker(engine, canonicalFilter, array.length);
+        for (int i = 0; i < array.length; i++) {
+            walker.walk(array[i], i);
+        }
+        final long[] unique = walker.unique();
+        final long[] shared = walker.shared();
+        final List<SharedSize.RootSize> sizes = new ArrayList<>(array.length);
+        for (int i = 0; i < array.length; i++) {
+            sizes.add(new SharedSize.RootSize(array[i], unique[i], shared[i]));
+        }
+        final SharedSize size = new SharedSize(sizes, walker.objects());
+        ScalerMetrics.end(probe, ScalerMetrics.SIZEOF_ALL, roots, walker.objects(), size.bytes());
         return size;
     }
 
     /**
-     * This method calculates the size of a map.
+     * This method calculates the deep size from an object that is modified by other threads during the calculation,
+     * like the shared caches and registries. The calculation never locks or copies the objects:
      *
-     * @param map the input map.
-     * @return the size of a map.
-     * @since 1.2
+     * <ul>
+     * <li>The concurrent collections, like the ConcurrentHashMap, are iterated by the weakly consistent iterators, and
+     * the CopyOnWriteArrayList is iterated by the snapshot from the array.</li>
+     * <li>The collections that are not thread safe, like the HashMap, are retried when the iteration fails because the
+     * collection has been modified, and when the all attempts fails the backing structure from the collection is
+     * estimated by the quantity of elements, and only the elements that has been found are calculated.</li>
+     * </ul>
+     *
+     * <p>The size is not an atomic snapshot from the object: each object is calculated at the moment that is found,
+     * each object is counted only once, the backing structure from each collection is consistent with the elements that
+     * has been found in the collection, and the objects that are added or removed during the calculation can be counted
+     * or not. The estimation is not exact when a collection has been estimated.
+     *
+     * @param object the object that will be calculated your deep size.
+     * @return the deep size from the object.
+     * @since 1.3
      */
-    private static int sizeofMap(final Map<?, ?> map) {
-        int size = OBJECT_BYTES + (3 * Integer.BYTES) + Float.BYTES;
-        if (map.size() == 0) {
-            return size;
-        }
-        final int tableSize = ARRAY_BYTES;
-        final int nodeHashSize = Integer.BYTES;
-        final Map.Entry<?, ?> entry = map.entrySet().iterator().next();
-        final int keySize = sizeofBoxedType(entry.getKey());
-        final int valueSize = sizeofBoxedType(entry.getValue());
-        return size + tableSize + (map.size() * (keySize + valueSize + nodeHashSize));
+    public static SizeEstimate deepSizeofConcurrent(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final GraphWalker walker = new GraphWalker(engine, canonicalFilter, true).memoize(sizeMemo);
+        final long bytes = walker.walk(object);
+        ScalerMetrics.end(probe, ScalerMetrics.DEEP_SIZEOF_CONCURRENT, object, walker.visits(), bytes);
+        if (walker.estimated() == 0) {
+            return SizeEstimate.exact(bytes, 1);
+        }
+        // @Note The bytes from the estimated collections has not an interval, then the bounds are the size.
+        return new SizeEstimate(bytes, bytes, bytes, 0, 0, 1, false);
     }
 
     /**
-     * This method calculates the size of a list.
+     * This method checks if the deep size from the object is greater than the limit. The calculation is stopped as soon
+     * as the size passes the limit, then the time from the check is proportional to the limit and not to the object.
      *
-     * @param list the input list.
-     * @return the size of a list.
+     * @param object the object that will be checked.
+     * @param limitBytes the maximum size that the object can have.
+     * @return the size from the object, that is complete when the deep size is not greater than the limit, otherwise
+     * is a lower bound that is greater than the limit and the method "BoundedSize#exceeded" returns true.
+     * @since 1.3
+     */
+    public static BoundedSize exceeds(final Object object, final long limitBytes) {
+        return deepSizeof(object, limitBytes, null);
+    }
+
+    /**
+     * This method calculates the deep size from the object until the timeout expires, then the size is a lower bound
+     * from the deep size when the calculation is not complete.
+     *
+     * @param object the object that will be calculated your deep size.
+     * @param timeout the maximum time from the calculation.
+     * @return the deep size from the object, or a lower bound when the timeout has expired.
+     * @since 1.3
+     */
+    public static BoundedSize sizeof(final Object object, final Duration timeout) {
+        if (timeout == null) {
+            throw new NullPointerException("timeout");
+        }
+        return deepSizeof(object, Long.MAX_VALUE, timeout);
+    }
+
+    /**
+     * This method calculates the deep size from the object until the size passes the limit or the timeout expires.
+     * The objects are calculated like the method "deepSizeof", and the time is checked after some objects, then the
+     * calculation can pass the timeout by the time from a few objects. The strategies from the collections calculates
+     * the backing structure at once, then a large collection is calculated by complete before the limit is checked.
+     *
+     * @param object the object that will be calculated your deep size.
+     * @param limitBytes the maximum size that is calculated.
+     * @param timeout the maximum time from the calculation, or null when the calculation has not a timeout. The
+     * timeout that is zero or negative stops the calculation before the first object.
+     * @return the deep size from the object, or a lower bound when the calculation has been stopped.
+     * @since 1.3
+     */
+    public static BoundedSize deepSizeof(final Object object, final long limitBytes, final Duration timeout) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        if (limitBytes < 0) {
+            throw new IllegalArgumentException("Limit (" + limitBytes + ") can not be negative.");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final GraphWalker walker = new GraphWalker(engine, canonicalFilter);
+        final long bytes = walker.walk(object, limitBytes, timeout == null ? Long.MAX_VALUE : nanos(timeout));
+        ScalerMetrics.end(probe, ScalerMetrics.DEEP_SIZEOF_BOUNDED, object, walker.visits(), bytes);
+        return new BoundedSize(bytes, limitBytes, walker.complete());
+    }
+
+    /**
+     * This method calculates the memory that is retained by the object, split by the heap memory, the native memory
+     * from the direct buffers and from the native memory holders, and the native memory from the mapped buffers. The
+     * heap memory is the deep size from the method "deepSizeof", and each native allocation is counted only once even
+     * when is reachable by the duplicates or the slices from a buffer, unless the footprint is marked as not exact.
+     *
+     * @param object the object that will be calculated your footprint.
+     * @return the memory that is retained by the object.
+     * @since 1.3
+     * @see NativeMemoryHolder
+     */
+    public static MemoryFootprint footprint(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final GraphWalker walker = new GraphWalker(engine, canonicalFilter);
+        final NativeRanges natives = walker.trackNatives();
+        final long heap = walker.walk(object);
+        final MemoryFootprint footprint = new MemoryFootprint(heap, natives.offHeap(), natives.mapped(), natives.exact());
+        ScalerMetrics.end(probe, ScalerMetrics.FOOTPRINT, object, walker.visits(), footprint.total());
+        return footprint;
+    }
+
+    /**
+     * This method calculates the breakdown from the deep size of the object, that contains the quantity of instances,
+     * the shallow size and the deep size from each class of the graph, and the size that is retained by each field.
+     * The deep size from the breakdown is equals the deep size from the method "deepSizeof".
+     *
+     * @param object the object that will be calculated your breakdown.
+     * @return the breakdown from the deep size.
+     * @since 1.3
+     */
+    public static SizeBreakdown sizeofDetailed(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final SizeBreakdown breakdown = new BreakdownWalker(engine, canonicalFilter).walk(object);
+        ScalerMetrics.end(probe, ScalerMetrics.SIZEOF_DETAILED, object, breakdown.objects(), breakdown.bytes());
+        return breakdown;
+    }
+
+    /**
+     * This method calculates the bytes that the object occupies when is written by a serialization format, without
+     * write the object. The graph is walked by the same layouts from the method "deepSizeof", and the bytes are counted
+     * by the model from the format, like the models "WireModel.JAVA_SERIALIZATION" and "WireModel.COMPACT".
+     *
+     * @param object the object that will be calculated your serialized size.
+     * @param model the model from the serialization format.
+     * @return the serialized size from the object in bytes.
+     * @since 1.3
+     * @see WireModel
+     */
+    public static long wireSizeof(final Object object, final WireModel model) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        if (model == null) {
+            throw new NullPointerException("model");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final WireWalker walker = new WireWalker(engine, model);
+        final long bytes = walker.walk(object);
+        ScalerMetrics.end(probe, ScalerMetrics.WIRE_SIZEOF, object, walker.writes(), bytes);
+        return bytes;
+    }
+
+    /**
+     * This method analyzes the layouts from the classes of the graph of the object, and reports the padding bytes that
+     * can be recovered by a reorder of the fields, the boxed fields that can be primitives, the string fields that holds a small
+     * enumeration and the small arrays that can be flattened in fields. The saving from each finding is estimated by
+     * the layout from the virtual machine and multiplied by the instances from the class in the graph, only the
+     * classes that are not from the Java are analyzed.
+     *
+     * @param object the object that will be analyzed the graph.
+     * @return the report from the layouts, ordered by the total saving.
+     * @since 1.3
+     * @see LayoutReport
+     */
+    public static LayoutReport analyzeLayout(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final LayoutAnalyzer analyzer = new LayoutAnalyzer(engine, canonicalFilter);
+        final LayoutReport report = analyzer.analyze(object);
+        ScalerMetrics.end(probe, ScalerMetrics.ANALYZE_LAYOUT, object, analyzer.visits(), report.totalBytes());
+        return report;
+    }
+
+    /**
+     * This method analyzes the layout from the class without instances, then only the padding and the boxed fields
+     * are reported, for a single instance that owns your boxed values.
+     *
+     * @param klass the class that will be analyzed.
+     * @return the report from the layout.
+     * @since 1.3
+     * @see #analyzeLayout(Object)
+     */
+    public static LayoutReport analyzeClassLayout(final Class<?> klass) {
+        if (klass == null) {
+            throw new NullPointerException("klass");
+        }
+        if (klass.isArray() || klass.isPrimitive() || klass.isInterface()) {
+            throw new IllegalArgumentException("Class (" + klass.getTypeName() + ") must be an instance class.");
+        }
+        return new LayoutAnalyzer(engine, canonicalFilter).analyze(klass);
+    }
+
+    /**
+     * This method estimates the deep size from a large collection or map, using the default sampling options.
+     *
+     * @param object the object that will be estimated your deep size.
+     * @return the estimation from the deep size.
+     * @since 1.3
+     * @see #estimate(Object, Sampling)
+     */
+    public static SizeEstimate estimate(final Object object) {
+        return estimate(object, Sampling.defaults());
+    }
+
+    /**
+     * This method estimates the deep size from a large collection or map. Only a sample from the elements is calculated
+     * by the deep calculation and the size is extrapolated to the all elements, with the confidence interval from the
+     * sample. The backing structure from the collection is calculated by the strategy from the collection, and the
+     * collections smaller than the threshold from the sampling, or the objects that are not collections and maps, are
+     * calculated by the exact calculation from the method "deepSizeof".
+     *
+     * @param object the object that will be estimated your deep size.
+     * @param sampling the options from the sampling.
+     * @return the estimation from the deep size.
+     * @since 1.3
+     */
+    public static SizeEstimate estimate(final Object object, final Sampling sampling) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        if (sampling == null) {
+            throw new NullPointerException("sampling");
+        }
+        final ScalerMetrics.Probe probe = ScalerMetrics.begin();
+        final SizeEstimate estimate = SizeEstimator.estimate(object, sampling, engine, canonicalFilter);
+        ScalerMetrics.end(probe, ScalerMetrics.ESTIMATE, object, -1, estimate.bytes());
+        return estimate;
+    }
+
+    /**
+     * This method calculates the size of from a class, this method is used when the object is null and can not get the
+     * array values and some others fields, this method make the calculation from the field types to can approximate
+     * to the object value.
+     *
+     * @param klass the input class.
+     * @return the size of from a class.
      * @since 1.2
      */
-    private static int sizeofList(final List<?> list) {
-        final int elementDataSize = ARRAY_BYTES;
-        final int listSize = Integer.BYTES;
-        int size = OBJECT_BYTES + elementDataSize + listSize;
-        // @Note This condition check if the list size is equals 0, or empty.
-        // Then return the calculation from the only of class size.
-        if (list.size() == 0) {
-            return size;
-        }
-        final Object element = list.get(0);
-        final int elementSize = sizeofBoxedType(element);
-        return size + (list.size() * elementSize);
+    public static int sizeofClass(final Class<?> klass) {
+        // @Note The size from the class is calculated only once, then the next calls use the cached size.
+        return ClassLayout.of(klass).classSize();
     }
 
     /**
@@ -237,50 +579,24 @@ public final class Scaler {
         if (object == null) {
             return 0;
         }
-        int size = 0;
-        // @Note This check of conditions is made because each boxed type from a primitive type contains the value
-        // of the primitive type.
-        if (object instanceof Boolean) size += BOOLEAN_BYTES;
-        else if (object instanceof Byte) size += Byte.BYTES;
-        else if (object instanceof Character) size += Character.BYTES;
-        else if (object instanceof Short) size += Short.BYTES;
-        else if (object instanceof Integer) size += Integer.BYTES;
-        else if (object instanceof Float) size += Float.BYTES;
-        else if (object instanceof Double) size += Double.BYTES;
-        else if (object instanceof Long) size += Long.BYTES;
-        else if (object instanceof BigInteger) {
-            size += OBJECT_BYTES + (5 * Integer.BYTES);
-            int magSize;
-            // @Note This represents the size of the mag array that the BigInteger class contains.
-            try {
-                magSize = sizeofArray(object.getClass().getDeclaredField("mag").get(object));
-            } catch (IllegalAccessException | NoSuchFieldException e) {
-                magSize = 0;
-                e.printStackTrace();
-            }
-
-            size += magSize;
-        } else if (object instanceof BigDecimal) {
-            // @Note This represents the size of a BigInteger, that contains into the BigDecimal.
-            size += OBJECT_BYTES + (5 * Integer.BYTES);
-            int magSize;
-            // @Note This represents the size of the mag array that the BigInteger class contains.
-            try {
-                magSize = sizeofArray(object.getClass().getDeclaredField("mag").get(object));
-            } catch (IllegalAccessException | NoSuchFieldException e) {
-                magSize = 0;
-                e.printStackTrace();
-            }
-            // @Note Use the method "toString" from the BigDecimal is a way to get the "stringCache" more fast, without
-            // use reflection.
-            size += magSize + (2 * Integer.BYTES) + Long.BYTES + (object.toString().length() * STRING_CHARACTER_BYTES);
+        // @Note The boxed type from a primitive type contains only the value of the primitive type, then the size is
+        // the shallow size from the class.
+        if (object instanceof Boolean || object instanceof Byte || object instanceof Character || object instanceof Short
+                || object instanceof Integer || object instanceof Float || object instanceof Double || object instanceof Long) {
+            return ClassLayout.of(object.getClass()).shallowSize(object);
         }
-        else size += sizeofArray(object);
-        return size;
+        // @Note The BigInteger and the BigDecimal are calculated by the strategies from the numbers, that do not uses
+        // the reflection.
+        return object.getClass().isArray() ? sizeofArray(object) : sizeofObject(object);
     }
 
     /**
-     * This method calculates the size of from an array.
+     * This method calculates the size of from an array. The component type is resolved only once: the arrays from
+     * primitive types are calculated by the length, and the elements from the arrays of references are calculated
+     * one by one like the reference fields from an object. The elements are calculated by the kind from the component
+     * type, the strings by the content, the arrays by the elements, the generic objects by the shallow size and the
+     * other objects by the method "sizeof". The layout and the strategy from the class of the elements are resolved
+     * only when the class changes, then an array with a million elements from the same class resolves them once.
      *
      * @param object the input object that represents an array.
      * @return the size of from an array.
@@ -292,40 +608,79 @@ public final class Scaler {
         if (object == null) {
             return 0;
         }
-        // @Note The input parameter object can not be a array because this make the remove of
-        // primitive types array.
-        final String type = object.getClass().getTypeName();
-        // @Note The initial size from a array is the array bytes that each array consumes.
-        int size = ARRAY_BYTES;
-        if (type.equals("boolean[]")) size += ((boolean[]) object).length * BOOLEAN_BYTES;
-        else if (type.equals("byte[]")) size += ((byte[]) object).length * Byte.BYTES;
-        else if (type.equals("char[]")) size += ((char[]) object).length * Character.BYTES;
-        else if (type.equals("short[]")) size += ((short[]) object).length * Short.BYTES;
-        else if (type.equals("int[]")) size += ((int[]) object).length * Integer.BYTES;
-        else if (type.equals("float[]")) size += ((float[]) object).length * Float.BYTES;
-        else if (type.equals("double[]")) size += ((double[]) object).length * Double.BYTES;
-        else if (type.equals("long[]")) size += ((long[]) object).length * Long.BYTES;
-        else if (type.equals("java.lang.Object[]")) size += ((Object[]) object).length * OBJECT_BYTES;
-        else if (type.equals("java.lang.String[]")) size += ((String[]) object).length * STRING_CHARACTER_BYTES;
-        else if (type.equals("java.lang.Boolean[]")) size += ((Boolean[]) object).length * BOOLEAN_BYTES;
-        else if (type.equals("java.lang.Byte[]")) size += ((Byte[]) object).length * Byte.BYTES;
-        else if (type.equals("java.lang.Character[]")) size += ((Character[]) object).length * Character.BYTES;
-        else if (type.equals("java.lang.Short[]")) size += ((Short[]) object).length * Short.BYTES;
-        else if (type.equals("java.lang.Integer[]")) size += ((Integer[]) object).length * Integer.BYTES;
-        else if (type.equals("java.lang.Float[]")) size += ((Float[]) object).length * Float.BYTES;
-        else if (type.equals("java.lang.Double[]")) size += ((Double[]) object).length * Double.BYTES;
-        else if (type.equals("java.lang.Long[]")) size += ((Long[]) object).length * Long.BYTES;
-        // @Note This represents that the object array can not be found, then this can represents a object
-        // then calculates the object size and calculates the array consume.
-        else {
-            final String className = type.substring(0, type.indexOf('['));
-            try {
-                size += sizeofClass(Class.forName(className));
-            } catch (ClassNotFoundException e) {
-                System.err.println("An error occured when parse the array (" + object + ").");
-                e.printStackTrace();
+        final Class<?> component = object.getClass().getComponentType();
+        if (component.isPrimitive()) {
+            return (int) VM.arraySize(component, Array.getLength(object));
+        }
+        final Object[] array = (Object[]) object;
+        long size = VM.arraySize(component, array.length);
+        final byte kind = ClassLayout.kindOf(component);
+        final CanonicalFilter filter = canonicalFilter;
+        // @Note The class from the current run of elements, and the layout and the strategy from the class.
+        Class<?> type = null;
+        ClassLayout layout = null;
+        SizeStrategy<Object> strategy = null;
+        for (final Object element : array) {
+            // @Note The canonical instances are calculated only by the reference, like the fields, and the array that
+            // contains itself is not calculated again.
+            if (element == null || element == object || filter.isCanonical(element)) {
+                continue;
+            }
+            if (element.getClass() != type) {
+                type = element.getClass();
+                layout = ClassLayout.of(type);
+                strategy = kind == ClassLayout.INSTANCE ? SizeStrategies.resolve(type) : null;
+            }
+            switch (kind) {
+                case ClassLayout.STRING: size += layout.shallowSize(element) + VM.stringValueSize((String) element);
+                    break;
+                case ClassLayout.ARRAY: size += sizeofArray(element);
+                    break;
+                // @Note The generic object is calculated only by the shallow size from the object.
+                case ClassLayout.OBJECT: size += type.isArray() ? sizeofArray(element) : layout.shallowSize(element);
+                    break;
+                default: size += sizeofInstance(element, strategy, layout);
+                    break;
             }
         }
-        return size;
+        return (int) size;
+    }
+
+    /**
+     * This class represents the context from the method "sizeof", that calculates each object that is pushed by the
+     * strategies in the moment that the object is pushed.
+     * @since 1.3
+     */
+    private static final class RecursiveContext implements SizeContext {
+
+        /**
+         * The size from the objects that has been pushed.
+         * @since 1.3
+         */
+        private long size;
+
+        /**
+         * The filter from the canonical instances, that are not calculated when are pushed.
+         * @since 1.3
+         */
+        private final CanonicalFilter filter = canonicalFilter;
+
+        @Override
+        public VmLayout layout() {
+            return VM;
+        }
+
+        @Override
+        public void push(final Object object) {
+            if (object != null && this.filter.isCanonical(object)) {
+                return;
+            }
+            this.size += sizeofBoxedType(object);
+        }
+
+        @Override
+        public long shallowSizeof(final Class<?> type) {
+            return ClassLayout.of(type).shallowSize();
+        }
     }
 }
@@ -0,0 +1,129 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class represents the optional agent from the Scaler, that gives the instrumentation from the virtual machine
+ * to the Scaler. When the agent is loaded the shallow size from the objects is the exact size that is calculated by the
+ * virtual machine, otherwise the shallow size is calculated by the layout profile. The agent is loaded by the option
+ * "-javaagent:scaler.jar" when the virtual machine starts, or is attached to a running virtual machine.
+ *
+ * @author biologyiswell (18/10/2026 19:30)
+ * @since 1.3
+ */
+public final class ScalerAgent {
+
+    // non-instantiate.
+    private ScalerAgent() {
+    }
+
+    /**
+     * The instrumentation from the virtual machine, that is null when the agent is not loaded.
+     * @since 1.3
+     */
+    private static volatile Instrumentation instrumentation;
+
+    /**
+     * This method is called by the virtual machine when the agent is loaded by the option "-javaagent".
+     *
+     * @param arguments the arguments from the agent.
+     * @param instrumentation the instrumentation from the virtual machine.
+     * @since 1.3
+     */
+    public static void premain(final String arguments, final Instrumentation instrumentation) {
+        install(instrumentation);
+    }
+
+    /**
+     * This method is called by the virtual machine when the agent is attached to the running virtual machine. When the
+     * arguments are created by the method "arguments", the root from the arguments is calculated in a thread of low
+     * priority and the report is written to the output file.
+     *
+     * @param arguments the arguments from the agent.
+     * @param instrumentation the instrumentation from the virtual machine.
+     * @since 1.3
+     */
+    public static void agentmain(final String arguments, final Instrumentation instrumentation) {
+        install(instrumentation);
+        if (arguments != null && !arguments.isEmpty()) {
+            AttachCommand.start(arguments, instrumentation);
+        }
+    }
+
+    /**
+     * This method creates the arguments from the agent that calculates the deep size from a root when the agent is
+     * attached to a running virtual machine.
+     *
+     * @param root the root, like "com.acme.Cache#INSTANCE" or "com.acme.Cache#INSTANCE.sessions".
+     * @param limitBytes the maximum size that is calculated.
+     * @param timeout the maximum time from the calculation.
+     * @param output the file that the report is written, that must not exists.
+     * @return the arguments from the agent.
+     * @since 1.3
+     */
+    public static String arguments(final String root, final long limitBytes, final Duration timeout, final Path output) {
+        if (root == null) {
+            throw new NullPointerException("root");
+        }
+        if (timeout == null) {
+            throw new NullPointerException("timeout");
+        }
+        if (output == null) {
+            throw new NullPointerException("output");
+        }
+        if (limitBytes < 0) {
+            throw new IllegalArgumentException("Limit (" + limitBytes + ") can not be negative.");
+        }
+        final Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put(AttachCommand.ROOT, root);
+        arguments.put(AttachCommand.LIMIT, String.valueOf(limitBytes));
+        // @Note The timeout that overflows a long is saturated, like the timeout from the Scaler.
+        long timeoutMillis;
+        try {
+            timeoutMillis = timeout.toMillis();
+        } catch (ArithmeticException e) {
+            timeoutMillis = timeout.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        arguments.put(AttachCommand.TIMEOUT, String.valueOf(timeoutMillis));
+        arguments.put(AttachCommand.OUTPUT, output.toAbsolutePath().toString());
+        return AttachCommand.encode(arguments);
+    }
+
+    /**
+     * This method installs the instrumentation, this method can be used by the applications that already contains the
+     * instrumentation from other agent.
+     *
+     * @param instrumentation the instrumentation from the virtual machine.
+     * @since 1.3
+     */
+    public static void install(final Instrumentation instrumentation) {
+        if (instrumentation == null) {
+            throw new NullPointerException("instrumentation");
+        }
+        ScalerAgent.instrumentation = instrumentation;
+    }
+
+    /**
+     * This method checks if the agent is loaded.
+     *
+     * @return true if the agent is loaded, otherwise false.
+     * @since 1.3
+     */
+    public static boolean isLoaded() {
+        return instrumentation != null;
+    }
+
+    /**
+     * This method gets the instrumentation from the virtual machine.
+     *
+     * @return the instrumentation, or null if the agent is not loaded.
+     * @since 1.3
+     */
+    static Instrumentation instrumentation() {
+        return instrumentation;
+    }
+}
@@ -0,0 +1,352 @@
+package io.github.biologyiswell.scaler;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents the metrics from the cost of the Scaler itself, that contains the quantity of measurements, the
+ * objects that has been visited, the sizes that has been calculated, the time and the allocation from the
+ * measurements, the hits and misses from the cache of the class layouts and the fields that has been skipped because
+ * are not accessible. The metrics are exposed by the JMX when are registered by the method "register".
+ *
+ * <p>Each measurement is recorded too as the Flight Recorder event "io.github.biologyiswell.scaler.Sizing" when the
+ * event is enabled in a recording and the Flight Recorder exists in the virtual machine.
+ *
+ * <p>When the metrics are disabled and the event is not enabled, each measurement only reads two flags and the
+ * walkers do not counts the objects, then the cost from the instrumentation is near zero.
+ *
+ * @author biologyiswell (19/10/2026 01:40)
+ * @since 1.3
+ */
+public final class ScalerMetrics implements ScalerMetricsMBean {
+
+    /**
+     * The name from the metrics in the JMX.
+     * @since 1.3
+     */
+    public static final String OBJECT_NAME = "io.github.biologyiswell.scaler:type=Metrics";
+
+    /**
+     * The names from the measurements that are recorded by the events.
+     * @since 1.3
+     */
+    static final String SIZEOF = "sizeof";
+    static final String DEEP_SIZEOF = "deepSizeof";
+    static final String DEEP_SIZEOF_CONCURRENT = "deepSizeofConcurrent";
+    static final String DEEP_SIZEOF_PARALLEL = "deepSizeofParallel";
+    static final String DEEP_SIZEOF_BOUNDED = "deepSizeofBounded";
+    static final String SIZEOF_DETAILED = "sizeofDetailed";
+    static final String ESTIMATE = "estimate";
+    static final String FOOTPRINT = "footprint";
+    static final String SIZEOF_ALL = "sizeofAll";
+    static final String WIRE_SIZEOF = "wireSizeof";
+    static final String ANALYZE_LAYOUT = "analyzeLayout";
+
+    private static final ScalerMetrics INSTANCE = new ScalerMetrics();
+
+    /**
+     * This field represents if the counters are accumulated, the field is read by the hot paths then is the only check
+     * when the metrics are disabled.
+     * @since 1.3
+     */
+    static volatile boolean enabled;
+
+    private static final LongAdder MEASUREMENTS = new LongAdder();
+    private static final LongAdder NODES = new LongAdder();
+    private static final LongAdder BYTES = new LongAdder();
+    private static final LongAdder NANOS = new LongAdder();
+    private static final LongAdder ALLOCATED = new LongAdder();
+    private static final LongAdder LAYOUT_LOOKUPS = new LongAdder();
+    private static final LongAdder LAYOUT_MISSES = new LongAdder();
+    private static final LongAdder FIELDS_SKIPPED = new LongAdder();
+
+    /**
+     * The recorder from the Flight Recorder events, or null when the Flight Recorder do not exists in the virtual
+     * machine. The event class requires the Java 11, then the recorder is loaded by the reflection.
+     * @since 1.3
+     */
+    private static final Recorder RECORDER = loadRecorder();
+
+    /**
+     * The bean from the threads that reads the bytes allocated by the current thread, or null when the virtual machine
+     * do not supports the allocation counters.
+     * @since 1.3
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = loadThreads();
+
+    private ScalerMetrics() {
+    }
+
+    /**
+     * @return the metrics from the Scaler.
+     * @since 1.3
+     */
+    public static ScalerMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * This method enables the metrics and registers the metrics in the platform MBean server with the name
+     * "OBJECT_NAME", the metrics that are already registered are not registered again.
+     * @since 1.3
+     */
+    public static synchronized void register() {
+        enabled = true;
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("The metrics can not be registered.", e);
+        }
+    }
+
+    /**
+     * This method disables the metrics and removes the metrics from the platform MBean server.
+     * @since 1.3
+     */
+    public static synchronized void unregister() {
+        enabled = false;
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("The metrics can not be unregistered.", e);
+        }
+    }
+
+    @Override
+    public long getMeasurements() {
+        return MEASUREMENTS.sum();
+    }
+
+    @Override
+    public long getNodesVisited() {
+        return NODES.sum();
+    }
+
+    @Override
+    public long getBytesComputed() {
+        return BYTES.sum();
+    }
+
+    @Override
+    public long getWallTimeNanos() {
+        return NANOS.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return ALLOCATED.sum();
+    }
+
+    @Override
+    public long getLayoutCacheHits() {
+        return Math.max(0, LAYOUT_LOOKUPS.sum() - LAYOUT_MISSES.sum());
+    }
+
+    @Override
+    public long getLayoutCacheMisses() {
+        return LAYOUT_MISSES.sum();
+    }
+
+    @Override
+    public double getLayoutCacheHitRate() {
+        final long lookups = LAYOUT_LOOKUPS.sum();
+        return lookups == 0 ? 0 : (double) this.getLayoutCacheHits() / lookups;
+    }
+
+    @Override
+    public long getFieldsSkipped() {
+        return FIELDS_SKIPPED.sum();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        ScalerMetrics.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        MEASUREMENTS.reset();
+        NODES.reset();
+        BYTES.reset();
+        NANOS.reset();
+        ALLOCATED.reset();
+        LAYOUT_LOOKUPS.reset();
+        LAYOUT_MISSES.reset();
+        FIELDS_SKIPPED.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ScalerMetrics{measurements=" + this.getMeasurements() + ", nodesVisited=" + this.getNodesVisited()
+                + ", bytesComputed=" + this.getBytesComputed() + ", wallTimeNanos=" + this.getWallTimeNanos()
+                + ", allocatedBytes=" + this.getAllocatedBytes() + ", layoutCacheHits=" + this.getLayoutCacheHits()
+                + ", layoutCacheMisses=" + this.getLayoutCacheMisses() + ", fieldsSkipped=" + this.getFieldsSkipped() + "}";
+    }
+
+    /**
+     * This method starts the measurement, the probe is created only when the metrics or the event are enabled.
+     *
+     * @return the probe from the measurement, or null when the measurement is not recorded.
+     * @since 1.3
+     */
+    static Probe begin() {
+        final Recorder recorder = RECORDER;
+        final boolean event = recorder != null && recorder.isEnabled();
+        if (!enabled && !event) {
+            return null;
+        }
+        return new Probe(event ? recorder.begin() : null);
+    }
+
+    /**
+     * This method ends the measurement and records the measurement in the counters and in the event.
+     *
+     * @param probe the probe from the measurement, that can be null.
+     * @param operation the name from the measurement.
+     * @param root the object that has been calculated.
+     * @param nodes the quantity of objects that has been visited, or -1 when the measurement do not visits a graph.
+     * @param bytes the size that has been calculated.
+     * @since 1.3
+     */
+    static void end(final Probe probe, final String operation, final Object root, final long nodes, final long bytes) {
+        if (probe == null) {
+            return;
+        }
+        final long nanos = System.nanoTime() - probe.start;
+        final long allocated = allocatedBytes() - probe.allocated;
+        if (enabled) {
+            MEASUREMENTS.increment();
+            if (nodes > 0) {
+                NODES.add(nodes);
+            }
+            BYTES.add(bytes);
+            NANOS.add(nanos);
+            ALLOCATED.add(allocated);
+        }
+        if (probe.event != null) {
+            RECORDER.commit(probe.event, operation, root.getClass(), nodes, bytes, allocated);
+        }
+    }
+
+    /**
+     * This method counts a lookup from the cache of the class layouts, the caller checks the field "enabled".
+     * @since 1.3
+     */
+    static void layoutLookup() {
+        LAYOUT_LOOKUPS.increment();
+    }
+
+    /**
+     * This method counts a class layout that has been computed, with the fields that can not be read.
+     *
+     * @param inaccessible the quantity of fields from the layout that are not accessible.
+     * @since 1.3
+     */
+    static void layoutComputed(final int inaccessible) {
+        if (enabled) {
+            LAYOUT_MISSES.increment();
+            FIELDS_SKIPPED.add(inaccessible);
+        }
+    }
+
+    /**
+     * This method counts a field that could not be read during a calculation.
+     * @since 1.3
+     */
+    static void fieldSkipped() {
+        if (enabled) {
+            FIELDS_SKIPPED.increment();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Recorder loadRecorder() {
+        try {
+            // @Note The recorder is compiled for the Java 11, then the recorder can not be loaded by the Java 8 and by
+            // the images that do not contains the module "jdk.jfr".
+            return (Recorder) Class.forName("io.github.biologyiswell.scaler.JfrRecorder").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean loadThreads() {
+        try {
+            final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+                return (com.sun.management.ThreadMXBean) threads;
+            }
+        } catch (LinkageError e) {
+            // @Note The virtual machine do not contains the extensions from the management.
+        }
+        return null;
+    }
+
+    /**
+     * This class represents a measurement that has been started.
+     * @since 1.3
+     */
+    static final class Probe {
+
+        private final Object event;
+        private final long start;
+        private final long allocated;
+
+        private Probe(final Object event) {
+            this.event = event;
+            this.allocated = allocatedBytes();
+            this.start = System.nanoTime();
+        }
+    }
+
+    /**
+     * This interface represents the recorder from the Flight Recorder events.
+     * @since 1.3
+     */
+    interface Recorder {
+
+        /**
+         * @return true if the event is enabled in a recording, otherwise false.
+         * @since 1.3
+         */
+        boolean isEnabled();
+
+        /**
+         * @return the event that has been started.
+         * @since 1.3
+         */
+        Object begin();
+
+        /**
+         * This method commits the event.
+         *
+         * @param event the event that has been started.
+         * @param operation the name from the measurement.
+         * @param type the class from the object that has been calculated.
+         * @param nodes the quantity of objects that has been visited.
+         * @param bytes the size that has been calculated.
+         * @param allocated the bytes that has been allocated by the measurement.
+         * @since 1.3
+         */
+        void commit(Object event, String operation, Class<?> type, long nodes, long bytes, long allocated);
+    }
+}
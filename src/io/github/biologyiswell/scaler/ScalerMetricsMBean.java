@@ -0,0 +1,87 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This interface represents the management interface from the metrics of the Scaler, that is exposed by the JMX. The
+ * counters are accumulated only while the metrics are enabled.
+ *
+ * @author biologyiswell (19/10/2026 01:40)
+ * @since 1.3
+ * @see ScalerMetrics
+ */
+public interface ScalerMetricsMBean {
+
+    /**
+     * @return the quantity of measurements, that are the calls from the methods of the Scaler.
+     * @since 1.3
+     */
+    long getMeasurements();
+
+    /**
+     * @return the quantity of objects that has been visited by the deep calculations.
+     * @since 1.3
+     */
+    long getNodesVisited();
+
+    /**
+     * @return the sum from the sizes that has been calculated, in bytes.
+     * @since 1.3
+     */
+    long getBytesComputed();
+
+    /**
+     * @return the time that has been spent by the measurements, in nanoseconds.
+     * @since 1.3
+     */
+    long getWallTimeNanos();
+
+    /**
+     * @return the bytes that has been allocated by the measurements, or zero when the virtual machine do not supports
+     * the allocation counters.
+     * @since 1.3
+     */
+    long getAllocatedBytes();
+
+    /**
+     * @return the quantity of lookups from the class layouts that has been found in the cache.
+     * @since 1.3
+     */
+    long getLayoutCacheHits();
+
+    /**
+     * @return the quantity of lookups from the class layouts that has computed the layout.
+     * @since 1.3
+     */
+    long getLayoutCacheMisses();
+
+    /**
+     * @return the rate from the lookups that has been found in the cache, between 0 and 1.
+     * @since 1.3
+     */
+    double getLayoutCacheHitRate();
+
+    /**
+     * @return the quantity of fields that has not been read because the field is not accessible.
+     * @since 1.3
+     */
+    long getFieldsSkipped();
+
+    /**
+     * @return true if the metrics are enabled, otherwise false.
+     * @since 1.3
+     */
+    boolean isEnabled();
+
+    /**
+     * This method enables or disables the metrics.
+     *
+     * @param enabled true to enable the metrics.
+     * @since 1.3
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * This method resets the all counters to zero.
+     * @since 1.3
+     */
+    void reset();
+}
@@ -0,0 +1,123 @@
+package io.github.biologyiswell.scaler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the sizes from more than one root that has been calculated together. The bytes from each root
+ * are split by the unique bytes, that are reachable only from the root and are released when only the root is
+ * removed, and the shared bytes, that are reachable from other roots too.
+ *
+ * <p>Each shared object is attributed to the root that found it first, by the order from the roots, then the sum from
+ * the unique bytes and the shared bytes of the all roots is the total size from the roots, without count the shared
+ * objects more than once.
+ *
+ * @author biologyiswell (19/10/2026 03:10)
+ * @since 1.3
+ */
+public final class SharedSize {
+
+    private final List<RootSize> roots;
+    private final long bytes;
+    private final long sharedBytes;
+    private final long objects;
+
+    SharedSize(final List<RootSize> roots, final long objects) {
+        long bytes = 0;
+        long sharedBytes = 0;
+        for (final RootSize root : roots) {
+            bytes += root.uniqueBytes + root.sharedBytes;
+            sharedBytes += root.sharedBytes;
+        }
+        this.roots = Collections.unmodifiableList(new ArrayList<>(roots));
+        this.bytes = bytes;
+        this.sharedBytes = sharedBytes;
+        this.objects = objects;
+    }
+
+    /**
+     * @return the sizes from each root, by the order from the roots.
+     * @since 1.3
+     */
+    public List<RootSize> roots() {
+        return this.roots;
+    }
+
+    /**
+     * @return the total size from the roots, that counts the shared objects only once.
+     * @since 1.3
+     */
+    public long bytes() {
+        return this.bytes;
+    }
+
+    /**
+     * @return the bytes that are reachable from more than one root.
+     * @since 1.3
+     */
+    public long sharedBytes() {
+        return this.sharedBytes;
+    }
+
+    /**
+     * @return the quantity of objects that has been calculated.
+     * @since 1.3
+     */
+    public long objects() {
+        return this.objects;
+    }
+
+    @Override
+    public String toString() {
+        return "SharedSize{roots=" + this.roots.size() + ", bytes=" + this.bytes + ", sharedBytes=" + this.sharedBytes
+                + ", objects=" + this.objects + "}";
+    }
+
+    /**
+     * This class represents the size from a root.
+     * @since 1.3
+     */
+    public static final class RootSize {
+
+        private final Object root;
+        private final long uniqueBytes;
+        private final long sharedBytes;
+
+        RootSize(final Object root, final long uniqueBytes, final long sharedBytes) {
+            this.root = root;
+            this.uniqueBytes = uniqueBytes;
+            this.sharedBytes = sharedBytes;
+        }
+
+        /**
+         * @return the root, that can be null.
+         * @since 1.3
+         */
+        public Object root() {
+            return this.root;
+        }
+
+        /**
+         * @return the bytes that are reachable only from the root, that are released when only the root is removed.
+         * @since 1.3
+         */
+        public long uniqueBytes() {
+            return this.uniqueBytes;
+        }
+
+        /**
+         * @return the bytes that are reachable from other roots too, and that has been found first by the root.
+         * @since 1.3
+         */
+        public long sharedBytes() {
+            return this.sharedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "RootSize{root=" + (this.root == null ? null : this.root.getClass().getTypeName()) + ", uniqueBytes="
+                    + this.uniqueBytes + ", sharedBytes=" + this.sharedBytes + "}";
+        }
+    }
+}
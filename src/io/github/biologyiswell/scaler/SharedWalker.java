@@ -0,0 +1,214 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Array;
+
+/**
+ * This class represents the walker from the graphs of more than one root, that calculates the bytes that are reachable
+ * only from each root and the bytes that are shared by the roots. The roots are walked one by one with a table that
+ * contains the owner from each object, that is the root that found the object. When a root finds an object that is
+ * owned by other root the object is marked as shared, and the objects that are reachable from the object are walked
+ * again to be marked as shared too, then each object is calculated once and is walked at most twice.
+ *
+ * @author biologyiswell (19/10/2026 03:10)
+ * @since 1.3
+ */
+final class SharedWalker implements SizeContext {
+
+    /**
+     * The owner from the objects that are reachable from more than one root.
+     * @since 1.3
+     */
+    private static final int SHARED = -1;
+
+    /**
+     * The engine that reads the reference fields from the objects.
+     * @since 1.3
+     */
+    private final SizingEngine engine;
+
+    /**
+     * The filter from the canonical instances, that are not calculated when are referenced by the objects.
+     * @since 1.3
+     */
+    private final CanonicalFilter filter;
+
+    /**
+     * The profile from the virtual machine that is used to calculate the sizes.
+     * @since 1.3
+     */
+    private final VmLayout vm = VmLayout.current();
+
+    /**
+     * The owner and the size from each object that has been found.
+     * @since 1.3
+     */
+    private final OwnerTable table = new OwnerTable();
+
+    /**
+     * The bytes that are reachable only from each root.
+     * @since 1.3
+     */
+    private final long[] unique;
+
+    /**
+     * The bytes that are shared and that has been found first by each root.
+     * @since 1.3
+     */
+    private final long[] shared;
+
+    /**
+     * The stack from the objects that has been found but not has been walked.
+     * @since 1.3
+     */
+    private Object[] stack = new Object[64];
+    private int depth;
+
+    /**
+     * The index from the root that is being walked.
+     * @since 1.3
+     */
+    private int owner;
+
+    SharedWalker(final SizingEngine engine, final CanonicalFilter filter, final int roots) {
+        this.engine = engine;
+        this.filter = filter;
+        this.unique = new long[roots];
+        this.shared = new long[roots];
+    }
+
+    /**
+     * This method walks the graph from the root, the roots are walked by the order from the indexes.
+     *
+     * @param root the input root, that is calculated even when is a canonical instance.
+     * @param index the index from the root.
+     * @since 1.3
+     */
+    void walk(final Object root, final int index) {
+        this.owner = index;
+        if (root != null) {
+            this.reach(root);
+        }
+        while (this.depth > 0) {
+            final Object object = this.stack[--this.depth];
+            this.stack[this.depth] = null;
+            // @Note The size is calculated before the slot is found, because the objects that are pushed by the
+            // calculation can resize the table.
+            final long size = this.visit(object);
+            final int slot = this.table.slot(object);
+            if (this.table.owners[slot] != SHARED) {
+                this.table.sizes[slot] = size;
+                this.unique[index] += size;
+            }
+        }
+    }
+
+    /**
+     * @return the bytes that are reachable only from each root, by the index from the root.
+     * @since 1.3
+     */
+    long[] unique() {
+        return this.unique;
+    }
+
+    /**
+     * @return the bytes that are shared and that has been found first by each root, by the index from the root.
+     * @since 1.3
+     */
+    long[] shared() {
+        return this.shared;
+    }
+
+    /**
+     * @return the quantity of objects that has been found.
+     * @since 1.3
+     */
+    int objects() {
+        return this.table.size();
+    }
+
+    /**
+     * This method marks the object as found by the current root. The object that has not been found is owned by the
+     * current root, and the object that is owned by other root is marked as shared and is walked again, because the
+     * objects that are reachable from the object are shared too.
+     *
+     * @param object the input object.
+     * @since 1.3
+     */
+    private void reach(final Object object) {
+        final OwnerTable table = this.table;
+        final int slot = table.slot(object);
+        if (slot < 0) {
+            table.add(object, this.owner);
+            this.enqueue(object);
+            return;
+        }
+        final int owner = table.owners[slot];
+        if (owner == this.owner || owner == SHARED) {
+            return;
+        }
+        table.owners[slot] = SHARED;
+        final long size = table.sizes[slot];
+        this.unique[owner] -= size;
+        this.shared[owner] += size;
+        this.enqueue(object);
+    }
+
+    /**
+     * This method calculates the size from the object and pushes the objects that are referenced by the object.
+     *
+     * @param object the input object.
+     * @return the size from the object.
+     * @since 1.3
+     */
+    private long visit(final Object object) {
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            final Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return this.vm.arraySize(component, Array.getLength(object));
+            }
+            final Object[] array = (Object[]) object;
+            for (final Object element : array) {
+                this.push(element);
+            }
+            return this.vm.arraySize(component, array.length);
+        }
+        final SizeStrategy<Object> strategy = SizeStrategies.resolve(type);
+        if (strategy != null) {
+            return strategy.sizeof(object, this);
+        }
+        final ClassLayout layout = ClassLayout.of(type);
+        if (type == String.class) {
+            return layout.shallowSize(object) + this.vm.stringValueSize((String) object);
+        }
+        layout.reader(this.engine).read(object, this);
+        return layout.shallowSize(object);
+    }
+
+    @Override
+    public VmLayout layout() {
+        return this.vm;
+    }
+
+    @Override
+    public long shallowSizeof(final Class<?> type) {
+        return ClassLayout.of(type).shallowSize();
+    }
+
+    @Override
+    public void push(final Object object) {
+        if (object == null || this.filter.isCanonical(object)) {
+            return;
+        }
+        this.reach(object);
+    }
+
+    private void enqueue(final Object object) {
+        if (this.depth == this.stack.length) {
+            final Object[] stack = new Object[this.depth << 1];
+            System.arraycopy(this.stack, 0, stack, 0, this.depth);
+            this.stack = stack;
+        }
+        this.stack[this.depth++] = object;
+    }
+}
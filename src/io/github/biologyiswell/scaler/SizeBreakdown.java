@@ -0,0 +1,237 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class represents the breakdown from the deep size of an object, that contains the quantity of instances, the
+ * shallow size and the deep size from each class of the graph, and the size that is retained by each field. The
+ * breakdown is like a heap histogram from only the graph of the object.
+ *
+ * <p>Each object is attributed to the object that found it first, then the deep size from an object is the size from
+ * the object and from the all objects that has been found first by it. The deep size from a class or a field counts
+ * only the outermost objects, then in a chain from nodes of the same class the deep size from the class is the size
+ * of the chain, and not the sum from the deep sizes of each node.
+ *
+ * @author biologyiswell (18/10/2026 22:40)
+ * @since 1.3
+ */
+public final class SizeBreakdown {
+
+    private final Class<?> type;
+    private final long bytes;
+    private final long objects;
+    private final List<ClassSize> classes;
+    private final List<FieldSize> fields;
+
+    SizeBreakdown(final Class<?> type, final long bytes, final long objects, final List<ClassSize> classes,
+                  final List<FieldSize> fields) {
+        this.type = type;
+        this.bytes = bytes;
+        this.objects = objects;
+        classes.sort(Comparator.comparingLong(ClassSize::deepBytes).reversed());
+        fields.sort(Comparator.comparingLong(FieldSize::retainedBytes).reversed());
+        this.classes = Collections.unmodifiableList(classes);
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * @return the class from the object that has been calculated.
+     * @since 1.3
+     */
+    public Class<?> type() {
+        return this.type;
+    }
+
+    /**
+     * @return the deep size from the object.
+     * @since 1.3
+     */
+    public long bytes() {
+        return this.bytes;
+    }
+
+    /**
+     * @return the quantity of objects that has been calculated.
+     * @since 1.3
+     */
+    public long objects() {
+        return this.objects;
+    }
+
+    /**
+     * @return the breakdown from each class, ordered by the deep size.
+     * @since 1.3
+     */
+    public List<ClassSize> classes() {
+        return this.classes;
+    }
+
+    /**
+     * This method gets the fields that retains the greater sizes.
+     *
+     * @param limit the maximum quantity of fields.
+     * @return the fields ordered by the retained size.
+     * @since 1.3
+     */
+    public List<FieldSize> topFields(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit (" + limit + ") can not be negative.");
+        }
+        return this.fields.subList(0, Math.min(limit, this.fields.size()));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%,d bytes in %,d objects from %s%n", this.bytes, this.objects, this.type.getTypeName()));
+        builder.append(String.format("%12s %14s %14s  %s%n", "instances", "shallow", "deep", "class"));
+        for (final ClassSize klass : this.classes) {
+            builder.append(String.format("%12d %14d %14d  %s%n", klass.instances, klass.shallowBytes, klass.deepBytes,
+                    klass.type.getTypeName()));
+        }
+        builder.append(String.format("%12s %14s  %s%n", "objects", "retained", "field"));
+        for (final FieldSize field : this.topFields(10)) {
+            builder.append(String.format("%12d %14d  %s%n", field.objects, field.retainedBytes, field.name()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * This class represents the breakdown from a class, that contains the fields from the class.
+     * @since 1.3
+     */
+    public static final class ClassSize {
+
+        private final Class<?> type;
+        private final long instances;
+        private final long shallowBytes;
+        private final long deepBytes;
+        private final List<FieldSize> fields;
+
+        ClassSize(final Class<?> type, final long instances, final long shallowBytes, final long deepBytes,
+                  final List<FieldSize> fields) {
+            this.type = type;
+            this.instances = instances;
+            this.shallowBytes = shallowBytes;
+            this.deepBytes = deepBytes;
+            fields.sort(Comparator.comparingLong(FieldSize::retainedBytes).reversed());
+            this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+        }
+
+        /**
+         * @return the class.
+         * @since 1.3
+         */
+        public Class<?> type() {
+            return this.type;
+        }
+
+        /**
+         * @return the quantity of instances from the class.
+         * @since 1.3
+         */
+        public long instances() {
+            return this.instances;
+        }
+
+        /**
+         * @return the sum from the shallow sizes of the instances.
+         * @since 1.3
+         */
+        public long shallowBytes() {
+            return this.shallowBytes;
+        }
+
+        /**
+         * @return the sum from the deep sizes of the outermost instances.
+         * @since 1.3
+         */
+        public long deepBytes() {
+            return this.deepBytes;
+        }
+
+        /**
+         * @return the fields from the class that references objects, ordered by the retained size.
+         * @since 1.3
+         */
+        public List<FieldSize> fields() {
+            return this.fields;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassSize{type=" + this.type.getTypeName() + ", instances=" + this.instances + ", shallowBytes="
+                    + this.shallowBytes + ", deepBytes=" + this.deepBytes + "}";
+        }
+    }
+
+    /**
+     * This class represents the size that is retained by a field, the elements from an array or from a collection are
+     * represented by a field without the reflected field.
+     * @since 1.3
+     */
+    public static final class FieldSize {
+
+        private final Class<?> owner;
+        private final Field field;
+        private final long objects;
+        private final long retainedBytes;
+
+        FieldSize(final Class<?> owner, final Field field, final long objects, final long retainedBytes) {
+            this.owner = owner;
+            this.field = field;
+            this.objects = objects;
+            this.retainedBytes = retainedBytes;
+        }
+
+        /**
+         * @return the class from the objects that contains the field.
+         * @since 1.3
+         */
+        public Class<?> owner() {
+            return this.owner;
+        }
+
+        /**
+         * @return the reflected field, or null when represents the elements from an array or from a collection.
+         * @since 1.3
+         */
+        public Field field() {
+            return this.field;
+        }
+
+        /**
+         * @return the name from the field, like "java.util.HashMap.table", or "java.util.ArrayList.<elements>" for the
+         * elements.
+         * @since 1.3
+         */
+        public String name() {
+            return this.owner.getTypeName() + "." + (this.field == null ? "<elements>" : this.field.getName());
+        }
+
+        /**
+         * @return the quantity of objects that has been found first by the field.
+         * @since 1.3
+         */
+        public long objects() {
+            return this.objects;
+        }
+
+        /**
+         * @return the sum from the deep sizes of the outermost objects that has been found first by the field.
+         * @since 1.3
+         */
+        public long retainedBytes() {
+            return this.retainedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "FieldSize{name=" + this.name() + ", objects=" + this.objects + ", retainedBytes=" + this.retainedBytes + "}";
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This interface represents the context from a calculation, that is used by the strategies to calculate the sizes and
+ * to push the objects that are referenced by the object that is calculated.
+ *
+ * @author biologyiswell (18/10/2026 17:25)
+ * @since 1.3
+ */
+public interface SizeContext {
+
+    /**
+     * This method gets the profile from the virtual machine that is used by the calculation.
+     *
+     * @return the profile from the virtual machine.
+     * @since 1.3
+     */
+    VmLayout layout();
+
+    /**
+     * This method pushes the object to be calculated by the calculation, the null objects are ignored.
+     *
+     * @param object the object that is referenced by the object that is calculated.
+     * @since 1.3
+     */
+    void push(Object object);
+
+    /**
+     * This method calculates the shallow size from an instance of the class, that is the aligned size from the object
+     * header more the all fields.
+     *
+     * @param type the input class.
+     * @return the shallow size from an instance of the class.
+     * @since 1.3
+     */
+    long shallowSizeof(Class<?> type);
+
+    /**
+     * This method reports the native memory that is owned by the object that is calculated, like the memory from a
+     * direct or a mapped buffer. The native memory is not part from the deep size, and is accounted separately only by
+     * the calculations that reports the off-heap memory, the other calculations ignores the native memory.
+     *
+     * @param owner the object that owns the native memory.
+     * @param address the address from the native memory, that is used to count the memory that is shared by more than
+     *                one object only once, or zero when the address is not known and the memory is counted by owner.
+     * @param bytes the size from the native memory.
+     * @param mapped true if the native memory is mapped from a file, otherwise false.
+     * @since 1.3
+     */
+    default void offHeap(Object owner, long address, long bytes, boolean mapped) {
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This class represents the estimation from the deep size of an object, with the interval that contains the real size
+ * with the confidence of the sampling. When the estimation is exact, the bounds are equals the size.
+ *
+ * @author biologyiswell (18/10/2026 18:40)
+ * @since 1.3
+ */
+public final class SizeEstimate {
+
+    private final long bytes;
+    private final long lowerBound;
+    private final long upperBound;
+    private final double confidence;
+    private final int sampleSize;
+    private final long population;
+    private final boolean exact;
+
+    SizeEstimate(final long bytes, final long lowerBound, final long upperBound, final double confidence,
+                 final int sampleSize, final long population, final boolean exact) {
+        this.bytes = bytes;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.confidence = confidence;
+        this.sampleSize = sampleSize;
+        this.population = population;
+        this.exact = exact;
+    }
+
+    /**
+     * This method creates the estimation from an exact calculation.
+     *
+     * @param bytes the exact size.
+     * @param population the quantity of elements.
+     * @return the exact estimation.
+     * @since 1.3
+     */
+    static SizeEstimate exact(final long bytes, final long population) {
+        return new SizeEstimate(bytes, bytes, bytes, 1, (int) Math.min(population, Integer.MAX_VALUE), population, true);
+    }
+
+    /**
+     * @return the estimated size.
+     * @since 1.3
+     */
+    public long bytes() {
+        return this.bytes;
+    }
+
+    /**
+     * @return the lower bound from the confidence interval.
+     * @since 1.3
+     */
+    public long lowerBound() {
+        return this.lowerBound;
+    }
+
+    /**
+     * @return the upper bound from the confidence interval.
+     * @since 1.3
+     */
+    public long upperBound() {
+        return this.upperBound;
+    }
+
+    /**
+     * @return the confidence from the interval, that is 1 when the estimation is exact.
+     * @since 1.3
+     */
+    public double confidence() {
+        return this.confidence;
+    }
+
+    /**
+     * @return the quantity of elements that has been calculated.
+     * @since 1.3
+     */
+    public int sampleSize() {
+        return this.sampleSize;
+    }
+
+    /**
+     * @return the quantity of elements from the collection.
+     * @since 1.3
+     */
+    public long population() {
+        return this.population;
+    }
+
+    /**
+     * @return true if the size has been calculated by the exact calculation, otherwise false.
+     * @since 1.3
+     */
+    public boolean exact() {
+        return this.exact;
+    }
+
+    @Override
+    public String toString() {
+        return this.exact ? "SizeEstimate{bytes=" + this.bytes + ", exact}"
+                : "SizeEstimate{bytes=" + this.bytes + ", interval=[" + this.lowerBound + ", " + this.upperBound + "] at "
+                + this.confidence + ", sampleSize=" + this.sampleSize + ", population=" + this.population + "}";
+    }
+}
@@ -0,0 +1,267 @@
+package io.github.biologyiswell.scaler;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class represents the estimator from the deep size of a large collection or map. The estimator iterates the
+ * collection only once by the strategy from the collection, that calculates the backing structure, and selects the
+ * sample from the elements while the elements are pushed. Then only the elements from the sample are calculated by the
+ * deep calculation, and the size from the elements is extrapolated to the all elements. The objects that are shared by
+ * the elements from the sample, like a common configuration, are counted only once and are not extrapolated.
+ *
+ * @author biologyiswell (18/10/2026 18:55)
+ * @since 1.3
+ */
+final class SizeEstimator implements SizeContext {
+
+    /**
+     * The owner from the objects that are reachable from more than one element of the sample.
+     * @since 1.3
+     */
+    private static final int SHARED = -1;
+
+    private final Sampling sampling;
+
+    /**
+     * The quantity of pushes from each element, that is two for the maps (the key and the value) and one for the
+     * collections.
+     * @since 1.3
+     */
+    private final int unit;
+
+    /**
+     * The selected elements, each element occupies the quantity of slots from the unit.
+     * @since 1.3
+     */
+    private final Object[] sample;
+
+    /**
+     * The quantity of elements that has been selected, that can not be greater than the sample size.
+     * @since 1.3
+     */
+    private int sampled;
+
+    /**
+     * The quantity of pushes that has been made by the strategy.
+     * @since 1.3
+     */
+    private long pushes;
+
+    /**
+     * The index from the sample where the current element is stored, or -1 if the current element is not selected.
+     * @since 1.3
+     */
+    private int current = -1;
+
+    /**
+     * The distance between the selected elements from the stride mode.
+     * @since 1.3
+     */
+    private final long stride;
+
+    /**
+     * The index from the next element that is selected by the stride mode.
+     * @since 1.3
+     */
+    private long next;
+
+    private final Random random;
+
+    private SizeEstimator(final Sampling sampling, final int unit, final int population) {
+        this.sampling = sampling;
+        this.unit = unit;
+        this.sample = new Object[sampling.sampleSize() * unit];
+        this.random = new Random(sampling.seed());
+        this.stride = Math.max(1, population / sampling.sampleSize());
+        this.next = this.random.nextInt((int) Math.min(this.stride, Integer.MAX_VALUE));
+    }
+
+    /**
+     * This method estimates the deep size from the object, when the object is not a collection or a map with a
+     * strategy, or when the collection is smaller than the threshold, the exact calculation is used.
+     *
+     * @param object the input object.
+     * @param sampling the options from the sampling.
+     * @param engine the engine that reads the reference fields.
+     * @param filter the filter from the canonical instances.
+     * @return the estimation from the deep size.
+     * @since 1.3
+     */
+    static SizeEstimate estimate(final Object object, final Sampling sampling, final SizingEngine engine, final CanonicalFilter filter) {
+        final int population;
+        if (object instanceof Map) {
+            population = ((Map<?, ?>) object).size();
+        } else if (object instanceof Collection) {
+            population = ((Collection<?>) object).size();
+        } else {
+            return SizeEstimate.exact(new GraphWalker(engine, filter).walk(object), 1);
+        }
+        final SizeStrategy<Object> strategy = SizeStrategies.resolve(object.getClass());
+        if (strategy == null || population <= sampling.threshold() || population <= sampling.sampleSize()) {
+            return SizeEstimate.exact(new GraphWalker(engine, filter).walk(object), population);
+        }
+        final SizeEstimator estimator = new SizeEstimator(sampling, object instanceof Map ? 2 : 1, population);
+        // @Note The strategy calculates the backing structure and pushes the all elements, but only the elements from
+        // the sample are stored.
+        final long structure = strategy.sizeof(object, estimator);
+        return estimator.extrapolate(object, structure, engine, filter);
+    }
+
+    /**
+     * This method calculates the elements from the sample and extrapolates the size to the all elements.
+     *
+     * @param object the input object, that is not calculated again by the elements.
+     * @param structure the size from the object and from the backing structure.
+     * @param engine the engine that reads the reference fields.
+     * @param filter the filter from the canonical instances.
+     * @return the estimation from the deep size.
+     * @since 1.3
+     */
+    private SizeEstimate extrapolate(final Object object, final long structure, final SizingEngine engine, final CanonicalFilter filter) {
+        final long population = this.pushes / this.unit;
+        final int n = this.sampled;
+        if (n < 2) {
+            return SizeEstimate.exact(new GraphWalker(engine, filter).walk(object), population);
+        }
+        // @Note Each element from the sample is calculated separately, and the objects that are reachable from more
+        // than one element are shared: the shared objects are counted only once, like in the exact calculation, and
+        // only the objects that are private to each element are extrapolated to the all elements.
+        final Map<Object, Integer> owners = new IdentityHashMap<>();
+        final Map<Object, Long> sizes = new IdentityHashMap<>();
+        for (int i = 0; i < n; i++) {
+            for (int slot = 0; slot < this.unit; slot++) {
+                final Object element = this.sample[i * this.unit + slot];
+                if (element == null || element == object || filter.isCanonical(element)) {
+                    continue;
+                }
+                final GraphWalker walker = new GraphWalker(engine, filter);
+                walker.exclude(object);
+                final SizeMemo.Subgraph subgraph = walker.subgraph(element);
+                own(owners, sizes, element, subgraph.rootBytes, i);
+                for (int j = 0; j < subgraph.objects.length; j++) {
+                    own(owners, sizes, subgraph.objects[j], subgraph.sizes[j], i);
+                }
+            }
+        }
+        final long[] bytes = new long[n];
+        long shared = 0;
+        for (final Map.Entry<Object, Integer> entry : owners.entrySet()) {
+            final long size = sizes.get(entry.getKey());
+            if (entry.getValue() == SHARED) {
+                shared += size;
+            } else {
+                bytes[entry.getValue()] += size;
+            }
+        }
+        double sum = 0;
+        double squares = 0;
+        for (final long elementBytes : bytes) {
+            sum += elementBytes;
+            squares += (double) elementBytes * elementBytes;
+        }
+        final double mean = sum / n;
+        final double variance = Math.max(0, (squares - sum * mean) / (n - 1));
+        // @Note The standard error from the total uses the finite population correction, because the elements are
+        // selected without replacement.
+        final double correction = population > 1 ? Math.sqrt(Math.max(0, (double) (population - n) / (population - 1))) : 0;
+        final double error = population * Math.sqrt(variance / n) * correction;
+        final double margin = quantile(0.5 + this.sampling.confidence() / 2) * error;
+        final double total = structure + shared + population * mean;
+        return new SizeEstimate(Math.round(total), Math.max(structure + shared, Math.round(total - margin)), Math.round(total + margin),
+                this.sampling.confidence(), n, population, false);
+    }
+
+    /**
+     * This method marks the object as reachable from the element, the object that has been reachable from other
+     * element is marked as shared.
+     *
+     * @param owners the element from each object, or SHARED.
+     * @param sizes the size from each object.
+     * @param object the reachable object.
+     * @param size the size from the object.
+     * @param element the index from the element.
+     * @since 1.3
+     */
+    private static void own(final Map<Object, Integer> owners, final Map<Object, Long> sizes, final Object object,
+                            final long size, final int element) {
+        final Integer owner = owners.putIfAbsent(object, element);
+        if (owner == null) {
+            sizes.put(object, size);
+        } else if (owner != element) {
+            owners.put(object, SHARED);
+        }
+    }
+
+    @Override
+    public VmLayout layout() {
+        return VmLayout.current();
+    }
+
+    @Override
+    public void push(final Object object) {
+        final long index = this.pushes / this.unit;
+        final int slot = (int) (this.pushes++ % this.unit);
+        if (slot == 0) {
+            this.current = this.select(index);
+        }
+        if (this.current >= 0) {
+            this.sample[this.current * this.unit + slot] = object;
+        }
+    }
+
+    @Override
+    public long shallowSizeof(final Class<?> type) {
+        return ClassLayout.of(type).shallowSize();
+    }
+
+    /**
+     * This method selects the element, the random mode uses the reservoir sampling that replaces the selected elements
+     * with the same probability, and the stride mode selects the elements with the same distance.
+     *
+     * @param index the index from the element.
+     * @return the index from the sample where the element is stored, or -1 if the element is not selected.
+     * @since 1.3
+     */
+    private int select(final long index) {
+        final int capacity = this.sampling.sampleSize();
+        if (this.sampling.mode() == Sampling.Mode.STRIDE) {
+            if (index != this.next || this.sampled == capacity) {
+                return -1;
+            }
+            this.next += this.stride;
+            return this.sampled++;
+        }
+        if (this.sampled < capacity) {
+            return this.sampled++;
+        }
+        final long replaced = (long) (this.random.nextDouble() * (index + 1));
+        return replaced < capacity ? (int) replaced : -1;
+    }
+
+    /**
+     * This method calculates the quantile from the standard normal distribution, by the rational approximation from
+     * Peter Acklam that has a relative error less than 1.15e-9.
+     *
+     * @param p the probability, between 0 and 1.
+     * @return the quantile from the probability.
+     * @since 1.3
+     */
+    static double quantile(final double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00};
+        if (p < 0.02425) {
+            final double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        } else if (p > 1 - 0.02425) {
+            return -quantile(1 - p);
+        }
+        final double q = p - 0.5;
+        final double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
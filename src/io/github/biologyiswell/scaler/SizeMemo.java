@@ -0,0 +1,507 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents the cache from the deep sizes of the immutable objects, that are calculated only once and the
+ * next calculations reuse the size from the cache. The objects are keyed by the identity and are referenced weakly,
+ * then the cache do not retains the objects, and the quantity of entries is bounded: when the cache is full an entry
+ * that has not been used recently is evicted by the clock policy.
+ *
+ * <p>Only the objects from the immutable types are cached, that are the types that has been registered as immutable
+ * and the records that contains only immutable components, like the primitives, the strings, the boxed types, the
+ * numbers, the enums, the values from the "java.time" package and other immutable records.
+ *
+ * <p>The cache stores the objects that are reachable from each cached object with the size from each one, then the
+ * objects that are shared between a cached object and the rest from the graph are counted only once: the reachable
+ * objects are marked as found by the deep calculation without read the fields from the objects, and only the objects
+ * that has not been found before are counted. The entries references the reachable objects strongly, that are
+ * retained by the cached object anyway. The cache must be cleared when the filter from the canonical instances is
+ * changed.
+ *
+ * <p>The strings and the boxed types are never cached, because the size from them is cheaper to calculate than to
+ * lookup in the cache.
+ *
+ * @author biologyiswell (19/10/2026 04:30)
+ * @since 1.3
+ */
+public final class SizeMemo {
+
+    /**
+     * The cache that do not caches the objects, then the all objects are calculated.
+     * @since 1.3
+     */
+    public static final SizeMemo NONE = builder().maximumEntries(0).build();
+
+    /**
+     * The immutable types that the size is cheaper to calculate than to lookup in the cache, then are never cached,
+     * but can be components from the immutable records.
+     * @since 1.3
+     */
+    private static final Set<Class<?>> TRIVIAL = new HashSet<>(Arrays.<Class<?>>asList(String.class, Boolean.class,
+            Byte.class, Character.class, Short.class, Integer.class, Float.class, Long.class, Double.class));
+
+    /**
+     * The other types that the values are immutable, and that can be components from the immutable records.
+     * @since 1.3
+     */
+    private static final Set<Class<?>> VALUES = new HashSet<>(Arrays.<Class<?>>asList(BigInteger.class,
+            BigDecimal.class, UUID.class, Instant.class, Duration.class, Period.class, LocalDate.class, LocalTime.class,
+            LocalDateTime.class, OffsetDateTime.class, ZonedDateTime.class, ZoneOffset.class));
+
+    /**
+     * The method "Class#isRecord", or null when the records do not exists in this Java version.
+     * @since 1.3
+     */
+    private static final Method IS_RECORD = isRecordMethod();
+
+    private static final int SEGMENTS = 16;
+
+    private final int maximumEntries;
+    private final Set<Class<?>> types;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * The cache from the types that are cached.
+     * @since 1.3
+     */
+    private final ClassValue<Boolean> memoizable = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return !TRIVIAL.contains(type) && (SizeMemo.this.types.contains(type)
+                    || (isRecord(type) && SizeMemo.this.isImmutable(type, new HashSet<>())));
+        }
+    };
+
+    private SizeMemo(final Builder builder) {
+        this.maximumEntries = builder.maximumEntries;
+        this.types = Collections.unmodifiableSet(new HashSet<>(builder.types));
+        this.segments = new Segment[builder.maximumEntries == 0 ? 0 : SEGMENTS];
+        final int capacity = (builder.maximumEntries + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = new Segment(capacity);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * This method checks if the objects from the type are cached.
+     *
+     * @param type the input type.
+     * @return true if the type has been registered or is an immutable record, otherwise false.
+     * @since 1.3
+     */
+    public boolean isMemoizable(final Class<?> type) {
+        return this.maximumEntries != 0 && this.memoizable.get(type);
+    }
+
+    /**
+     * @return the maximum quantity of entries from the cache.
+     * @since 1.3
+     */
+    public int maximumEntries() {
+        return this.maximumEntries;
+    }
+
+    /**
+     * @return the quantity of entries from the cache, including the entries that the object has been collected but
+     * the entry has not been removed.
+     * @since 1.3
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the quantity of calculations that has used the size from the cache.
+     * @since 1.3
+     */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the quantity of calculations that has not found the size in the cache.
+     * @since 1.3
+     */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the quantity of entries that has been evicted because the cache was full.
+     * @since 1.3
+     */
+    public long evictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * This method removes the all entries from the cache.
+     * @since 1.3
+     */
+    public void clear() {
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * This method gets the objects that are reachable from the object.
+     *
+     * @param object the input object.
+     * @return the objects that are reachable from the object, or null when the object has not been cached.
+     * @since 1.3
+     */
+    Subgraph get(final Object object) {
+        final int hash = System.identityHashCode(object);
+        final Segment segment = this.segments[hash & (SEGMENTS - 1)];
+        final Subgraph subgraph;
+        synchronized (segment) {
+            subgraph = segment.get(object, hash);
+        }
+        (subgraph == null ? this.misses : this.hits).increment();
+        return subgraph;
+    }
+
+    /**
+     * This method caches the objects that are reachable from the object.
+     *
+     * @param object the input object.
+     * @param subgraph the objects that are reachable from the object.
+     * @since 1.3
+     */
+    void put(final Object object, final Subgraph subgraph) {
+        final int hash = System.identityHashCode(object);
+        final Segment segment = this.segments[hash & (SEGMENTS - 1)];
+        final boolean evicted;
+        synchronized (segment) {
+            evicted = segment.put(object, hash, subgraph);
+        }
+        if (evicted) {
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * This method checks if the values from the type are immutable.
+     *
+     * @param type the input type.
+     * @param visiting the records that are being checked, that are considered immutable when a record contains itself.
+     * @return true if the values from the type are immutable, otherwise false.
+     * @since 1.3
+     */
+    private boolean isImmutable(final Class<?> type, final Set<Class<?>> visiting) {
+        if (type.isPrimitive() || type.isEnum() || TRIVIAL.contains(type) || VALUES.contains(type) || this.types.contains(type)) {
+            return true;
+        }
+        if (!isRecord(type)) {
+            return false;
+        }
+        if (!visiting.add(type)) {
+            return true;
+        }
+        // @Note The fields from a record are final and are the components from the record, then the record is
+        // immutable when the types from the all components are immutable.
+        for (final Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !this.isImmutable(field.getType(), visiting)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRecord(final Class<?> type) {
+        if (IS_RECORD == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_RECORD.invoke(type);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static Method isRecordMethod() {
+        try {
+            return Class.class.getMethod("isRecord");
+        } catch (NoSuchMethodException e) {
+            // @Note The records exists only since the Java 16.
+            return null;
+        }
+    }
+
+    /**
+     * This class represents the objects that are reachable from a cached object, that are not canonical instances,
+     * with the size from each object.
+     * @since 1.3
+     */
+    static final class Subgraph {
+
+        /**
+         * The shallow size from the cached object.
+         * @since 1.3
+         */
+        final long rootBytes;
+
+        final Object[] objects;
+        final long[] sizes;
+
+        Subgraph(final long rootBytes, final Object[] objects, final long[] sizes) {
+            this.rootBytes = rootBytes;
+            this.objects = objects;
+            this.sizes = sizes;
+        }
+    }
+
+    /**
+     * This class represents an entry from the cache, that references the object weakly. The entries from a segment are
+     * chained by the table and are linked in a ring by the order that are inserted, that is used by the clock policy.
+     * @since 1.3
+     */
+    private static final class Entry extends WeakReference<Object> {
+
+        private final int hash;
+        private Subgraph subgraph;
+
+        /**
+         * This field represents if the entry has been used since the clock has passed by the entry.
+         * @since 1.3
+         */
+        private boolean referenced;
+
+        private Entry next;
+        private Entry before;
+        private Entry after;
+
+        private Entry(final Object object, final int hash, final Subgraph subgraph, final ReferenceQueue<Object> queue) {
+            super(object, queue);
+            this.hash = hash;
+            this.subgraph = subgraph;
+        }
+    }
+
+    /**
+     * This class represents a segment from the cache, that is locked by the segment itself.
+     * @since 1.3
+     */
+    private static final class Segment {
+
+        private final int capacity;
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+        /**
+         * The entry that marks the start and the end of the ring, the entry after the sentinel is the next entry that
+         * the clock checks.
+         * @since 1.3
+         */
+        private final Entry sentinel = new Entry(null, 0, null, null);
+
+        private Entry[] table = new Entry[16];
+        private int size;
+
+        private Segment(final int capacity) {
+            this.capacity = capacity;
+            this.sentinel.before = this.sentinel;
+            this.sentinel.after = this.sentinel;
+        }
+
+        private Subgraph get(final Object object, final int hash) {
+            this.expunge();
+            for (Entry entry = this.table[hash & (this.table.length - 1)]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.get() == object) {
+                    entry.referenced = true;
+                    return entry.subgraph;
+                }
+            }
+            return null;
+        }
+
+        private boolean put(final Object object, final int hash, final Subgraph subgraph) {
+            this.expunge();
+            final int index = hash & (this.table.length - 1);
+            for (Entry entry = this.table[index]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.get() == object) {
+                    entry.subgraph = subgraph;
+                    return false;
+                }
+            }
+            boolean evicted = false;
+            if (this.size >= this.capacity) {
+                this.evict();
+                evicted = true;
+            }
+            final Entry entry = new Entry(object, hash, subgraph, this.queue);
+            final int slot = hash & (this.table.length - 1);
+            entry.next = this.table[slot];
+            this.table[slot] = entry;
+            entry.before = this.sentinel.before;
+            entry.after = this.sentinel;
+            this.sentinel.before.after = entry;
+            this.sentinel.before = entry;
+            if (++this.size > this.table.length * 3 / 4) {
+                this.resize();
+            }
+            return evicted;
+        }
+
+        /**
+         * This method evicts an entry by the clock policy: the entries that has been used since the last pass are
+         * moved to the end of the ring, and the first entry that has not been used is evicted.
+         * @since 1.3
+         */
+        private void evict() {
+            while (true) {
+                final Entry entry = this.sentinel.after;
+                if (!entry.referenced) {
+                    this.remove(entry);
+                    return;
+                }
+                entry.referenced = false;
+                this.unlink(entry);
+                entry.before = this.sentinel.before;
+                entry.after = this.sentinel;
+                this.sentinel.before.after = entry;
+                this.sentinel.before = entry;
+            }
+        }
+
+        /**
+         * This method removes the entries that the objects has been collected.
+         * @since 1.3
+         */
+        private void expunge() {
+            Object reference;
+            while ((reference = this.queue.poll()) != null) {
+                this.remove((Entry) reference);
+            }
+        }
+
+        private void remove(final Entry entry) {
+            final int index = entry.hash & (this.table.length - 1);
+            Entry previous = null;
+            for (Entry current = this.table[index]; current != null; previous = current, current = current.next) {
+                if (current == entry) {
+                    if (previous == null) {
+                        this.table[index] = current.next;
+                    } else {
+                        previous.next = current.next;
+                    }
+                    this.unlink(entry);
+                    entry.clear();
+                    entry.subgraph = null;
+                    this.size--;
+                    return;
+                }
+            }
+        }
+
+        private void unlink(final Entry entry) {
+            entry.before.after = entry.after;
+            entry.after.before = entry.before;
+        }
+
+        private void resize() {
+            final Entry[] table = new Entry[this.table.length << 1];
+            for (final Entry head : this.table) {
+                Entry entry = head;
+                while (entry != null) {
+                    final Entry next = entry.next;
+                    final int index = entry.hash & (table.length - 1);
+                    entry.next = table[index];
+                    table[index] = entry;
+                    entry = next;
+                }
+            }
+            this.table = table;
+        }
+
+        private void clear() {
+            Arrays.fill(this.table, null);
+            for (Entry entry = this.sentinel.after; entry != this.sentinel; entry = entry.after) {
+                entry.clear();
+                entry.subgraph = null;
+            }
+            this.sentinel.before = this.sentinel;
+            this.sentinel.after = this.sentinel;
+            this.size = 0;
+            while (this.queue.poll() != null) {
+                // @Note The references that has been enqueued are from the entries that has been removed.
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private int maximumEntries = 1 << 16;
+        private final Set<Class<?>> types = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder maximumEntries(final int maximumEntries) {
+            if (maximumEntries < 0) {
+                throw new IllegalArgumentException("The maximum entries (" + maximumEntries + ") can not be negative.");
+            }
+            this.maximumEntries = maximumEntries;
+            return this;
+        }
+
+        /**
+         * This method registers a type that the objects are immutable, the deep size from the objects from the type is
+         * cached. The objects from the type must not be modified, and the objects that are reachable from the objects
+         * must not be modified too. The strings and the boxed types are never cached.
+         *
+         * @param type the immutable type.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder immutable(final Class<?> type) {
+            if (type == null) {
+                throw new NullPointerException("type");
+            }
+            this.types.add(type);
+            return this;
+        }
+
+        public SizeMemo build() {
+            return new SizeMemo(this);
+        }
+    }
+}
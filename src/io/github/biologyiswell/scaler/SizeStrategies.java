@@ -0,0 +1,283 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class represents the registry from the strategies that calculates the size of the objects of a type. The
+ * strategies are registered by the concrete class, and the registry contains strategies for the common collections
+ * that calculates the size from the real backing structures of the collections. The resolution from the strategy of
+ * each class is cached, then the resolution is made only once for each class.
+ *
+ * @author biologyiswell (18/10/2026 17:40)
+ * @since 1.3
+ */
+public final class SizeStrategies {
+
+    // non-instantiate.
+    private SizeStrategies() {
+    }
+
+    /**
+     * The strategies that are registered by the concrete class.
+     * @since 1.3
+     */
+    private static final ConcurrentMap<Class<?>, SizeStrategy<?>> STRATEGIES = new ConcurrentHashMap<>();
+
+    /**
+     * The sizers that are generated by the annotation processor, that are used only by the exact class.
+     * @since 1.3
+     */
+    private static final ConcurrentMap<Class<?>, Sizer<?>> SIZERS = new ConcurrentHashMap<>();
+
+    /**
+     * The version from the registry, that is incremented when a strategy is registered or unregistered to invalidate
+     * the resolutions that has been cached.
+     * @since 1.3
+     */
+    private static volatile int version;
+
+    /**
+     * The cache from the resolutions of each class.
+     * @since 1.3
+     */
+    private static final ClassValue<Resolution> RESOLUTIONS = new ClassValue<Resolution>() {
+        @Override
+        protected Resolution computeValue(final Class<?> type) {
+            return new Resolution(version, find(type));
+        }
+    };
+
+    static {
+        // @Note The strategies from the collections are put directly, because the generic types from the strategies
+        // can not be checked against the raw classes.
+        STRATEGIES.put(ArrayList.class, CollectionStrategies.ARRAY_LIST);
+        STRATEGIES.put(LinkedList.class, CollectionStrategies.LINKED_LIST);
+        STRATEGIES.put(ArrayDeque.class, CollectionStrategies.ARRAY_DEQUE);
+        STRATEGIES.put(CopyOnWriteArrayList.class, CollectionStrategies.COPY_ON_WRITE_ARRAY_LIST);
+        STRATEGIES.put(HashMap.class, CollectionStrategies.HASH_MAP);
+        STRATEGIES.put(LinkedHashMap.class, CollectionStrategies.LINKED_HASH_MAP);
+        STRATEGIES.put(HashSet.class, CollectionStrategies.HASH_SET);
+        STRATEGIES.put(LinkedHashSet.class, CollectionStrategies.LINKED_HASH_SET);
+        STRATEGIES.put(TreeMap.class, CollectionStrategies.TREE_MAP);
+        STRATEGIES.put(TreeSet.class, CollectionStrategies.TREE_SET);
+        STRATEGIES.put(ConcurrentHashMap.class, CollectionStrategies.CONCURRENT_HASH_MAP);
+        STRATEGIES.put(Buffer.class, BufferStrategy.INSTANCE);
+        STRATEGIES.put(BigInteger.class, NumberStrategies.BIG_INTEGER);
+        STRATEGIES.put(BigDecimal.class, NumberStrategies.BIG_DECIMAL);
+        loadSizers();
+    }
+
+    /**
+     * This method registers the strategy that calculates the size of the objects from the class, the strategy is used
+     * by the class and by the subclasses that do not contains a registered strategy.
+     *
+     * @param type the concrete class.
+     * @param strategy the strategy.
+     * @param <T> the type from the objects.
+     * @since 1.3
+     */
+    public static synchronized <T> void register(final Class<T> type, final SizeStrategy<? super T> strategy) {
+        if (type == null) {
+            throw new NullPointerException("type");
+        }
+        if (strategy == null) {
+            throw new NullPointerException("strategy");
+        }
+        STRATEGIES.put(type, strategy);
+        version++;
+    }
+
+    /**
+     * This method registers the sizer that is generated by the annotation processor, this method is used when the
+     * sizer can not be found by the ServiceLoader, like when the sizer is loaded by other class loader.
+     *
+     * @param sizer the sizer.
+     * @since 1.3
+     */
+    public static synchronized void register(final Sizer<?> sizer) {
+        if (sizer == null) {
+            throw new NullPointerException("sizer");
+        }
+        SIZERS.put(sizer.type(), sizer);
+        version++;
+    }
+
+    /**
+     * This method unregisters the strategy and the sizer from the class.
+     *
+     * @param type the concrete class.
+     * @since 1.3
+     */
+    public static synchronized void unregister(final Class<?> type) {
+        if (STRATEGIES.remove(type) != null | SIZERS.remove(type) != null) {
+            version++;
+        }
+    }
+
+    /**
+     * This method loads the sizers that are generated by the annotation processor, that are listed in the services
+     * from the jars.
+     *
+     * @since 1.3
+     */
+    @SuppressWarnings("rawtypes")
+    private static void loadSizers() {
+        final Iterator<Sizer> sizers = ServiceLoader.load(Sizer.class, SizeStrategies.class.getClassLoader()).iterator();
+        while (true) {
+            try {
+                if (!sizers.hasNext()) {
+                    break;
+                }
+                final Sizer<?> sizer = sizers.next();
+                SIZERS.put(sizer.type(), sizer);
+            } catch (ServiceConfigurationError e) {
+                // @Note The sizer can not be loaded, like when the class has been compiled with other version from
+                // the Scaler, then the class is calculated by the reflection.
+            }
+        }
+    }
+
+    /**
+     * This method resolves the strategy from the class.
+     *
+     * @param type the input class.
+     * @return the strategy from the class, or null if the class has not a strategy.
+     * @since 1.3
+     */
+    @SuppressWarnings("unchecked")
+    static SizeStrategy<Object> resolve(final Class<?> type) {
+        Resolution resolution = RESOLUTIONS.get(type);
+        if (resolution.version != version) {
+            // @Note The registry has been changed after the resolution, then the resolution is made again.
+            RESOLUTIONS.remove(type);
+            resolution = RESOLUTIONS.get(type);
+        }
+        return (SizeStrategy<Object>) resolution.strategy;
+    }
+
+    /**
+     * This method finds the strategy from the class, the sizer that is generated to the class is preferred, then the
+     * strategy from the class is used if registered, otherwise the strategy from the nearest superclass is used. The
+     * collections and maps that do not contains a registered strategy and that can not be read by the reflection are
+     * calculated by the generic strategies that uses the iteration. The strategy from a superclass do not knows the
+     * fields that are declared by the subclasses, then the reference fields from the subclasses of the application
+     * are pushed by the strategy too.
+     *
+     * @param type the input class.
+     * @return the strategy from the class, or null if the class has not a strategy.
+     * @since 1.3
+     */
+    private static SizeStrategy<?> find(final Class<?> type) {
+        final Sizer<?> sizer = SIZERS.get(type);
+        if (sizer != null) {
+            return sizer;
+        }
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            final SizeStrategy<?> strategy = STRATEGIES.get(current);
+            if (strategy != null) {
+                return current == type ? strategy : withDeclaredFields(type, current, strategy);
+            }
+        }
+        if (type.isArray() || ClassLayout.of(type).inaccessible == 0) {
+            return null;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return withDeclaredFields(type, null, CollectionStrategies.GENERIC_MAP);
+        } else if (Collection.class.isAssignableFrom(type)) {
+            return withDeclaredFields(type, null, CollectionStrategies.GENERIC_COLLECTION);
+        }
+        return null;
+    }
+
+    /**
+     * This method creates the strategy that pushes the reference fields that are declared by the subclasses of the
+     * application, that are the subclasses that are not loaded by the bootstrap class loader, below the class from the
+     * strategy. The shallow size from the subclass is already calculated by the strategy, because the strategies uses
+     * the class from the object.
+     *
+     * @param type the input class.
+     * @param strategyType the class from the strategy, or null when the strategy is generic.
+     * @param strategy the strategy.
+     * @return the strategy that pushes the fields, or the strategy when the subclasses do not declares reference fields.
+     * @since 1.3
+     */
+    private static SizeStrategy<?> withDeclaredFields(final Class<?> type, final Class<?> strategyType,
+                                                      final SizeStrategy<?> strategy) {
+        final List<Field> fields = new ArrayList<>();
+        for (final Field field : ClassLayout.of(type).references) {
+            final Class<?> declaring = field.getDeclaringClass();
+            if (declaring.getClassLoader() != null && declaring != strategyType
+                    && (strategyType == null || strategyType.isAssignableFrom(declaring))) {
+                fields.add(field);
+            }
+        }
+        return fields.isEmpty() ? strategy : new DeclaredFieldsStrategy(strategy, fields.toArray(new Field[0]));
+    }
+
+    /**
+     * This class represents the strategy from a superclass that pushes the reference fields that are declared by the
+     * subclasses too.
+     * @since 1.3
+     */
+    private static final class DeclaredFieldsStrategy implements SizeStrategy<Object> {
+
+        private final SizeStrategy<Object> strategy;
+        private final Field[] fields;
+
+        @SuppressWarnings("unchecked")
+        private DeclaredFieldsStrategy(final SizeStrategy<?> strategy, final Field[] fields) {
+            this.strategy = (SizeStrategy<Object>) strategy;
+            this.fields = fields;
+        }
+
+        @Override
+        public long sizeof(final Object object, final SizeContext context) {
+            final long size = this.strategy.sizeof(object, context);
+            try {
+                for (final Field field : this.fields) {
+                    context.push(field.get(object));
+                }
+            } catch (IllegalAccessException e) {
+                // @Note The fields has been made accessible by the layout from the class.
+                throw new IllegalStateException(e);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * This class represents the resolution from the strategy of a class.
+     * @since 1.3
+     */
+    private static final class Resolution {
+
+        private final int version;
+        private final SizeStrategy<?> strategy;
+
+        private Resolution(final int version, final SizeStrategy<?> strategy) {
+            this.version = version;
+            this.strategy = strategy;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This interface represents the strategy that calculates the size from the objects of a type, the strategies are
+ * registered in the class "SizeStrategies" and are used instead of the reflective calculation from the fields. The
+ * strategy calculates the size from the object more the size of the internal structures from the object, and pushes
+ * to the context the objects that must be calculated by the deep calculation, like the elements of a collection.
+ *
+ * @param <T> the type from the objects.
+ * @author biologyiswell (18/10/2026 17:25)
+ * @since 1.3
+ */
+public interface SizeStrategy<T> {
+
+    /**
+     * This method calculates the size from the object and from the internal structures of the object.
+     *
+     * @param object the input object.
+     * @param context the context from the calculation.
+     * @return the size from the object and from the internal structures.
+     * @since 1.3
+     */
+    long sizeof(T object, SizeContext context);
+}
@@ -0,0 +1,34 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks the classes that the sizer is generated when compiled, by the annotation processor from the
+ * module "processor". The generated sizer contains the descriptors from the fields of the class and reads the
+ * reference fields directly, without the reflection, then the fields from the class can not be private unless the
+ * accessors are enabled by {@link #accessors()}.
+ *
+ * @author biologyiswell (18/10/2026 23:40)
+ * @since 1.3
+ * @see Sizer
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Sized {
+
+    /**
+     * This method indicates if the private fields are read by the non-private accessors from the fields, like
+     * "getName()", "isName()" or "name()". The accessors must return the field itself, because an accessor that returns
+     * a defensive copy, a view or a lazy value makes the sizer to count the wrong objects, then the accessors are
+     * disabled by default and a private field is reported as an error.
+     *
+     * @return true if the private fields are read by the accessors, otherwise false.
+     * @since 1.3
+     */
+    boolean accessors() default false;
+}
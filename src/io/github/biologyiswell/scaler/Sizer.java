@@ -0,0 +1,22 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This interface represents the sizer from a class, that is a strategy generated at compile time for the classes that
+ * are annotated with "Sized". The sizers are found by the ServiceLoader and are used only by the exact class, because
+ * the subclasses can contain more fields, and are preferred over the registered strategies and the reflection.
+ *
+ * @param <T> the type from the objects.
+ * @author biologyiswell (18/10/2026 23:40)
+ * @since 1.3
+ * @see Sized
+ */
+public interface Sizer<T> extends SizeStrategy<T> {
+
+    /**
+     * This method gets the class that the sizer calculates.
+     *
+     * @return the class from the objects.
+     * @since 1.3
+     */
+    Class<T> type();
+}
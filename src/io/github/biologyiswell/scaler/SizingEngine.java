@@ -0,0 +1,46 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Field;
+
+/**
+ * This enum represents the engines that can be used to read the reference fields from the objects when the size is
+ * calculated. The engine is selected by the method "Scaler.engine(SizingEngine)".
+ *
+ * @author biologyiswell (18/10/2026 15:20)
+ * @since 1.3
+ */
+public enum SizingEngine {
+
+    /**
+     * The engine that reads the reference fields using the reflection, this engine is the fallback from the other
+     * engines.
+     * @since 1.3
+     */
+    REFLECTION {
+        @Override
+        FieldReader compile(final Field[] fields) {
+            return FieldReader.reflective(fields);
+        }
+    },
+
+    /**
+     * The engine that composes the getters from the all reference fields of a class in a single method handle, then
+     * the read from each object has a cost near to a plain field load.
+     * @since 1.3
+     */
+    METHOD_HANDLE {
+        @Override
+        FieldReader compile(final Field[] fields) {
+            return FieldReader.methodHandle(fields);
+        }
+    };
+
+    /**
+     * This method creates the reader from the reference fields of a class.
+     *
+     * @param fields the accessible reference fields.
+     * @return the reader from the fields.
+     * @since 1.3
+     */
+    abstract FieldReader compile(Field[] fields);
+}
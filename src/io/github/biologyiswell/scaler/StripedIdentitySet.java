@@ -0,0 +1,66 @@
+package io.github.biologyiswell.scaler;
+
+/**
+ * This class represents a set from objects keyed by the identity that can be used by concurrent threads. The set is
+ * split in stripes, each stripe is an identity set that is locked only by the threads that adds an object to the same
+ * stripe, then the threads that adds objects to different stripes do not waits each other.
+ *
+ * @author biologyiswell (19/10/2026 03:50)
+ * @since 1.3
+ */
+final class StripedIdentitySet {
+
+    /**
+     * The stripes from the set, each stripe is locked by the stripe itself.
+     * @since 1.3
+     */
+    private final IdentitySet[] stripes;
+
+    /**
+     * This constructor creates the set with a quantity of stripes proportional to the quantity of threads, then the
+     * contention from the locks is low.
+     *
+     * @param threads the quantity of threads that uses the set.
+     * @since 1.3
+     */
+    StripedIdentitySet(final int threads) {
+        int stripes = 16;
+        while (stripes < threads << 4 && stripes < 1 << 12) {
+            stripes <<= 1;
+        }
+        this.stripes = new IdentitySet[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new IdentitySet();
+        }
+    }
+
+    /**
+     * This method adds the object to the set.
+     *
+     * @param object the input object.
+     * @return true if the object has been added, or false if the object already contains in the set.
+     * @since 1.3
+     */
+    boolean add(final Object object) {
+        // @Note The stripe is chosen by the low bits from the identity hash, because the identity set chooses the slot
+        // by the high bits, then the objects from a stripe are spread in the table of the stripe.
+        final IdentitySet stripe = this.stripes[System.identityHashCode(object) & (this.stripes.length - 1)];
+        synchronized (stripe) {
+            return stripe.add(object);
+        }
+    }
+
+    /**
+     * @return the quantity of objects that contains in the set.
+     * @since 1.3
+     */
+    int size() {
+        int size = 0;
+        for (final IdentitySet stripe : this.stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,455 @@
+package io.github.biologyiswell.scaler;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * This class represents the profile from the object layout of the running Java Virtual Machine. The profile contains
+ * the size of the object headers, the size of the references, the alignment from the objects and if the strings are
+ * compacted, then the sizes calculated by this profile contains the padding that the virtual machine adds to the
+ * objects.
+ *
+ * @author biologyiswell (18/10/2026 16:40)
+ * @since 1.3
+ */
+public final class VmLayout {
+
+    /**
+     * The profile from the running Java Virtual Machine, that is detected only once when the class is loaded.
+     * @since 1.3
+     */
+    private static final VmLayout CURRENT = detect();
+
+    /**
+     * The sizes from the primitive fields in the order that are allocated, the size 0 represents the references.
+     * @since 1.3
+     */
+    private static final int[] FIELD_SIZES = {8, 4, 2, 1, 0};
+
+    /**
+     * The major version from the Java that is running, like 8, 11 or 17.
+     * @since 1.3
+     */
+    private final int javaVersion;
+
+    /**
+     * This field represents if the references are compressed to 4 bytes.
+     * @since 1.3
+     */
+    private final boolean compressedOops;
+
+    /**
+     * This field represents if the class pointer from the object header is compressed to 4 bytes.
+     * @since 1.3
+     */
+    private final boolean compressedClassPointers;
+
+    /**
+     * The alignment from the objects, the size from each object is a multiple of this value.
+     * @since 1.3
+     */
+    private final int objectAlignment;
+
+    /**
+     * This field represents if the strings that contains only Latin-1 characters stores each character in one byte.
+     * @since 1.3
+     */
+    private final boolean compactStrings;
+
+    /**
+     * The size from the object header, that contains the mark word and the class pointer.
+     * @since 1.3
+     */
+    private final int objectHeaderBytes;
+
+    /**
+     * The size from the array header, that contains the object header and the array length, the first element from the
+     * array starts after this header.
+     * @since 1.3
+     */
+    private final int arrayHeaderBytes;
+
+    /**
+     * The size from a reference.
+     * @since 1.3
+     */
+    private final int referenceBytes;
+
+    VmLayout(final int javaVersion, final boolean is64Bit, final boolean compressedOops, final boolean compressedClassPointers,
+             final int objectAlignment, final boolean compactStrings) {
+        this.javaVersion = javaVersion;
+        this.compressedOops = is64Bit && compressedOops;
+        this.compressedClassPointers = is64Bit && compressedClassPointers;
+        this.objectAlignment = objectAlignment;
+        this.compactStrings = compactStrings;
+        // @Note The mark word has the size of a machine word, and the class pointer has 4 bytes when compressed.
+        final int wordBytes = is64Bit ? 8 : 4;
+        this.objectHeaderBytes = wordBytes + (this.compressedClassPointers || !is64Bit ? 4 : 8);
+        // @Note The array header contains the length of the array, and the header is aligned to the machine word.
+        this.arrayHeaderBytes = (int) alignTo(this.objectHeaderBytes + Integer.BYTES, wordBytes);
+        this.referenceBytes = this.compressedOops || !is64Bit ? 4 : 8;
+    }
+
+    /**
+     * This method gets the profile from the running Java Virtual Machine.
+     *
+     * @return the current profile.
+     * @since 1.3
+     */
+    public static VmLayout current() {
+        return CURRENT;
+    }
+
+    /**
+     * This method calculates the size from an instance, the fields from each class of the hierarchy are represented by
+     * the descriptor characters from the field types (Z, B, C, S, I, F, J, D, and L or [ for references). The first
+     * descriptor represents the topmost superclass. Before the Java 15 the fields from each class are placed after the
+     * fields of the superclass, that ends aligned to the size of a reference, the greater fields first and the smaller
+     * fields filling the gaps from the alignment.
+     * Since the Java 15 each field is placed in the smallest gap from the whole hierarchy that fits the field, then
+     * the fields from a subclass can fill the gaps that are left in the superclasses.
+     *
+     * @param hierarchy the field descriptors from each class of the hierarchy.
+     * @return the aligned size from the instance.
+     * @since 1.3
+     */
+    public long instanceSize(final String... hierarchy) {
+        if (this.javaVersion >= 15) {
+            return this.align(this.allocateFields(hierarchy));
+        }
+        long offset = this.objectHeaderBytes;
+        for (final String descriptors : hierarchy) {
+            int longs = 0;
+            int ints = 0;
+            int shorts = 0;
+            int bytes = 0;
+            for (int i = 0; i < descriptors.length(); i++) {
+                switch (this.descriptorBytes(descriptors.charAt(i))) {
+                    case 8: longs++;
+                        break;
+                    case 4: ints++;
+                        break;
+                    case 2: shorts++;
+                        break;
+                    default: bytes++;
+                        break;
+                }
+            }
+            // @Note When the class contains fields of 8 bytes and the offset is not aligned, the gap before the
+            // first field of 8 bytes is filled by the smaller fields.
+            if (longs > 0 && (offset & 7) != 0) {
+                long gap = 8 - (offset & 7);
+                while (gap >= 4 && ints > 0) { ints--; gap -= 4; offset += 4; }
+                while (gap >= 2 && shorts > 0) { shorts--; gap -= 2; offset += 2; }
+                while (gap >= 1 && bytes > 0) { bytes--; gap -= 1; offset += 1; }
+                offset = alignTo(offset, 8);
+            }
+            offset += longs * 8L;
+            if (ints > 0) offset = alignTo(offset, 4) + ints * 4L;
+            if (shorts > 0) offset = alignTo(offset, 2) + shorts * 2L;
+            offset += bytes;
+            // @Note The size from the fields of each class is a multiple of the size from a reference (heapOopSize),
+            // then the fields from the subclass starts at the aligned offset.
+            offset = this.objectHeaderBytes + alignTo(offset - this.objectHeaderBytes, this.referenceBytes);
+        }
+        return this.align(offset);
+    }
+
+    /**
+     * This method allocates the fields like the field layout from the Java 15 (JDK-8237767). The primitive fields from
+     * each class are allocated by the size in the descending order and followed by the references, each field is
+     * placed in the smallest gap that fits the field with your alignment, and when there is not a gap the field is
+     * placed at the end, then the bytes that are skipped by the alignment are a new gap.
+     *
+     * @param hierarchy the field descriptors from each class of the hierarchy.
+     * @return the end offset from the last field.
+     * @since 1.3
+     */
+    private long allocateFields(final String[] hierarchy) {
+        // @Note Each gap is stored by the offset and the size.
+        long[] gaps = new long[16];
+        int gapCount = 0;
+        long end = this.objectHeaderBytes;
+        for (final String descriptors : hierarchy) {
+            final int[] counts = new int[9];
+            int references = 0;
+            for (int i = 0; i < descriptors.length(); i++) {
+                final char descriptor = descriptors.charAt(i);
+                if (descriptor == 'L' || descriptor == '[') {
+                    references++;
+                } else {
+                    counts[this.descriptorBytes(descriptor)]++;
+                }
+            }
+            for (final int size : FIELD_SIZES) {
+                int remaining = size == 0 ? references : counts[size];
+                final int bytes = size == 0 ? this.referenceBytes : size;
+                for (; remaining > 0; remaining--) {
+                    // @Note The smallest gap is chosen, and between the gaps of the same size the gap with the greater
+                    // offset, like the search from the virtual machine that starts at the end of the layout.
+                    int candidate = -1;
+                    for (int gap = 0; gap < gapCount; gap++) {
+                        final long offset = gaps[gap << 1];
+                        final long gapBytes = gaps[(gap << 1) + 1];
+                        if (alignTo(offset, bytes) - offset + bytes <= gapBytes && (candidate == -1
+                                || gapBytes < gaps[(candidate << 1) + 1] || gapBytes == gaps[(candidate << 1) + 1]
+                                && offset > gaps[candidate << 1])) {
+                            candidate = gap;
+                        }
+                    }
+                    final long offset = candidate == -1 ? end : gaps[candidate << 1];
+                    final long limit = candidate == -1 ? Long.MAX_VALUE : offset + gaps[(candidate << 1) + 1];
+                    final long fieldOffset = alignTo(offset, bytes);
+                    if (candidate != -1) {
+                        // @Note The gap is replaced by the last gap, then the new gaps are added at the end.
+                        gapCount--;
+                        gaps[candidate << 1] = gaps[gapCount << 1];
+                        gaps[(candidate << 1) + 1] = gaps[(gapCount << 1) + 1];
+                    }
+                    if (gapCount + 2 > gaps.length >> 1) {
+                        gaps = Arrays.copyOf(gaps, gaps.length << 1);
+                    }
+                    if (fieldOffset > offset) {
+                        gaps[gapCount << 1] = offset;
+                        gaps[(gapCount++ << 1) + 1] = fieldOffset - offset;
+                    }
+                    if (candidate == -1) {
+                        end = fieldOffset + bytes;
+                    } else if (fieldOffset + bytes < limit) {
+                        gaps[gapCount << 1] = fieldOffset + bytes;
+                        gaps[(gapCount++ << 1) + 1] = limit - fieldOffset - bytes;
+                    }
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * This method calculates the size from an array.
+     *
+     * @param component the component type from the array.
+     * @param length the length from the array.
+     * @return the aligned size from the array.
+     * @since 1.3
+     */
+    public long arraySize(final Class<?> component, final long length) {
+        return this.arraySize(this.elementBytes(component), length);
+    }
+
+    /**
+     * This method calculates the size from an array.
+     *
+     * @param elementBytes the size from each element of the array.
+     * @param length the length from the array.
+     * @return the aligned size from the array.
+     * @since 1.3
+     */
+    public long arraySize(final int elementBytes, final long length) {
+        return this.align(this.arrayHeaderBytes + elementBytes * length);
+    }
+
+    /**
+     * This method calculates the size from the internal array that stores the characters of a string. Since the
+     * Java 9 the string that contains only Latin-1 characters stores each character in one byte, otherwise each
+     * character is stored in two bytes. The characters are checked without allocation.
+     *
+     * @param string the input string.
+     * @return the aligned size from the internal array of the string.
+     * @since 1.3
+     */
+    public long stringValueSize(final String string) {
+        final int length = string.length();
+        if (!this.compactStrings) {
+            return this.arraySize(Character.BYTES, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) > 0xFF) {
+                return this.arraySize(Character.BYTES, length);
+            }
+        }
+        return this.arraySize(Byte.BYTES, length);
+    }
+
+    /**
+     * This method gets the size from an element of the type, that is the size from the primitive type or the size from
+     * a reference.
+     *
+     * @param type the input type.
+     * @return the size from an element of the type.
+     * @since 1.3
+     */
+    public int elementBytes(final Class<?> type) {
+        if (!type.isPrimitive()) return this.referenceBytes;
+        if (type == boolean.class || type == byte.class) return Byte.BYTES;
+        if (type == char.class) return Character.BYTES;
+        if (type == short.class) return Short.BYTES;
+        if (type == int.class) return Integer.BYTES;
+        if (type == float.class) return Float.BYTES;
+        if (type == double.class) return Double.BYTES;
+        if (type == long.class) return Long.BYTES;
+        throw new IllegalArgumentException("Type (" + type + ") can not be stored in a field.");
+    }
+
+    /**
+     * This method gets the size from a field of the descriptor character.
+     *
+     * @param descriptor the descriptor character from the field type.
+     * @return the size from the field.
+     * @since 1.3
+     */
+    public int descriptorBytes(final char descriptor) {
+        switch (descriptor) {
+            case 'Z': case 'B': return Byte.BYTES;
+            case 'C': case 'S': return Short.BYTES;
+            case 'I': case 'F': return Integer.BYTES;
+            case 'J': case 'D': return Long.BYTES;
+            case 'L': case '[': return this.referenceBytes;
+            default: throw new IllegalArgumentException("Descriptor (" + descriptor + ") has not found to be parse.");
+        }
+    }
+
+    /**
+     * This method aligns the size to the object alignment.
+     *
+     * @param size the input size.
+     * @return the aligned size.
+     * @since 1.3
+     */
+    public long align(final long size) {
+        return alignTo(size, this.objectAlignment);
+    }
+
+    /**
+     * @return the major version from the Java that is running.
+     * @since 1.3
+     */
+    public int javaVersion() {
+        return this.javaVersion;
+    }
+
+    /**
+     * @return true if the references are compressed, otherwise false.
+     * @since 1.3
+     */
+    public boolean compressedOops() {
+        return this.compressedOops;
+    }
+
+    /**
+     * @return true if the class pointers are compressed, otherwise false.
+     * @since 1.3
+     */
+    public boolean compressedClassPointers() {
+        return this.compressedClassPointers;
+    }
+
+    /**
+     * @return the alignment from the objects.
+     * @since 1.3
+     */
+    public int objectAlignment() {
+        return this.objectAlignment;
+    }
+
+    /**
+     * @return true if the strings are compacted, otherwise false.
+     * @since 1.3
+     */
+    public boolean compactStrings() {
+        return this.compactStrings;
+    }
+
+    /**
+     * @return the size from the object header.
+     * @since 1.3
+     */
+    public int objectHeaderBytes() {
+        return this.objectHeaderBytes;
+    }
+
+    /**
+     * @return the size from the array header.
+     * @since 1.3
+     */
+    public int arrayHeaderBytes() {
+        return this.arrayHeaderBytes;
+    }
+
+    /**
+     * @return the size from a reference.
+     * @since 1.3
+     */
+    public int referenceBytes() {
+        return this.referenceBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "VmLayout{javaVersion=" + this.javaVersion + ", compressedOops=" + this.compressedOops
+                + ", compressedClassPointers=" + this.compressedClassPointers + ", objectAlignment=" + this.objectAlignment
+                + ", compactStrings=" + this.compactStrings + ", objectHeaderBytes=" + this.objectHeaderBytes
+                + ", arrayHeaderBytes=" + this.arrayHeaderBytes + ", referenceBytes=" + this.referenceBytes + "}";
+    }
+
+    /**
+     * This method parses the major version from the Java version, the versions before the Java 9 starts with "1." like
+     * "1.8.0_292", and the versions after the Java 9 starts with the major version like "11.0.2", "17" or "21-ea".
+     *
+     * @param version the Java version.
+     * @return the major version.
+     * @since 1.3
+     */
+    static int parseJavaVersion(final String version) {
+        int start = version.startsWith("1.") ? 2 : 0;
+        int end = start;
+        while (end < version.length() && Character.isDigit(version.charAt(end))) {
+            end++;
+        }
+        return end == start ? 8 : Integer.parseInt(version.substring(start, end));
+    }
+
+    /**
+     * This method detects the profile from the running Java Virtual Machine, the options are read by the HotSpot
+     * diagnostic bean, and when the bean is not available the default options from a 64 bits HotSpot are used.
+     *
+     * @return the detected profile.
+     * @since 1.3
+     */
+    private static VmLayout detect() {
+        final int javaVersion = parseJavaVersion(System.getProperty("java.version", "1.8"));
+        final boolean is64Bit = !"32".equals(System.getProperty("sun.arch.data.model"));
+        // @Note The references are compressed by default when the maximum heap is less than 32 gigabytes.
+        boolean compressedOops = Runtime.getRuntime().maxMemory() < (32L << 30);
+        boolean compressedClassPointers = compressedOops;
+        int objectAlignment = 8;
+        boolean compactStrings = javaVersion >= 9;
+        try {
+            final HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            if (bean != null) {
+                compressedOops = Boolean.parseBoolean(option(bean, "UseCompressedOops", String.valueOf(compressedOops)));
+                compressedClassPointers = Boolean.parseBoolean(option(bean, "UseCompressedClassPointers", String.valueOf(compressedClassPointers)));
+                objectAlignment = Integer.parseInt(option(bean, "ObjectAlignmentInBytes", "8"));
+                compactStrings = javaVersion >= 9 && Boolean.parseBoolean(option(bean, "CompactStrings", "true"));
+            }
+        } catch (RuntimeException | LinkageError e) {
+            // @Note The bean is not available in this virtual machine, then the default options are used.
+        }
+        return new VmLayout(javaVersion, is64Bit, compressedOops, compressedClassPointers, objectAlignment, compactStrings);
+    }
+
+    private static String option(final HotSpotDiagnosticMXBean bean, final String name, final String defaultValue) {
+        try {
+            return bean.getVMOption(name).getValue();
+        } catch (IllegalArgumentException e) {
+            // @Note The option do not exists in this virtual machine.
+            return defaultValue;
+        }
+    }
+
+    private static long alignTo(final long size, final int alignment) {
+        return (size + alignment - 1) & -alignment;
+    }
+}
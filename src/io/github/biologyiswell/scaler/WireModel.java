@@ -0,0 +1,178 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * This interface represents the cost model from a serialization format, that is used by the method "wireSizeof" to
+ * calculate how many bytes an object occupies when is written, without write the object. The graph is walked by the
+ * layouts from the classes, and each part from the graph is given to the model in the order that the part is written.
+ *
+ * <p>Each object is written only once, the objects that are found again are given to the model as a reference. The
+ * strings, the enum constants, the boxed primitives, the collections and the maps are given to the model by the
+ * values, and the other objects are given by the fields that are written.
+ *
+ * @author biologyiswell (19/10/2026 05:40)
+ * @since 1.3
+ */
+public interface WireModel {
+
+    /**
+     * The model from the Java serialization, that counts the stream header, the class descriptors, the handles and the
+     * strings in the modified UTF-8. The collections and the maps are counted like the default forms from the
+     * "java.util" collections, that writes the size and the elements.
+     * @since 1.3
+     */
+    WireModel JAVA_SERIALIZATION = WireModels.JAVA_SERIALIZATION;
+
+    /**
+     * The model from a compact binary form, that writes a tag before each object, the integers as variable length
+     * integers, the strings, the arrays and the collections prefixed by the length, and the strings in the UTF-8.
+     * @since 1.3
+     */
+    WireModel COMPACT = WireModels.COMPACT;
+
+    /**
+     * @return the bytes that are written before the root, like the header of the stream.
+     * @since 1.3
+     */
+    default long header() {
+        return 0;
+    }
+
+    /**
+     * @return the bytes that are written by a null reference.
+     * @since 1.3
+     */
+    long nullValue();
+
+    /**
+     * This method gets the bytes that are written by a reference to an object that has been written.
+     *
+     * @param written the quantity of objects that has been written, that bounds the handle from the reference.
+     * @return the bytes from the reference.
+     * @since 1.3
+     */
+    long reference(int written);
+
+    /**
+     * This method gets the bytes that are written before the fields of an object.
+     *
+     * @param type the class from the object.
+     * @param described true if an object from the class has been written, then the class is not described again.
+     * @return the bytes that are written before the fields.
+     * @since 1.3
+     */
+    long objectStart(Class<?> type, boolean described);
+
+    /**
+     * This method gets the bytes from a primitive value.
+     *
+     * @param type the primitive type.
+     * @param bits the value, that is the value widened to a long for the integral types, one or zero for the booleans,
+     * and the raw bits for the floating point types.
+     * @return the bytes from the value.
+     * @since 1.3
+     */
+    long primitive(Class<?> type, long bits);
+
+    /**
+     * This method gets the bytes that are written before the elements of an array.
+     *
+     * @param type the class from the array.
+     * @param length the length from the array.
+     * @param described true if an array from the class has been written.
+     * @return the bytes that are written before the elements.
+     * @since 1.3
+     */
+    long arrayStart(Class<?> type, int length, boolean described);
+
+    /**
+     * This method gets the bytes from the elements of a primitive array.
+     *
+     * @param component the primitive type from the elements.
+     * @param array the primitive array.
+     * @return the bytes from the elements.
+     * @since 1.3
+     */
+    long primitiveArray(Class<?> component, Object array);
+
+    /**
+     * @param value the input string.
+     * @return the bytes from the string.
+     * @since 1.3
+     */
+    long string(String value);
+
+    /**
+     * @param constant the enum constant.
+     * @param described true if a constant from the enum has been written.
+     * @return the bytes from the enum constant.
+     * @since 1.3
+     */
+    long enumConstant(Enum<?> constant, boolean described);
+
+    /**
+     * This method gets the bytes that are written before the elements of a collection or before the entries of a map.
+     *
+     * @param type the class from the collection or the map.
+     * @param size the quantity of elements or entries.
+     * @param described true if a collection or map from the class has been written.
+     * @return the bytes that are written before the elements.
+     * @since 1.3
+     */
+    long containerStart(Class<?> type, int size, boolean described);
+
+    /**
+     * This method checks if the field is written, by default the transient fields are not written.
+     *
+     * @param field the non static field.
+     * @return true if the field is written, otherwise false.
+     * @since 1.3
+     */
+    default boolean isWritten(final Field field) {
+        return !Modifier.isTransient(field.getModifiers());
+    }
+
+    /**
+     * This method calculates the length from the string encoded in the UTF-8, without encode the string. The
+     * surrogate pairs are encoded in four bytes, and the unpaired surrogates are replaced by one character of three
+     * bytes like the encoder from the Java.
+     *
+     * @param value the input string.
+     * @return the length in bytes.
+     * @since 1.3
+     */
+    static long utf8Length(final CharSequence value) {
+        final int length = value.length();
+        long bytes = length;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // @Note The pair of chars is encoded in four bytes.
+                bytes += 2;
+                i++;
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * This method calculates the length from a variable length integer, that is written in groups of seven bits.
+     *
+     * @param value the input value, that is an unsigned value.
+     * @return the length in bytes, between 1 and 10.
+     * @since 1.3
+     */
+    static int varintLength(final long value) {
+        // @Note Each byte contains seven bits from the value, and the zero is written in one byte.
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+}
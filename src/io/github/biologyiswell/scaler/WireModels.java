@@ -0,0 +1,283 @@
+package io.github.biologyiswell.scaler;
+
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+/**
+ * This class contains the models from the serialization formats that are provided by the Scaler.
+ *
+ * @author biologyiswell (19/10/2026 05:40)
+ * @since 1.3
+ */
+final class WireModels {
+
+    // non-instantiate.
+    private WireModels() {
+    }
+
+    /**
+     * The model from the Java serialization, the bytes are counted like the "java.io.ObjectOutputStream" writes the
+     * stream: the class descriptors are written only once and the next objects from the class refers the descriptor
+     * by a handle of five bytes, like the references to the objects that has been written.
+     * @since 1.3
+     */
+    static final WireModel JAVA_SERIALIZATION = new WireModel() {
+
+        /**
+         * The bytes from the stream header, that are the magic number and the version.
+         * @since 1.3
+         */
+        private static final int HEADER = 4;
+
+        /**
+         * The bytes from a handle, that are the type code and the handle.
+         * @since 1.3
+         */
+        private static final int HANDLE = 5;
+
+        /**
+         * The bytes from the block data that is written by the collections before the elements, that contains the
+         * size, and the end from the block data. The maps writes the capacity too.
+         * @since 1.3
+         */
+        private static final int COLLECTION_BLOCK = 7;
+        private static final int MAP_BLOCK = 11;
+
+        /**
+         * The cache from the descriptors of each class.
+         * @since 1.3
+         */
+        private final ClassValue<long[]> descriptors = new ClassValue<long[]>() {
+            @Override
+            protected long[] computeValue(final Class<?> type) {
+                long descriptor = 0;
+                long primitives = 0;
+                for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                    final ObjectStreamClass stream = ObjectStreamClass.lookup(current);
+                    if (stream == null) {
+                        // @Note The descriptors from the superclasses ends in the first class that is not
+                        // serializable, like the Object class from the arrays, with a null reference.
+                        descriptor++;
+                        break;
+                    }
+                    // @Note The type code, the name, the serial version, the flags, the fields and the end from the
+                    // annotations of the class.
+                    descriptor += 1 + utf(current.getName()) + 8 + 1 + 2 + 1;
+                    for (final ObjectStreamField field : stream.getFields()) {
+                        descriptor += 1 + utf(field.getName());
+                        if (field.isPrimitive()) {
+                            primitives += width(field.getType());
+                        } else {
+                            descriptor += 1 + utf(field.getTypeString());
+                        }
+                    }
+                }
+                return new long[] {descriptor, primitives};
+            }
+        };
+
+        @Override
+        public long header() {
+            return HEADER;
+        }
+
+        @Override
+        public long nullValue() {
+            return 1;
+        }
+
+        @Override
+        public long reference(final int written) {
+            return HANDLE;
+        }
+
+        @Override
+        public long objectStart(final Class<?> type, final boolean described) {
+            return 1 + this.descriptor(type, described);
+        }
+
+        @Override
+        public long primitive(final Class<?> type, final long bits) {
+            return width(type);
+        }
+
+        @Override
+        public long arrayStart(final Class<?> type, final int length, final boolean described) {
+            return 1 + this.descriptor(type, described) + Integer.BYTES;
+        }
+
+        @Override
+        public long primitiveArray(final Class<?> component, final Object array) {
+            return (long) width(component) * Array.getLength(array);
+        }
+
+        @Override
+        public long string(final String value) {
+            final long length = modifiedUtf8Length(value);
+            // @Note The strings greater than 65535 bytes are written with the length in a long.
+            return 1 + (length <= 0xFFFF ? 2 : 8) + length;
+        }
+
+        @Override
+        public long enumConstant(final Enum<?> constant, final boolean described) {
+            return 1 + this.descriptor(constant.getDeclaringClass(), described) + this.string(constant.name());
+        }
+
+        @Override
+        public long containerStart(final Class<?> type, final int size, final boolean described) {
+            // @Note The collections writes the primitive fields by the default form and the size in a block data.
+            return 1 + this.descriptor(type, described) + this.descriptors.get(type)[1]
+                    + (Map.class.isAssignableFrom(type) ? MAP_BLOCK : COLLECTION_BLOCK);
+        }
+
+        @Override
+        public boolean isWritten(final Field field) {
+            if (Modifier.isTransient(field.getModifiers())) {
+                return false;
+            }
+            // @Note The fields from the classes that are not serializable are not written, and the classes can
+            // declare the written fields by the "serialPersistentFields".
+            final ObjectStreamClass stream = ObjectStreamClass.lookup(field.getDeclaringClass());
+            return stream != null && stream.getField(field.getName()) != null;
+        }
+
+        private long descriptor(final Class<?> type, final boolean described) {
+            return described ? HANDLE : this.descriptors.get(type)[0];
+        }
+    };
+
+    /**
+     * The model from a compact binary form, that writes a tag of one byte before each value that can be null, the
+     * integers in the zigzag encoding as variable length integers, the floating point numbers in the fixed width, and
+     * the strings in the UTF-8 prefixed by the length.
+     * @since 1.3
+     */
+    static final WireModel COMPACT = new WireModel() {
+
+        @Override
+        public long nullValue() {
+            return 1;
+        }
+
+        @Override
+        public long reference(final int written) {
+            return 1 + WireModel.varintLength(written);
+        }
+
+        @Override
+        public long objectStart(final Class<?> type, final boolean described) {
+            return 1;
+        }
+
+        @Override
+        public long primitive(final Class<?> type, final long bits) {
+            if (type == boolean.class || type == byte.class) {
+                return 1;
+            }
+            if (type == float.class || type == double.class) {
+                return width(type);
+            }
+            if (type == char.class) {
+                return WireModel.varintLength(bits);
+            }
+            // @Note The zigzag encoding maps the small negative numbers to small positive numbers.
+            return WireModel.varintLength((bits << 1) ^ (bits >> 63));
+        }
+
+        @Override
+        public long arrayStart(final Class<?> type, final int length, final boolean described) {
+            return 1 + WireModel.varintLength(length);
+        }
+
+        @Override
+        public long primitiveArray(final Class<?> component, final Object array) {
+            final int length = Array.getLength(array);
+            if (component == boolean.class || component == byte.class || component == float.class || component == double.class) {
+                return (long) width(component) * length;
+            }
+            long bytes = 0;
+            if (component == char.class) {
+                for (final char value : (char[]) array) {
+                    bytes += this.primitive(char.class, value);
+                }
+            } else if (component == short.class) {
+                for (final short value : (short[]) array) {
+                    bytes += this.primitive(short.class, value);
+                }
+            } else if (component == int.class) {
+                for (final int value : (int[]) array) {
+                    bytes += this.primitive(int.class, value);
+                }
+            } else {
+                for (final long value : (long[]) array) {
+                    bytes += this.primitive(long.class, value);
+                }
+            }
+            return bytes;
+        }
+
+        @Override
+        public long string(final String value) {
+            final long length = WireModel.utf8Length(value);
+            return 1 + WireModel.varintLength(length) + length;
+        }
+
+        @Override
+        public long enumConstant(final Enum<?> constant, final boolean described) {
+            return 1 + WireModel.varintLength(constant.ordinal());
+        }
+
+        @Override
+        public long containerStart(final Class<?> type, final int size, final boolean described) {
+            return 1 + WireModel.varintLength(size);
+        }
+    };
+
+    /**
+     * @param type the primitive type.
+     * @return the bytes from the primitive type in the fixed width.
+     * @since 1.3
+     */
+    static int width(final Class<?> type) {
+        if (type == boolean.class || type == byte.class) return 1;
+        if (type == char.class || type == short.class) return 2;
+        if (type == int.class || type == float.class) return 4;
+        return 8;
+    }
+
+    /**
+     * This method calculates the length from the string encoded in the modified UTF-8 from the Java serialization,
+     * that encodes the null character in two bytes and each surrogate in three bytes.
+     *
+     * @param value the input string.
+     * @return the length in bytes.
+     * @since 1.3
+     */
+    static long modifiedUtf8Length(final String value) {
+        final int length = value.length();
+        long bytes = length;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x800) {
+                bytes += 2;
+            } else if (c >= 0x80 || c == 0) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param value the input string.
+     * @return the bytes from the string in the modified UTF-8 prefixed by the length, like the names from the
+     * descriptors.
+     * @since 1.3
+     */
+    private static long utf(final String value) {
+        return 2 + modifiedUtf8Length(value);
+    }
+}
@@ -0,0 +1,262 @@
+package io.github.biologyiswell.scaler;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents the walker that calculates the bytes that an object graph occupies when is written by a
+ * serialization format. The graph is walked by the same layouts from the deep calculation, with an explicit stack, and
+ * the parts from the graph are counted by the model from the format.
+ *
+ * <p>The fields that can not be read, like the fields from the packages that are not opened, are counted by the
+ * model as a zero value when are primitive fields and are not counted when are reference fields.
+ *
+ * @author biologyiswell (19/10/2026 05:40)
+ * @since 1.3
+ */
+final class WireWalker {
+
+    /**
+     * The primitive types from the boxed types, the boxed values are written by the value.
+     * @since 1.3
+     */
+    private static final Map<Class<?>, Class<?>> BOXES = new IdentityHashMap<>();
+
+    static {
+        BOXES.put(Boolean.class, boolean.class);
+        BOXES.put(Byte.class, byte.class);
+        BOXES.put(Character.class, char.class);
+        BOXES.put(Short.class, short.class);
+        BOXES.put(Integer.class, int.class);
+        BOXES.put(Float.class, float.class);
+        BOXES.put(Long.class, long.class);
+        BOXES.put(Double.class, double.class);
+    }
+
+    private final SizingEngine engine;
+    private final WireModel model;
+
+    /**
+     * The objects that has been written, the objects that are found again are written as references.
+     * @since 1.3
+     */
+    private final IdentitySet written = new IdentitySet();
+
+    /**
+     * The classes that has been described by the format.
+     * @since 1.3
+     */
+    private final IdentitySet described = new IdentitySet();
+
+    /**
+     * The fields that are written from each class.
+     * @since 1.3
+     */
+    private final Map<Class<?>, Plan> plans = new HashMap<>();
+
+    private Object[] stack = new Object[64];
+    private int depth;
+
+    WireWalker(final SizingEngine engine, final WireModel model) {
+        this.engine = engine;
+        this.model = model;
+    }
+
+    /**
+     * This method calculates the bytes from the object when is written by the format.
+     *
+     * @param root the input object.
+     * @return the bytes from the object.
+     * @since 1.3
+     */
+    long walk(final Object root) {
+        long size = this.model.header() + this.value(root);
+        while (this.depth > 0) {
+            final Object object = this.stack[--this.depth];
+            this.stack[this.depth] = null;
+            size += this.write(object);
+        }
+        return size;
+    }
+
+    /**
+     * @return the quantity of objects that has been written by the walker.
+     * @since 1.3
+     */
+    int writes() {
+        return this.written.size();
+    }
+
+    /**
+     * This method calculates the bytes from a reference. The strings and the enum constants are calculated
+     * immediately, and the other objects that has not been written are pushed to the stack.
+     *
+     * @param value the referenced object.
+     * @return the bytes from the reference.
+     * @since 1.3
+     */
+    private long value(final Object value) {
+        if (value == null) {
+            return this.model.nullValue();
+        }
+        if (!this.written.add(value)) {
+            return this.model.reference(this.written.size());
+        }
+        if (value instanceof String) {
+            return this.model.string((String) value);
+        }
+        if (value instanceof Enum) {
+            final Enum<?> constant = (Enum<?>) value;
+            return this.model.enumConstant(constant, !this.described.add(constant.getDeclaringClass()));
+        }
+        if (this.depth == this.stack.length) {
+            final Object[] stack = new Object[this.depth << 1];
+            System.arraycopy(this.stack, 0, stack, 0, this.depth);
+            this.stack = stack;
+        }
+        this.stack[this.depth++] = value;
+        return 0;
+    }
+
+    /**
+     * This method calculates the bytes from the object and from the references of the object.
+     *
+     * @param object the input object.
+     * @return the bytes from the object.
+     * @since 1.3
+     */
+    private long write(final Object object) {
+        final Class<?> type = object.getClass();
+        final boolean described = !this.described.add(type);
+        if (type.isArray()) {
+            final Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return this.model.arrayStart(type, Array.getLength(object), described)
+                        + this.model.primitiveArray(component, object);
+            }
+            final Object[] array = (Object[]) object;
+            long size = this.model.arrayStart(type, array.length, described);
+            for (final Object element : array) {
+                size += this.value(element);
+            }
+            return size;
+        }
+        final Class<?> primitive = BOXES.get(type);
+        if (primitive != null) {
+            return this.model.objectStart(type, described) + this.model.primitive(primitive, boxedBits(object));
+        }
+        // @Note The collections and the maps are written by the elements, like the serialized forms from the
+        // collections, and not by the internal structures.
+        if (object instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) object;
+            long size = this.model.containerStart(type, collection.size(), described);
+            for (final Object element : collection) {
+                size += this.value(element);
+            }
+            return size;
+        }
+        if (object instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) object;
+            long size = this.model.containerStart(type, map.size(), described);
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                size += this.value(entry.getKey()) + this.value(entry.getValue());
+            }
+            return size;
+        }
+        final Plan plan = this.plan(type);
+        long size = this.model.objectStart(type, described);
+        for (final Field field : plan.primitives) {
+            size += this.model.primitive(field.getType(), fieldBits(field, object));
+        }
+        if (plan.references.length != 0) {
+            final Object[] values = plan.layout.reader(this.engine).read(object);
+            for (final int index : plan.references) {
+                size += this.value(values[index]);
+            }
+        }
+        return size;
+    }
+
+    private Plan plan(final Class<?> type) {
+        Plan plan = this.plans.get(type);
+        if (plan == null) {
+            plan = new Plan(ClassLayout.of(type), this.model);
+            this.plans.put(type, plan);
+        }
+        return plan;
+    }
+
+    private static long boxedBits(final Object value) {
+        if (value instanceof Boolean) return (Boolean) value ? 1 : 0;
+        if (value instanceof Character) return (Character) value;
+        if (value instanceof Float) return Float.floatToRawIntBits((Float) value);
+        if (value instanceof Double) return Double.doubleToRawLongBits((Double) value);
+        return ((Number) value).longValue();
+    }
+
+    private static long fieldBits(final Field field, final Object object) {
+        final Class<?> type = field.getType();
+        try {
+            if (type == boolean.class) return field.getBoolean(object) ? 1 : 0;
+            if (type == char.class) return field.getChar(object);
+            if (type == float.class) return Float.floatToRawIntBits(field.getFloat(object));
+            if (type == double.class) return Double.doubleToRawLongBits(field.getDouble(object));
+            return field.getLong(object);
+        } catch (IllegalAccessException e) {
+            // @Note The field that can not be read is counted as a zero value.
+            ScalerMetrics.fieldSkipped();
+            return 0;
+        }
+    }
+
+    /**
+     * This class represents the fields from a class that are written by the model.
+     * @since 1.3
+     */
+    private static final class Plan {
+
+        private final ClassLayout layout;
+
+        /**
+         * The primitive fields that are written.
+         * @since 1.3
+         */
+        private final Field[] primitives;
+
+        /**
+         * The indexes from the values of the layout reader that are written.
+         * @since 1.3
+         */
+        private final int[] references;
+
+        private Plan(final ClassLayout layout, final WireModel model) {
+            this.layout = layout;
+            final List<Field> primitives = new ArrayList<>();
+            for (final int index : layout.primitiveIndexes) {
+                final Field field = layout.fields[index];
+                if (model.isWritten(field)) {
+                    // @Note The primitive fields are not read by the deep calculation, then the fields are made
+                    // accessible only by the plans.
+                    ClassLayout.makeAccessible(field);
+                    primitives.add(field);
+                }
+            }
+            this.primitives = primitives.toArray(new Field[0]);
+            final int[] references = new int[layout.references.length];
+            int count = 0;
+            for (int i = 0; i < layout.references.length; i++) {
+                if (model.isWritten(layout.references[i])) {
+                    references[count++] = i;
+                }
+            }
+            this.references = new int[count];
+            System.arraycopy(references, 0, this.references, 0, count);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.biologyiswell.scaler.cache;
+
+/**
+ * This class represents the approximated frequency from the keys of the cache, the frequency is stored in a count-min
+ * sketch of 4 bits counters, that are halved periodically to the frequencies of the old keys decreases. The sketch is
+ * updated without locks then some increments can be lost by concurrent updates, that is acceptable because the
+ * frequency is only used to compare the keys.
+ *
+ * @author biologyiswell (18/10/2026 20:10)
+ * @since 1.3
+ */
+final class FrequencySketch {
+
+    /**
+     * The seeds from the four hash functions.
+     * @since 1.3
+     */
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    /**
+     * The mask that resets the highest bit from each counter when the counters are halved.
+     * @since 1.3
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * The table from the counters, each long contains 16 counters of 4 bits.
+     * @since 1.3
+     */
+    private final long[] table;
+
+    /**
+     * The quantity of increments that are made before the counters are halved.
+     * @since 1.3
+     */
+    private final int sampleSize;
+
+    /**
+     * The quantity of increments that has been made after the last halving.
+     * @since 1.3
+     */
+    private int increments;
+
+    FrequencySketch(final int expectedEntries) {
+        int length = 64;
+        while (length < expectedEntries && length < (1 << 26)) {
+            length <<= 1;
+        }
+        this.table = new long[length];
+        this.sampleSize = 10 * length;
+    }
+
+    /**
+     * This method gets the approximated frequency from the key, that is the minimum value from the counters of the key.
+     *
+     * @param key the input key.
+     * @return the frequency from the key, between 0 and 15.
+     * @since 1.3
+     */
+    int frequency(final Object key) {
+        final int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            frequency = Math.min(frequency, (int) ((this.table[this.index(hash, i)] >>> this.offset(hash, i)) & 0xF));
+        }
+        return frequency;
+    }
+
+    /**
+     * This method increments the counters from the key, the counters that are at the maximum value are not incremented.
+     *
+     * @param key the input key.
+     * @since 1.3
+     */
+    void increment(final Object key) {
+        final int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            final int index = this.index(hash, i);
+            final int offset = this.offset(hash, i);
+            final long value = this.table[index];
+            if (((value >>> offset) & 0xF) != 0xF) {
+                this.table[index] = value + (1L << offset);
+                added = true;
+            }
+        }
+        if (added && ++this.increments >= this.sampleSize) {
+            this.halve();
+        }
+    }
+
+    private void halve() {
+        this.increments >>>= 1;
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        }
+    }
+
+    private int index(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & (this.table.length - 1);
+    }
+
+    private int offset(final int hash, final int i) {
+        // @Note Each hash function uses a different counter from the 16 counters of the long.
+        return ((((hash >>> (i << 3)) & 3) << 2) + i) << 2;
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
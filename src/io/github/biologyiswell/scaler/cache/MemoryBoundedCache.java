@@ -0,0 +1,565 @@
+package io.github.biologyiswell.scaler.cache;
+
+import io.github.biologyiswell.scaler.Scaler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class represents a cache that is bounded by the quantity of bytes that the entries occupies in RAM Memory. The
+ * weight from each entry is calculated by the Scaler when the entry is inserted, and the total weight is tracked by a
+ * striped counter. When the total weight exceeds the maximum bytes, the least recently used entries are evicted, and a
+ * frequency sketch rejects the new entries that are used less frequently than the entry that would be evicted, like
+ * the TinyLFU admission policy.
+ *
+ * The entries are distributed in stripes, each stripe is protected by a lock, then the threads that access different
+ * stripes do not wait each other.
+ *
+ * @param <K> the type from the keys.
+ * @param <V> the type from the values.
+ * @author biologyiswell (18/10/2026 20:25)
+ * @since 1.3
+ */
+public final class MemoryBoundedCache<K, V> implements AutoCloseable {
+
+    /**
+     * This interface represents the function that calculates the weight from an entry.
+     *
+     * @param <K> the type from the keys.
+     * @param <V> the type from the values.
+     * @since 1.3
+     */
+    public interface Weigher<K, V> {
+
+        /**
+         * This method calculates the weight from the entry.
+         *
+         * @param key the key from the entry.
+         * @param value the value from the entry.
+         * @return the weight from the entry in bytes.
+         * @since 1.3
+         */
+        long weigh(K key, V value);
+    }
+
+    private final long maximumBytes;
+    private final Weigher<? super K, ? super V> weigher;
+    private final Executor executor;
+    private final Stripe<K, V>[] stripes;
+    private final FrequencySketch sketch;
+
+    /**
+     * The total weight from the entries of the all stripes.
+     * @since 1.3
+     */
+    private final LongAdder weightedSize = new LongAdder();
+
+    /**
+     * The cursor from the stripe that is used by the next eviction, then the evictions are distributed in the stripes.
+     * @since 1.3
+     */
+    private final AtomicInteger evictionCursor = new AtomicInteger();
+
+    /**
+     * The scheduler that re-weighs the all entries periodically, or null if the entries are not re-weighed.
+     * @since 1.3
+     */
+    private final ScheduledExecutorService scheduler;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private MemoryBoundedCache(final Builder<K, V> builder) {
+        this.maximumBytes = builder.maximumBytes;
+        this.weigher = builder.weigher;
+        this.executor = builder.executor;
+        this.stripes = new Stripe[builder.stripes];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+        this.sketch = new FrequencySketch(builder.expectedEntries);
+        if (builder.reweighInterval > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "Scaler-Cache-Reweigh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::reweighAllNow, builder.reweighInterval, builder.reweighInterval, builder.reweighUnit);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * This method creates the builder from the cache, the maximum bytes must be set before the cache is built.
+     *
+     * @param <K> the type from the keys.
+     * @param <V> the type from the values.
+     * @return the new builder.
+     * @since 1.3
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * This method gets the value from the key, and marks the entry as recently used.
+     *
+     * @param key the input key.
+     * @return the value from the key, or null if the cache do not contains the key.
+     * @since 1.3
+     */
+    public V get(final K key) {
+        this.sketch.increment(key);
+        final Stripe<K, V> stripe = this.stripe(key);
+        stripe.lock.lock();
+        try {
+            final Node<V> node = stripe.entries.get(key);
+            return node == null ? null : node.value;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * This method puts the value in the cache, the weight from the entry is calculated before the entry is inserted.
+     * When the weight from the entry is greater than the maximum bytes the entry is not inserted. The entry that
+     * replaces a resident entry is not rejected by the frequency sketch, like the updates from the W-TinyLFU, then an
+     * update never removes the key.
+     *
+     * @param key the input key.
+     * @param value the input value.
+     * @since 1.3
+     */
+    public void put(final K key, final V value) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        // @Note The weight is calculated out of the lock, because the calculation from the deep size can be slow.
+        final long weight = this.weigher.weigh(key, value);
+        if (weight > this.maximumBytes) {
+            this.remove(key);
+            return;
+        }
+        this.sketch.increment(key);
+        final Stripe<K, V> stripe = this.stripe(key);
+        final Node<V> node = new Node<>(value, weight);
+        final Node<V> previous;
+        stripe.lock.lock();
+        try {
+            previous = stripe.entries.put(key, node);
+            this.weightedSize.add(previous == null ? weight : weight - previous.weight);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (previous == null) {
+            this.evict(key, node);
+        } else {
+            this.evict(null, null);
+        }
+    }
+
+    /**
+     * This method removes the entry from the key.
+     *
+     * @param key the input key.
+     * @return the value from the removed entry, or null if the cache do not contains the key.
+     * @since 1.3
+     */
+    public V remove(final K key) {
+        final Stripe<K, V> stripe = this.stripe(key);
+        stripe.lock.lock();
+        try {
+            final Node<V> node = stripe.entries.remove(key);
+            if (node == null) {
+                return null;
+            }
+            this.weightedSize.add(-node.weight);
+            return node.value;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * This method removes the all entries.
+     * @since 1.3
+     */
+    public void invalidateAll() {
+        for (final Stripe<K, V> stripe : this.stripes) {
+            stripe.lock.lock();
+            try {
+                for (final Node<V> node : stripe.entries.values()) {
+                    this.weightedSize.add(-node.weight);
+                }
+                stripe.entries.clear();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * This method calculates again the weight from the entry in the executor, this method is used when the value from
+     * the entry is mutable and the size of the value has been changed.
+     *
+     * @param key the input key.
+     * @return the future that is completed with the new weight, or -1 if the cache do not contains the key.
+     * @since 1.3
+     */
+    public CompletableFuture<Long> reweigh(final K key) {
+        return CompletableFuture.supplyAsync(() -> {
+            final long weight = this.reweighNow(key);
+            this.evict(null, null);
+            return weight;
+        }, this.executor);
+    }
+
+    /**
+     * This method calculates again the weight from the all entries in the executor.
+     *
+     * @return the future that is completed when the all entries has been re-weighed.
+     * @since 1.3
+     */
+    public CompletableFuture<Void> reweighAll() {
+        return CompletableFuture.runAsync(this::reweighAllNow, this.executor);
+    }
+
+    /**
+     * @return the quantity of entries.
+     * @since 1.3
+     */
+    public int size() {
+        int size = 0;
+        for (final Stripe<K, V> stripe : this.stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the total weight from the entries in bytes.
+     * @since 1.3
+     */
+    public long weightedSize() {
+        return this.weightedSize.sum();
+    }
+
+    /**
+     * @return the maximum bytes that the entries can occupies.
+     * @since 1.3
+     */
+    public long maximumBytes() {
+        return this.maximumBytes;
+    }
+
+    /**
+     * This method stops the periodic re-weigh from the entries.
+     * @since 1.3
+     */
+    @Override
+    public void close() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * This method calculates again the weight from the all entries, the entry that the weigher fails to weigh keeps the
+     * previous weight, then a failure do not stops the periodic re-weigh.
+     * @since 1.3
+     */
+    private void reweighAllNow() {
+        for (final Stripe<K, V> stripe : this.stripes) {
+            final List<K> keys;
+            stripe.lock.lock();
+            try {
+                keys = new ArrayList<>(stripe.entries.keySet());
+            } finally {
+                stripe.lock.unlock();
+            }
+            for (final K key : keys) {
+                try {
+                    this.reweighNow(key);
+                } catch (RuntimeException e) {
+                    // @Note The entry keeps the previous weight, and the other entries are re-weighed.
+                }
+            }
+        }
+        this.evict(null, null);
+    }
+
+    private long reweighNow(final K key) {
+        final Stripe<K, V> stripe = this.stripe(key);
+        final Node<V> node;
+        stripe.lock.lock();
+        try {
+            node = stripe.entries.get(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (node == null) {
+            return -1;
+        }
+        final long weight = this.weigher.weigh(key, node.value);
+        stripe.lock.lock();
+        try {
+            // @Note The weight is updated only if the entry has not been replaced while the weight is calculated.
+            if (stripe.entries.get(key) == node) {
+                this.weightedSize.add(weight - node.weight);
+                node.weight = weight;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return weight;
+    }
+
+    /**
+     * This method evicts the entries while the total weight exceeds the maximum bytes. The eldest entry from each stripe
+     * is the victim, and the candidate that has been inserted is evicted instead of the victim when the candidate is
+     * used less frequently than the victim. The victim is removed while the stripe is locked, and the candidate is
+     * removed only if the entry has not been replaced by other thread.
+     *
+     * @param candidate the key that has been inserted, or null.
+     * @param candidateNode the node that has been inserted with the candidate, or null.
+     * @since 1.3
+     */
+    private void evict(K candidate, final Node<V> candidateNode) {
+        int emptyStripes = 0;
+        while (this.weightedSize.sum() > this.maximumBytes && emptyStripes < this.stripes.length) {
+            final Stripe<K, V> stripe = this.stripes[(this.evictionCursor.getAndIncrement() & Integer.MAX_VALUE) % this.stripes.length];
+            boolean rejected = false;
+            stripe.lock.lock();
+            try {
+                final Iterator<Map.Entry<K, Node<V>>> entries = stripe.entries.entrySet().iterator();
+                if (!entries.hasNext()) {
+                    emptyStripes++;
+                    continue;
+                }
+                Map.Entry<K, Node<V>> victim = entries.next();
+                if (victim.getKey().equals(candidate)) {
+                    // @Note The candidate is not the victim from the stripe, then the next entry is the victim.
+                    if (!entries.hasNext()) {
+                        emptyStripes++;
+                        continue;
+                    }
+                    victim = entries.next();
+                }
+                emptyStripes = 0;
+                if (candidate != null && this.sketch.frequency(candidate) < this.sketch.frequency(victim.getKey())) {
+                    // @Note The candidate is rejected because the victim is used more frequently.
+                    rejected = true;
+                } else {
+                    entries.remove();
+                    this.weightedSize.add(-victim.getValue().weight);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+            if (rejected) {
+                this.remove(candidate, candidateNode);
+                candidate = null;
+            }
+        }
+    }
+
+    /**
+     * This method removes the entry from the key only if the entry contains the node.
+     *
+     * @param key the input key.
+     * @param node the node that must be removed.
+     * @since 1.3
+     */
+    private void remove(final K key, final Node<V> node) {
+        final Stripe<K, V> stripe = this.stripe(key);
+        stripe.lock.lock();
+        try {
+            if (stripe.entries.get(key) == node) {
+                stripe.entries.remove(key);
+                this.weightedSize.add(-node.weight);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe<K, V> stripe(final Object key) {
+        final int hash = key.hashCode() * 0x9E3779B9;
+        return this.stripes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % this.stripes.length];
+    }
+
+    /**
+     * This class represents a stripe from the cache, that contains the entries in the access order.
+     * @since 1.3
+     */
+    private static final class Stripe<K, V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<K, Node<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * This class represents the value and the weight from an entry.
+     * @since 1.3
+     */
+    private static final class Node<V> {
+
+        private final V value;
+        private long weight;
+
+        private Node(final V value, final long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * This class represents the builder from the cache.
+     *
+     * @param <K> the type from the keys.
+     * @param <V> the type from the values.
+     * @since 1.3
+     */
+    public static final class Builder<K, V> {
+
+        private long maximumBytes = -1;
+        private Weigher<? super K, ? super V> weigher = (key, value) -> Scaler.deepSizeof(key) + Scaler.deepSizeof(value);
+        private int stripes = Math.max(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4));
+        private int expectedEntries = 10000;
+        private Executor executor = ForkJoinPool.commonPool();
+        private long reweighInterval;
+        private TimeUnit reweighUnit = TimeUnit.SECONDS;
+
+        private Builder() {
+        }
+
+        /**
+         * This method sets the maximum bytes that the entries can occupies, this value is required.
+         *
+         * @param maximumBytes the maximum bytes, that must be positive.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder<K, V> maximumBytes(final long maximumBytes) {
+            if (maximumBytes <= 0) {
+                throw new IllegalArgumentException("The maximum bytes (" + maximumBytes + ") must be positive.");
+            }
+            this.maximumBytes = maximumBytes;
+            return this;
+        }
+
+        /**
+         * This method sets the weigher from the entries, by default the weight is the deep size from the key and the
+         * value.
+         *
+         * @param weigher the weigher from the entries.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder<K, V> weigher(final Weigher<? super K, ? super V> weigher) {
+            if (weigher == null) {
+                throw new NullPointerException("weigher");
+            }
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * This method sets the quantity of stripes, by default the quantity is four times the quantity of processors.
+         *
+         * @param stripes the quantity of stripes, that must be positive.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder<K, V> stripes(final int stripes) {
+            if (stripes <= 0) {
+                throw new IllegalArgumentException("The stripes (" + stripes + ") must be positive.");
+            }
+            this.stripes = stripes;
+            return this;
+        }
+
+        /**
+         * This method sets the expected quantity of entries, that is used to size the frequency sketch.
+         *
+         * @param expectedEntries the expected quantity of entries, that must be positive.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder<K, V> expectedEntries(final int expectedEntries) {
+            if (expectedEntries <= 0) {
+                throw new IllegalArgumentException("The expected entries (" + expectedEntries + ") must be positive.");
+            }
+            this.expectedEntries = expectedEntries;
+            return this;
+        }
+
+        /**
+         * This method sets the executor that re-weighs the entries by the methods "reweigh" and "reweighAll", by
+         * default the executor is the common pool.
+         *
+         * @param executor the executor from the re-weighs.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder<K, V> executor(final Executor executor) {
+            if (executor == null) {
+                throw new NullPointerException("executor");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * This method sets the interval that the all entries are re-weighed periodically, by a daemon thread that is
+         * stopped by the method "close". The interval that is not positive disables the periodic re-weigh, that is
+         * disabled by default.
+         *
+         * @param interval the interval between the re-weighs.
+         * @param unit the unit from the interval.
+         * @return this builder.
+         * @since 1.3
+         */
+        public Builder<K, V> reweighInterval(final long interval, final TimeUnit unit) {
+            if (unit == null) {
+                throw new NullPointerException("unit");
+            }
+            this.reweighInterval = interval;
+            this.reweighUnit = unit;
+            return this;
+        }
+
+        /**
+         * This method builds the cache.
+         *
+         * @return the new cache.
+         * @throws IllegalStateException when the maximum bytes has not been set.
+         * @since 1.3
+         */
+        public MemoryBoundedCache<K, V> build() {
+            if (this.maximumBytes <= 0) {
+                throw new IllegalStateException("The maximum bytes must be set.");
+            }
+            return new MemoryBoundedCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package io.github.biologyiswell.scaler.monitor;
+
+import io.github.biologyiswell.scaler.Sampling;
+import io.github.biologyiswell.scaler.SizeEstimate;
+import io.github.biologyiswell.scaler.Scaler;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * This class represents the service that measures the deep size from the registered roots periodically, like the
+ * session tables and the caches of an application. The roots are referenced weakly, then a root that is not used by the
+ * application is collected and the watch from the root is removed. Each root is measured by the concurrent calculation
+ * from the Scaler, that do not locks the root, and the large collections and maps are estimated by the sampling, then
+ * the cost from each measurement is bounded by the sample size and not by the size of the root.
+ *
+ * The measurements are executed by a small pool of daemon threads, the thread factory can be changed to use other
+ * threads, like the virtual threads in the Java 21.
+ *
+ * @author biologyiswell (19/10/2026 00:30)
+ * @since 1.3
+ */
+public final class ScalerMonitor implements AutoCloseable {
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final long interval;
+    private final TimeUnit unit;
+    private final Sampling sampling;
+
+    /**
+     * The watches from the roots that are registered.
+     * @since 1.3
+     */
+    private final List<Watch> watches = new CopyOnWriteArrayList<>();
+
+    private ScalerMonitor(final Builder builder) {
+        this.interval = builder.interval;
+        this.unit = builder.unit;
+        this.sampling = builder.sampling;
+        this.scheduler = new ScheduledThreadPoolExecutor(builder.threads, builder.threadFactory);
+        // @Note The cancelled measurements are removed from the queue, then the unregistered roots are not retained.
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * This method registers the root to be measured periodically, the first measurement is executed immediately.
+     *
+     * @param name the name from the root, that identifies the root in the watches.
+     * @param root the root, that is referenced weakly.
+     * @return the watch from the root.
+     * @since 1.3
+     */
+    public Watch watch(final String name, final Object root) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        }
+        if (root == null) {
+            throw new NullPointerException("root");
+        }
+        if (this.scheduler.isShutdown()) {
+            throw new IllegalStateException("The monitor has been closed.");
+        }
+        final Watch watch = new Watch(this, name, root);
+        this.watches.add(watch);
+        watch.future = this.scheduler.scheduleWithFixedDelay(watch::measure, 0, this.interval, this.unit);
+        if (watch.removed) {
+            // @Note The root has been collected before the future is assigned to the watch.
+            watch.future.cancel(false);
+        }
+        return watch;
+    }
+
+    /**
+     * @return the watches from the roots that are registered.
+     * @since 1.3
+     */
+    public List<Watch> watches() {
+        return Collections.unmodifiableList(new ArrayList<>(this.watches));
+    }
+
+    /**
+     * This method gets the sum from the latest sizes of the all roots.
+     *
+     * @return the total size in bytes.
+     * @since 1.3
+     */
+    public long totalBytes() {
+        long total = 0;
+        for (final Watch watch : this.watches) {
+            total += Math.max(0, watch.bytes);
+        }
+        return total;
+    }
+
+    /**
+     * This method stops the measurements and removes the all watches.
+     * @since 1.3
+     */
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        this.watches.clear();
+    }
+
+    /**
+     * This method measures the root, the collections and maps that are greater than the threshold from the sampling are
+     * estimated, and the other roots are calculated by the concurrent calculation.
+     *
+     * @param root the input root.
+     * @return the size from the root.
+     * @since 1.3
+     */
+    private SizeEstimate measure(final Object root) {
+        final int elements = root instanceof Map ? ((Map<?, ?>) root).size() : root instanceof Collection ? ((Collection<?>) root).size() : 0;
+        if (elements > this.sampling.threshold()) {
+            try {
+                return Scaler.estimate(root, this.sampling);
+            } catch (ConcurrentModificationException | NoSuchElementException | IndexOutOfBoundsException
+                     | NullPointerException | ClassCastException e) {
+                // @Note The collection has been modified during the sampling, then the concurrent calculation is used.
+            }
+        }
+        return Scaler.deepSizeofConcurrent(root);
+    }
+
+    /**
+     * This class represents the watch from a root, that contains the latest size and the growth rate from the root.
+     * @since 1.3
+     */
+    public static final class Watch {
+
+        private final ScalerMonitor monitor;
+        private final String name;
+        private final WeakReference<Object> root;
+
+        /**
+         * The thresholds from the watch, that are notified when the size passes the threshold.
+         * @since 1.3
+         */
+        private final List<Threshold> thresholds = new CopyOnWriteArrayList<>();
+
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean removed;
+        private volatile long bytes = -1;
+        private volatile boolean exact;
+        private volatile double growthRate;
+        private volatile long measuredAt;
+        private volatile long measurementNanos;
+        private volatile RuntimeException failure;
+
+        private Watch(final ScalerMonitor monitor, final String name, final Object root) {
+            this.monitor = monitor;
+            this.name = name;
+            this.root = new WeakReference<>(root);
+        }
+
+        /**
+         * This method registers the callback that is notified when the size from the root passes the threshold. The
+         * callback is notified only once when the size passes the threshold, and is notified again only after the size
+         * is not greater than the threshold.
+         *
+         * @param thresholdBytes the threshold in bytes.
+         * @param callback the callback, that is executed by the thread from the measurement.
+         * @return this watch.
+         * @since 1.3
+         */
+        public Watch onThreshold(final long thresholdBytes, final Consumer<? super Watch> callback) {
+            if (callback == null) {
+                throw new NullPointerException("callback");
+            }
+            this.thresholds.add(new Threshold(thresholdBytes, callback));
+            return this;
+        }
+
+        /**
+         * This method removes the root from the monitor.
+         * @since 1.3
+         */
+        public void unregister() {
+            this.removed = true;
+            final ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+            this.monitor.watches.remove(this);
+        }
+
+        /**
+         * @return the name from the root.
+         * @since 1.3
+         */
+        public String name() {
+            return this.name;
+        }
+
+        /**
+         * @return the latest size from the root in bytes, or -1 if the root has not been measured.
+         * @since 1.3
+         */
+        public long bytes() {
+            return this.bytes;
+        }
+
+        /**
+         * @return true if the latest size is exact, or false if the size has been estimated.
+         * @since 1.3
+         */
+        public boolean exact() {
+            return this.exact;
+        }
+
+        /**
+         * @return the growth from the size in bytes per second between the two latest measurements.
+         * @since 1.3
+         */
+        public double growthRate() {
+            return this.growthRate;
+        }
+
+        /**
+         * @return the time from the latest measurement in milliseconds since the epoch, or 0 if the root has not been
+         * measured.
+         * @since 1.3
+         */
+        public long measuredAt() {
+            return this.measuredAt;
+        }
+
+        /**
+         * @return the time that has been spent by the latest measurement in nanoseconds.
+         * @since 1.3
+         */
+        public long measurementNanos() {
+            return this.measurementNanos;
+        }
+
+        /**
+         * @return the exception from the latest measurement, or null if the latest measurement has been completed.
+         * @since 1.3
+         */
+        public RuntimeException failure() {
+            return this.failure;
+        }
+
+        /**
+         * @return true if the root has not been collected, otherwise false.
+         * @since 1.3
+         */
+        public boolean isAlive() {
+            return this.root.get() != null;
+        }
+
+        private void measure() {
+            Object root = this.root.get();
+            if (root == null || this.removed) {
+                // @Note The root has been collected, then the watch is removed.
+                this.unregister();
+                return;
+            }
+            final long start = System.nanoTime();
+            final SizeEstimate estimate;
+            try {
+                estimate = this.monitor.measure(root);
+            } catch (RuntimeException e) {
+                // @Note The exception is kept by the watch, because an exception cancels the next measurements.
+                this.failure = e;
+                return;
+            }
+            root = null;
+            final long now = System.currentTimeMillis();
+            final long previous = this.bytes;
+            final long previousAt = this.measuredAt;
+            this.measurementNanos = System.nanoTime() - start;
+            this.bytes = estimate.bytes();
+            this.exact = estimate.exact();
+            this.growthRate = previous < 0 || now <= previousAt ? 0 : (estimate.bytes() - previous) * 1000.0 / (now - previousAt);
+            this.measuredAt = now;
+            this.failure = null;
+            for (final Threshold threshold : this.thresholds) {
+                if (estimate.bytes() > threshold.bytes) {
+                    if (threshold.armed) {
+                        threshold.armed = false;
+                        try {
+                            threshold.callback.accept(this);
+                        } catch (RuntimeException e) {
+                            // @Note The exception from the callback do not cancels the next measurements.
+                            this.failure = e;
+                        }
+                    }
+                } else {
+                    threshold.armed = true;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Watch{name=" + this.name + ", bytes=" + this.bytes + ", exact=" + this.exact + ", growthRate="
+                    + this.growthRate + "}";
+        }
+    }
+
+    /**
+     * This class represents a threshold from a watch.
+     * @since 1.3
+     */
+    private static final class Threshold {
+
+        private final long bytes;
+        private final Consumer<? super Watch> callback;
+
+        /**
+         * This field represents if the callback is notified when the size passes the threshold, that is false after the
+         * callback is notified until the size is not greater than the threshold.
+         * @since 1.3
+         */
+        private boolean armed = true;
+
+        private Threshold(final long bytes, final Consumer<? super Watch> callback) {
+            this.bytes = bytes;
+            this.callback = callback;
+        }
+    }
+
+    public static final class Builder {
+
+        private long interval = 60;
+        private TimeUnit unit = TimeUnit.SECONDS;
+        private int threads = 1;
+        private Sampling sampling = Sampling.defaults();
+        private ThreadFactory threadFactory = new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "Scaler-Monitor-" + this.count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+
+        private Builder() {
+        }
+
+        public Builder interval(final long interval, final TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("The interval (" + interval + ") must be positive.");
+            }
+            if (unit == null) {
+                throw new NullPointerException("unit");
+            }
+            this.interval = interval;
+            this.unit = unit;
+            return this;
+        }
+
+        public Builder threads(final int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("The threads (" + threads + ") must be positive.");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder sampling(final Sampling sampling) {
+            if (sampling == null) {
+                throw new NullPointerException("sampling");
+            }
+            this.sampling = sampling;
+            return this;
+        }
+
+        public Builder threadFactory(final ThreadFactory threadFactory) {
+            if (threadFactory == null) {
+                throw new NullPointerException("threadFactory");
+            }
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        public ScalerMonitor build() {
+            return new ScalerMonitor(this);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package test.io.github.biologyiswell.scaler;
+
+import io.github.biologyiswell.scaler.Scaler;
+import io.github.biologyiswell.scaler.ScalerAgent;
+import io.github.biologyiswell.scaler.VmLayout;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class compares the sizes that are computed by the layout profile with the sizes that are measured by the
+ * agent. When the agent is not loaded the comparison is launched again in a virtual machine with the agent for each
+ * combination of the options that changes the layout, then the comparison can be executed by:
+ *
+ * <pre>
+ * java -cp Scaler-1.3.jar:Scaler-1.3-test-fixtures.jar test.io.github.biologyiswell.scaler.LayoutComparison
+ * </pre>
+ *
+ * @author biologyiswell (19/10/2026 10:30)
+ * @since 1.3
+ */
+public final class LayoutComparison {
+
+    /**
+     * The options from the virtual machines that are compared.
+     * @since 1.3
+     */
+    private static final String[][] OPTIONS = {
+            {},
+            {"-XX:-UseCompressedOops"},
+            {"-XX:-UseCompressedClassPointers"},
+            {"-XX:-UseCompressedOops", "-XX:-UseCompressedClassPointers"},
+            {"-XX:ObjectAlignmentInBytes=16"},
+            {"-XX:ObjectAlignmentInBytes=16", "-XX:-UseCompressedOops"},
+    };
+
+    // non-instantiate.
+    private LayoutComparison() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (ScalerAgent.isLoaded()) {
+            System.exit(compare() ? 0 : 1);
+            return;
+        }
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final String agent = new File(ScalerAgent.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        boolean matched = true;
+        for (final String[] options : OPTIONS) {
+            final List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(Arrays.asList(options));
+            command.add("-javaagent:" + agent);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(LayoutComparison.class.getName());
+            System.out.println("Options " + Arrays.toString(options));
+            matched &= new ProcessBuilder(command).inheritIO().start().waitFor() == 0;
+        }
+        System.exit(matched ? 0 : 1);
+    }
+
+    /**
+     * This method compares the probes in this virtual machine, the probes contains only primitive fields and null
+     * references, then the deep size from a probe is the shallow size that is measured by the agent.
+     *
+     * @return true when the all sizes are equals, otherwise false.
+     * @since 1.3
+     */
+    private static boolean compare() {
+        final Object[] probes = {
+                new Empty(), new One(), new P(), new Q(), new R(), new Mixed(), new Shorts(), new Refs(),
+                new MixedChild(), new RefsChild(), new Deep(), new Gaps(), new GapsChild(),
+        };
+        System.out.println(VmLayout.current());
+        boolean matched = true;
+        for (final Object probe : probes) {
+            final long computed = VmLayout.current().instanceSize(hierarchy(probe.getClass()));
+            final long measured = Scaler.deepSizeof(probe);
+            matched &= computed == measured;
+            System.out.printf("%-12s %6d %6d%s%n", probe.getClass().getSimpleName(), computed, measured,
+                    computed == measured ? "" : "  MISMATCH");
+        }
+        return matched;
+    }
+
+    private static String[] hierarchy(final Class<?> type) {
+        final List<String> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            final StringBuilder descriptors = new StringBuilder();
+            for (final Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    final Class<?> fieldType = field.getType();
+                    descriptors.append(!fieldType.isPrimitive() ? 'L' : fieldType == boolean.class ? 'Z'
+                            : fieldType == long.class ? 'J' : fieldType.getName().toUpperCase().charAt(0));
+                }
+            }
+            hierarchy.add(0, descriptors.toString());
+        }
+        return hierarchy.toArray(new String[0]);
+    }
+
+    static class Empty { }
+    static class One { boolean flag; }
+    static class P { long a; }
+    static class Q extends P { int b; }
+    static class R extends Q { byte c; short d; }
+    static class Mixed { byte a; long b; char c; int d; boolean e; double f; }
+    static class Shorts { short a; short b; short c; }
+    static class Refs { Object a; Object b; Object c; }
+    static class MixedChild extends Mixed { int g; Object h; byte i; }
+    static class RefsChild extends Refs { long d; boolean e; }
+    static class Deep extends MixedChild { long j; short k; Object l; }
+    static class Gaps { byte a; long b; }
+    static class GapsChild extends Gaps { byte c; short d; int e; Object f; }
+}